@@ -365,6 +365,9 @@ public class BlockMachine extends BlockCustomParticle implements ITileEntityProv
         if (metaTileEntity != null) {
             metaTileEntity.updateInputRedstoneSignals();
             metaTileEntity.onNeighborChanged();
+            if (!worldIn.isRemote) {
+                metaTileEntity.notifyCoversOfNeighborChange();
+            }
         }
     }
 
@@ -11,6 +11,7 @@ import gregtech.api.metatileentity.multiblock.ParallelLogicType;
 import gregtech.api.recipes.Recipe;
 import gregtech.api.recipes.RecipeMap;
 import gregtech.api.recipes.logic.IParallelableRecipeLogic;
+import gregtech.api.recipes.logic.ParallelLogicContext;
 import gregtech.api.recipes.recipeproperties.CleanroomProperty;
 import gregtech.api.recipes.recipeproperties.IRecipePropertyStorage;
 import gregtech.api.util.GTTransferUtils;
@@ -66,11 +67,18 @@ public abstract class AbstractRecipeLogic extends MTETrait implements IWorkable,
 
     protected boolean hasPerfectOC = false;
 
+    // the last inputs which did not match any recipe, used to skip repeated failing searches
+    private long failedSearchFingerprint;
+    private long failedSearchVoltage;
+    private RecipeMap<?> failedSearchRecipeMap;
+    private int failedSearchModificationCount;
+
     /**
      * DO NOT use the parallelLimit field directly, EVER
      * use {@link AbstractRecipeLogic#setParallelLimit(int)} instead
      */
     private int parallelLimit = 1;
+    private ParallelLogicContext parallelLogicContext;
 
     public AbstractRecipeLogic(MetaTileEntity tileEntity, RecipeMap<?> recipeMap) {
         super(tileEntity);
@@ -349,6 +357,7 @@ public abstract class AbstractRecipeLogic extends MTETrait implements IWorkable,
      */
     public void forceRecipeRecheck() {
         this.previousRecipe = null;
+        resetFailedRecipeSearch();
         trySearchNewRecipe();
     }
 
@@ -366,7 +375,7 @@ public abstract class AbstractRecipeLogic extends MTETrait implements IWorkable,
             currentRecipe = this.previousRecipe;
             // If there is no active recipe, then we need to find one.
         } else {
-            currentRecipe = findRecipe(maxVoltage, importInventory, importFluids);
+            currentRecipe = findRecipeUnlessKnownFailure(maxVoltage, importInventory, importFluids);
         }
         // If a recipe was found, then inputs were valid. Cache found recipe.
         if (currentRecipe != null) {
@@ -380,6 +389,82 @@ public abstract class AbstractRecipeLogic extends MTETrait implements IWorkable,
         }
     }
 
+    /**
+     * Find a recipe using inputs, skipping the search if the same inputs already failed to match a recipe
+     * at this voltage, and the recipe map has not been modified since.
+     *
+     * @param maxVoltage  the maximum voltage the recipe can have
+     * @param inputs      the item inputs used to search for the recipe
+     * @param fluidInputs the fluid inputs used to search for the recipe
+     * @return the recipe if found, otherwise null
+     */
+    @Nullable
+    protected Recipe findRecipeUnlessKnownFailure(long maxVoltage, IItemHandlerModifiable inputs, IMultipleTankHandler fluidInputs) {
+        RecipeMap<?> map = getRecipeMap();
+        if (map == null) {
+            return findRecipe(maxVoltage, inputs, fluidInputs);
+        }
+
+        long fingerprint = computeInputFingerprint(inputs, fluidInputs);
+        if (map == this.failedSearchRecipeMap && maxVoltage == this.failedSearchVoltage &&
+                fingerprint == this.failedSearchFingerprint && map.getModificationCount() == this.failedSearchModificationCount) {
+            return null;
+        }
+
+        Recipe recipe = findRecipe(maxVoltage, inputs, fluidInputs);
+        if (recipe == null) {
+            this.failedSearchRecipeMap = map;
+            this.failedSearchVoltage = maxVoltage;
+            this.failedSearchFingerprint = fingerprint;
+            this.failedSearchModificationCount = map.getModificationCount();
+        } else {
+            resetFailedRecipeSearch();
+        }
+        return recipe;
+    }
+
+    /**
+     * Forget the last inputs which failed to match a recipe, so the next search is always performed
+     */
+    public void resetFailedRecipeSearch() {
+        this.failedSearchRecipeMap = null;
+    }
+
+    /**
+     * Computes a cheap hash of the contents of the inputs.
+     * Takes the item, metadata, count and NBT of every slot, and the fluid, amount and NBT of every tank into account.
+     *
+     * @param inputs      the item inputs to hash
+     * @param fluidInputs the fluid inputs to hash
+     * @return the fingerprint of the inputs
+     */
+    protected static long computeInputFingerprint(@Nonnull IItemHandlerModifiable inputs, @Nonnull IMultipleTankHandler fluidInputs) {
+        long hash = 1;
+        for (int i = 0; i < inputs.getSlots(); i++) {
+            ItemStack stack = inputs.getStackInSlot(i);
+            long stackHash = 0;
+            if (!stack.isEmpty()) {
+                stackHash = System.identityHashCode(stack.getItem());
+                stackHash = stackHash * 31 + stack.getMetadata();
+                stackHash = stackHash * 31 + stack.getCount();
+                NBTTagCompound tag = stack.getTagCompound();
+                stackHash = stackHash * 31 + (tag == null ? 0 : tag.hashCode());
+            }
+            hash = hash * 0x9E3779B97F4A7C15L + stackHash;
+        }
+        for (int i = 0; i < fluidInputs.getTanks(); i++) {
+            FluidStack fluidStack = fluidInputs.getTankAt(i).getFluid();
+            long fluidHash = 0;
+            if (fluidStack != null && fluidStack.amount > 0) {
+                fluidHash = System.identityHashCode(fluidStack.getFluid());
+                fluidHash = fluidHash * 31 + fluidStack.amount;
+                fluidHash = fluidHash * 31 + (fluidStack.tag == null ? 0 : fluidStack.tag.hashCode());
+            }
+            hash = hash * 0x9E3779B97F4A7C15L + fluidHash;
+        }
+        return hash;
+    }
+
     /**
      * @return true if the previous recipe is valid and can be run again
      */
@@ -461,6 +546,17 @@ public abstract class AbstractRecipeLogic extends MTETrait implements IWorkable,
         parallelLimit = amount;
     }
 
+    /**
+     * @return the context reused between the parallel recipe searches of this logic
+     */
+    @Nonnull
+    public ParallelLogicContext getParallelLogicContext() {
+        if (parallelLogicContext == null) {
+            this.parallelLogicContext = new ParallelLogicContext();
+        }
+        return parallelLogicContext;
+    }
+
     /**
      * @return the parallel logic type to use for recipes
      */
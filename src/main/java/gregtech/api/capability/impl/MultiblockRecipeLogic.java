@@ -8,6 +8,7 @@ import gregtech.api.recipes.Recipe;
 import gregtech.api.recipes.RecipeMap;
 import gregtech.api.recipes.recipeproperties.IRecipePropertyStorage;
 import gregtech.common.ConfigHolder;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
 import net.minecraft.util.Tuple;
 import net.minecraftforge.items.IItemHandlerModifiable;
 
@@ -16,6 +17,7 @@ import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import static gregtech.api.recipes.logic.OverclockingLogic.standardOverclockingLogic;
 
@@ -25,6 +27,7 @@ public class MultiblockRecipeLogic extends AbstractRecipeLogic {
     protected int lastRecipeIndex = 0;
     protected IItemHandlerModifiable currentDistinctInputBus;
     protected List<IItemHandlerModifiable> invalidatedInputList = new ArrayList<>();
+    private final Map<IItemHandlerModifiable, DistinctBusSearch> distinctBusSearches = new Reference2ObjectOpenHashMap<>();
 
     public MultiblockRecipeLogic(RecipeMapMultiblockController tileEntity) {
         super(tileEntity, tileEntity.recipeMap);
@@ -62,6 +65,7 @@ public class MultiblockRecipeLogic extends AbstractRecipeLogic {
         isOutputsFull = false;
         invalidInputsForRecipes = false;
         invalidatedInputList.clear();
+        distinctBusSearches.clear();
         setActive(false); // this marks dirty for us
     }
 
@@ -195,8 +199,8 @@ public class MultiblockRecipeLogic extends AbstractRecipeLogic {
             if (invalidatedInputList.contains(bus)) {
                 continue;
             }
-            // Look for a new recipe after a cache miss
-            currentRecipe = findRecipe(maxVoltage, bus, importFluids);
+            // Look for a new recipe after a cache miss, trying the last recipe of this bus first
+            currentRecipe = findRecipeDistinct(maxVoltage, bus, importFluids);
             // Cache the current recipe, if one is found
             if (currentRecipe != null && checkRecipe(currentRecipe)) {
                 this.previousRecipe = currentRecipe;
@@ -213,6 +217,54 @@ public class MultiblockRecipeLogic extends AbstractRecipeLogic {
         }
     }
 
+    /**
+     * Find a recipe for a single input bus combined with all fluid inputs.
+     * The last recipe found for the bus is tried first, and the search is skipped if the contents of the bus
+     * and the fluid inputs did not change since they last failed to match a recipe.
+     *
+     * @param maxVoltage  the maximum voltage the recipe can have
+     * @param bus         the input bus used to search for the recipe
+     * @param fluidInputs the fluid inputs used to search for the recipe
+     * @return the recipe if found, otherwise null
+     */
+    @Nullable
+    protected Recipe findRecipeDistinct(long maxVoltage, IItemHandlerModifiable bus, IMultipleTankHandler fluidInputs) {
+        RecipeMap<?> map = getRecipeMap();
+        if (map == null) {
+            return findRecipe(maxVoltage, bus, fluidInputs);
+        }
+
+        DistinctBusSearch search = distinctBusSearches.get(bus);
+        if (search == null) {
+            search = new DistinctBusSearch();
+            distinctBusSearches.put(bus, search);
+        }
+
+        Recipe recipe = search.getRecipe(map);
+        if (recipe != null && recipe.getEUt() <= maxVoltage && recipe.matches(false, bus, fluidInputs)) {
+            return recipe;
+        }
+
+        long fingerprint = computeInputFingerprint(bus, fluidInputs);
+        if (search.isKnownFailure(map, maxVoltage, fingerprint)) {
+            return null;
+        }
+
+        recipe = findRecipe(maxVoltage, bus, fluidInputs);
+        if (recipe == null) {
+            search.setFailure(map, maxVoltage, fingerprint);
+        } else {
+            search.setRecipe(map, recipe);
+        }
+        return recipe;
+    }
+
+    @Override
+    public void resetFailedRecipeSearch() {
+        super.resetFailedRecipeSearch();
+        distinctBusSearches.clear();
+    }
+
     @Override
     public void invalidateInputs() {
         MultiblockWithDisplayBase controller = (MultiblockWithDisplayBase) metaTileEntity;
@@ -369,4 +421,45 @@ public class MultiblockRecipeLogic extends AbstractRecipeLogic {
                 return ((IMultipleRecipeMaps) metaTileEntity).getCurrentRecipeMap();
         return super.getRecipeMap();
     }
+
+    /**
+     * The result of the last recipe search of a single input bus in distinct mode
+     */
+    private static class DistinctBusSearch {
+
+        @Nullable
+        private RecipeMap<?> recipeMap;
+        @Nullable
+        private Recipe recipe;
+
+        // the last inputs which did not match any recipe
+        @Nullable
+        private RecipeMap<?> failedRecipeMap;
+        private long failedVoltage;
+        private long failedFingerprint;
+        private int failedModificationCount;
+
+        private boolean isKnownFailure(@Nonnull RecipeMap<?> map, long maxVoltage, long fingerprint) {
+            return map == failedRecipeMap && maxVoltage == failedVoltage && fingerprint == failedFingerprint &&
+                    map.getModificationCount() == failedModificationCount;
+        }
+
+        private void setFailure(@Nonnull RecipeMap<?> map, long maxVoltage, long fingerprint) {
+            this.failedRecipeMap = map;
+            this.failedVoltage = maxVoltage;
+            this.failedFingerprint = fingerprint;
+            this.failedModificationCount = map.getModificationCount();
+        }
+
+        @Nullable
+        private Recipe getRecipe(@Nonnull RecipeMap<?> map) {
+            return map == recipeMap ? recipe : null;
+        }
+
+        private void setRecipe(@Nonnull RecipeMap<?> map, @Nonnull Recipe recipe) {
+            this.recipeMap = map;
+            this.recipe = recipe;
+            this.failedRecipeMap = null;
+        }
+    }
 }
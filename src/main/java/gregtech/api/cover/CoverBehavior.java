@@ -72,6 +72,18 @@ public abstract class CoverBehavior implements IUIHolder {
     public void onRedstoneInputSignalChange(int newSignalStrength) {
     }
 
+    /**
+     * Called on the server when a block next to the cover holder changed
+     */
+    public void onNeighborChanged() {
+    }
+
+    /**
+     * Called on the server when the contents of the cover holder's notifiable inventories or tanks changed
+     */
+    public void onHolderContentsChanged() {
+    }
+
     public boolean canConnectRedstone() {
         return false;
     }
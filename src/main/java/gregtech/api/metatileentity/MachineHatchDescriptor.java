@@ -0,0 +1,127 @@
+package gregtech.api.metatileentity;
+
+import gregtech.api.GTValues;
+import gregtech.api.recipes.Recipe;
+import gregtech.api.recipes.RecipeMap;
+import gregtech.api.util.GTUtility;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import net.minecraft.item.ItemStack;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * The resolved properties of a machine item placed in the machine hatch of an {@link IMachineHatchMultiblock}.
+ * <p>
+ * Descriptors are cached per machine, so resolving the machine item of a hatch again, e.g. after swapping machines
+ * between multiblocks or reloading their chunks, is a single lookup. The descriptor also remembers the last recipe
+ * run by any multiblock with the machine, which can be tried first by the next one.
+ * <p>
+ * Descriptors must only be used from the server thread.
+ */
+public final class MachineHatchDescriptor {
+
+    private static final Int2ObjectMap<MachineHatchDescriptor> descriptors = new Int2ObjectOpenHashMap<>();
+
+    private final MetaTileEntity metaTileEntity;
+    @Nullable
+    private final RecipeMap<?> recipeMap;
+    private final int tier;
+    private final long voltage;
+    private final boolean validMachine;
+
+    // the blacklist validity was last computed for, compared by identity as config changes replace the array
+    @Nullable
+    private String[] blacklist;
+    private boolean notBlacklisted;
+
+    @Nullable
+    private Recipe lastRecipe;
+    private int lastRecipeModificationCount;
+
+    private MachineHatchDescriptor(@Nonnull MetaTileEntity metaTileEntity) {
+        this.metaTileEntity = metaTileEntity;
+        this.recipeMap = metaTileEntity.getRecipeMap();
+        this.tier = metaTileEntity instanceof ITieredMetaTileEntity ? ((ITieredMetaTileEntity) metaTileEntity).getTier() : 0;
+        this.voltage = GTValues.V[tier];
+        this.validMachine = metaTileEntity instanceof WorkableTieredMetaTileEntity &&
+                !(metaTileEntity instanceof SimpleGeneratorMetaTileEntity) && recipeMap != null;
+    }
+
+    /**
+     * @param machineStack the machine item
+     * @return the descriptor of the machine, or {@code null} if the item is not a machine
+     */
+    @Nullable
+    public static MachineHatchDescriptor get(@Nonnull ItemStack machineStack) {
+        MetaTileEntity metaTileEntity = GTUtility.getMetaTileEntity(machineStack);
+        if (metaTileEntity == null) return null;
+        int id = machineStack.getItemDamage();
+        MachineHatchDescriptor descriptor = descriptors.get(id);
+        // the registry only changes during startup, but do not hand out descriptors of replaced machines
+        if (descriptor == null || descriptor.metaTileEntity != metaTileEntity) {
+            descriptor = new MachineHatchDescriptor(metaTileEntity);
+            descriptors.put(id, descriptor);
+        }
+        return descriptor;
+    }
+
+    /**
+     * @return the registered sample of the machine
+     */
+    @Nonnull
+    public MetaTileEntity getMetaTileEntity() {
+        return metaTileEntity;
+    }
+
+    @Nullable
+    public RecipeMap<?> getRecipeMap() {
+        return recipeMap;
+    }
+
+    /**
+     * @return the voltage tier of the machine, from {@link GTValues#V}
+     */
+    public int getTier() {
+        return tier;
+    }
+
+    /**
+     * @return the maximum voltage of the machine
+     */
+    public long getVoltage() {
+        return voltage;
+    }
+
+    /**
+     * @param recipeMapBlacklist the unlocalized names of the recipe maps which may not be used
+     * @return whether the machine may be used in a machine hatch with the blacklist
+     * @see GTUtility#isMachineValidForMachineHatch(ItemStack, String[])
+     */
+    public boolean isValid(@Nonnull String[] recipeMapBlacklist) {
+        if (!validMachine) return false;
+        if (recipeMapBlacklist != this.blacklist) {
+            this.notBlacklisted = !GTUtility.findMachineInBlacklist(recipeMap.getUnlocalizedName(), recipeMapBlacklist);
+            this.blacklist = recipeMapBlacklist;
+        }
+        return notBlacklisted;
+    }
+
+    /**
+     * @return the last recipe run with this machine, or {@code null} if the recipe map was modified since
+     */
+    @Nullable
+    public Recipe getLastRecipe() {
+        if (lastRecipe == null || recipeMap == null || recipeMap.getModificationCount() != lastRecipeModificationCount) {
+            return null;
+        }
+        return lastRecipe;
+    }
+
+    public void setLastRecipe(@Nonnull Recipe recipe) {
+        if (recipeMap == null) return;
+        this.lastRecipe = recipe;
+        this.lastRecipeModificationCount = recipeMap.getModificationCount();
+    }
+}
@@ -32,6 +32,7 @@ import gregtech.api.recipes.RecipeMap;
 import gregtech.api.util.GTLog;
 import gregtech.api.util.GTTransferUtils;
 import gregtech.api.util.GTUtility;
+import gregtech.api.util.TickProfiler;
 import gregtech.client.renderer.texture.Textures;
 import gregtech.client.utils.BloomEffectUtil;
 import gregtech.common.ConfigHolder;
@@ -335,6 +336,7 @@ public abstract class MetaTileEntity implements ICoverable, IVoidable {
     }
 
     public <T> void addNotifiedInput(T input) {
+        notifyCoversOfContentsChange();
         if (input instanceof IItemHandlerModifiable) {
             if (!notifiedItemInputList.contains(input)) {
                 this.notifiedItemInputList.add((IItemHandlerModifiable) input);
@@ -347,6 +349,7 @@ public abstract class MetaTileEntity implements ICoverable, IVoidable {
     }
 
     public <T> void addNotifiedOutput(T output) {
+        notifyCoversOfContentsChange();
         if (output instanceof IItemHandlerModifiable) {
             if (!notifiedItemOutputList.contains(output)) {
                 this.notifiedItemOutputList.add((IItemHandlerModifiable) output);
@@ -714,6 +717,27 @@ public abstract class MetaTileEntity implements ICoverable, IVoidable {
         }
     }
 
+    /**
+     * Lets the covers know that a neighbouring block changed
+     */
+    public void notifyCoversOfNeighborChange() {
+        for (EnumFacing side : EnumFacing.VALUES) {
+            CoverBehavior coverBehavior = getCoverAtSide(side);
+            if (coverBehavior != null) {
+                coverBehavior.onNeighborChanged();
+            }
+        }
+    }
+
+    private void notifyCoversOfContentsChange() {
+        for (EnumFacing side : EnumFacing.VALUES) {
+            CoverBehavior coverBehavior = getCoverAtSide(side);
+            if (coverBehavior != null) {
+                coverBehavior.onHolderContentsChanged();
+            }
+        }
+    }
+
     public int getActualComparatorValue() {
         return 0;
     }
@@ -751,15 +775,28 @@ public abstract class MetaTileEntity implements ICoverable, IVoidable {
     }
 
     public void update() {
+        boolean isProfiling = TickProfiler.isProfiling(getWorld());
         for (MTETrait mteTrait : this.mteTraits.values()) {
             if (shouldUpdate(mteTrait)) {
-                mteTrait.update();
+                if (isProfiling) {
+                    long startTime = System.nanoTime();
+                    mteTrait.update();
+                    TickProfiler.record(TickProfiler.Category.TRAIT, mteTrait.getClass(), System.nanoTime() - startTime);
+                } else {
+                    mteTrait.update();
+                }
             }
         }
         if (!getWorld().isRemote) {
             for (CoverBehavior coverBehavior : coverBehaviors) {
                 if (coverBehavior instanceof ITickable) {
-                    ((ITickable) coverBehavior).update();
+                    if (isProfiling) {
+                        long startTime = System.nanoTime();
+                        ((ITickable) coverBehavior).update();
+                        TickProfiler.record(TickProfiler.Category.COVER, coverBehavior.getClass(), System.nanoTime() - startTime);
+                    } else {
+                        ((ITickable) coverBehavior).update();
+                    }
                 }
             }
             if (getOffsetTimer() % 5 == 0L) {
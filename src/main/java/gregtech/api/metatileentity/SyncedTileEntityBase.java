@@ -12,6 +12,7 @@ import net.minecraft.nbt.NBTTagList;
 import net.minecraft.network.NetworkManager;
 import net.minecraft.network.PacketBuffer;
 import net.minecraft.network.play.server.SPacketUpdateTileEntity;
+import net.minecraft.world.WorldServer;
 import net.minecraftforge.common.util.Constants;
 
 import javax.annotation.Nonnull;
@@ -26,20 +27,47 @@ public abstract class SyncedTileEntityBase extends BlockStateTileEntity {
 
     public abstract void receiveCustomData(int discriminator, PacketBuffer buf);
 
+    private static final ThreadLocal<PacketBuffer> CUSTOM_DATA_BUFFER = ThreadLocal.withInitial(() -> new PacketBuffer(Unpooled.buffer()));
+
     protected final Int2ObjectMap<byte[]> updates = new Int2ObjectArrayMap<>(5);
 
+    /**
+     * Whether the initial sync data of this tile entity was sent to clients, so custom data can be batched
+     */
+    private boolean isKnownToClients = false;
+
+    /**
+     * Writes custom data to be sent to the clients. Data written with the same discriminator
+     * before it is sent replaces the previous data.
+     * <p>
+     * On the server, the data is sent at the end of the tick, batched with the data of all other tile entities in the chunk.
+     */
     public void writeCustomData(int discriminator, Consumer<PacketBuffer> dataWriter) {
-        ByteBuf backedBuffer = Unpooled.buffer();
-        dataWriter.accept(new PacketBuffer(backedBuffer));
-        byte[] updateData = Arrays.copyOfRange(backedBuffer.array(), 0, backedBuffer.writerIndex());
+        // the writer may write custom data itself, so only use the buffer past the data of the outer call
+        PacketBuffer buf = CUSTOM_DATA_BUFFER.get();
+        int start = buf.writerIndex();
+        byte[] updateData;
+        try {
+            dataWriter.accept(buf);
+            updateData = new byte[buf.writerIndex() - start];
+            buf.getBytes(start, updateData);
+        } finally {
+            buf.writerIndex(start);
+        }
         updates.put(discriminator, updateData);
-        @SuppressWarnings("deprecation")
-        IBlockState blockState = getBlockType().getStateFromMeta(getBlockMetadata());
-        world.notifyBlockUpdate(getPos(), blockState, blockState, 0);
+
+        if (isKnownToClients && world instanceof WorldServer) {
+            SyncedTileEntityBatcher.schedule(this);
+        } else {
+            @SuppressWarnings("deprecation")
+            IBlockState blockState = getBlockType().getStateFromMeta(getBlockMetadata());
+            world.notifyBlockUpdate(getPos(), blockState, blockState, 0);
+        }
     }
 
     @Override
     public SPacketUpdateTileEntity getUpdatePacket() {
+        this.isKnownToClients = true;
         if (this.updates.isEmpty()) {
             return null;
         }
@@ -71,6 +99,7 @@ public abstract class SyncedTileEntityBase extends BlockStateTileEntity {
     @Nonnull
     @Override
     public NBTTagCompound getUpdateTag() {
+        this.isKnownToClients = true;
         NBTTagCompound updateTag = super.getUpdateTag();
         ByteBuf backedBuffer = Unpooled.buffer();
         writeInitialSyncData(new PacketBuffer(backedBuffer));
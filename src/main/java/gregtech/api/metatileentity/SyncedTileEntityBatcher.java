@@ -0,0 +1,108 @@
+package gregtech.api.metatileentity;
+
+import gregtech.api.GTValues;
+import gregtech.api.GregTechAPI;
+import gregtech.core.network.packets.PacketSyncedTileEntityData;
+import io.netty.buffer.Unpooled;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent.Phase;
+import net.minecraftforge.fml.common.gameevent.TickEvent.ServerTickEvent;
+import net.minecraftforge.fml.common.network.NetworkRegistry.TargetPoint;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Collects the {@link SyncedTileEntityBase}s with pending custom data on the server,
+ * and sends the data of each chunk as a single {@link PacketSyncedTileEntityData} at the end of the server tick.
+ */
+@EventBusSubscriber(modid = GTValues.MODID)
+public final class SyncedTileEntityBatcher {
+
+    private static final Map<World, Long2ObjectMap<LongSet>> pendingByWorld = new HashMap<>();
+    private static final PacketBuffer dataBuffer = new PacketBuffer(Unpooled.buffer());
+
+    private SyncedTileEntityBatcher() {
+    }
+
+    static void schedule(SyncedTileEntityBase tileEntity) {
+        BlockPos pos = tileEntity.getPos();
+        Long2ObjectMap<LongSet> pendingByChunk = pendingByWorld.computeIfAbsent(tileEntity.getWorld(), k -> new Long2ObjectOpenHashMap<>());
+        long chunkKey = ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4);
+        LongSet positions = pendingByChunk.get(chunkKey);
+        if (positions == null) {
+            positions = new LongOpenHashSet();
+            pendingByChunk.put(chunkKey, positions);
+        }
+        positions.add(pos.toLong());
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(ServerTickEvent event) {
+        if (event.phase != Phase.END) return;
+        for (Map.Entry<World, Long2ObjectMap<LongSet>> worldEntry : pendingByWorld.entrySet()) {
+            World world = worldEntry.getKey();
+            Iterator<Long2ObjectMap.Entry<LongSet>> iterator = worldEntry.getValue().long2ObjectEntrySet().iterator();
+            while (iterator.hasNext()) {
+                Long2ObjectMap.Entry<LongSet> chunkEntry = iterator.next();
+                LongSet positions = chunkEntry.getValue();
+                if (positions.isEmpty()) {
+                    // the chunk had no updates for a whole tick, so stop keeping its set around
+                    iterator.remove();
+                } else {
+                    long chunkKey = chunkEntry.getLongKey();
+                    sendChunk(world, (int) chunkKey, (int) (chunkKey >> 32), positions);
+                    positions.clear();
+                }
+            }
+        }
+    }
+
+    private static void sendChunk(World world, int chunkX, int chunkZ, LongSet positions) {
+        PacketBuffer buf = dataBuffer;
+        buf.clear();
+        for (LongIterator iterator = positions.iterator(); iterator.hasNext(); ) {
+            BlockPos pos = BlockPos.fromLong(iterator.nextLong());
+            if (!world.isBlockLoaded(pos)) continue;
+            // look up by position, since pipes replace their tile entity while keeping their pending updates
+            TileEntity tileEntity = world.getTileEntity(pos);
+            if (!(tileEntity instanceof SyncedTileEntityBase) || tileEntity.isInvalid()) continue;
+            Int2ObjectMap<byte[]> updates = ((SyncedTileEntityBase) tileEntity).updates;
+            if (updates.isEmpty()) continue;
+
+            buf.writeByte((pos.getX() & 15) << 4 | (pos.getZ() & 15));
+            buf.writeVarInt(pos.getY());
+            buf.writeVarInt(updates.size());
+            for (Int2ObjectMap.Entry<byte[]> entry : updates.int2ObjectEntrySet()) {
+                byte[] updateData = entry.getValue();
+                buf.writeVarInt(entry.getIntKey());
+                buf.writeVarInt(updateData.length);
+                buf.writeBytes(updateData);
+            }
+            updates.clear();
+        }
+        if (buf.isReadable()) {
+            TargetPoint point = new TargetPoint(world.provider.getDimension(), (chunkX << 4) + 8, 0, (chunkZ << 4) + 8, 0);
+            GregTechAPI.networkHandler.sendToAllTracking(new PacketSyncedTileEntityData(chunkX, chunkZ, buf), point);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onWorldUnload(WorldEvent.Unload event) {
+        pendingByWorld.remove(event.getWorld());
+    }
+}
@@ -54,11 +54,17 @@ import static gregtech.api.capability.GregtechDataCodes.STRUCTURE_FORMED;
 
 public abstract class MultiblockControllerBase extends MetaTileEntity implements IMultiblockController {
 
+    // ticks between rechecks of indexed structures whose blocks did not notify a change
+    private static final int INDEXED_STRUCTURE_RECHECK_INTERVAL = 400;
+
     public BlockPattern structurePattern;
 
     private final Map<MultiblockAbility<Object>, List<Object>> multiblockAbilities = new HashMap<>();
     private final List<IMultiblockPart> multiblockParts = new ArrayList<>();
     private boolean structureFormed;
+    private boolean structureBlocksChanged = true;
+    @Nullable
+    private long[] indexedPositions;
 
     public MultiblockControllerBase(ResourceLocation metaTileEntityId) {
         super(metaTileEntityId);
@@ -72,14 +78,21 @@ public abstract class MultiblockControllerBase extends MetaTileEntity implements
 
     public void reinitializeStructurePattern() {
         this.structurePattern = createStructurePattern();
+        this.structureBlocksChanged = true;
     }
 
     @Override
     public void update() {
         super.update();
         if (!getWorld().isRemote) {
-            if (getOffsetTimer() % 20 == 0 || isFirstTick()) {
+            // formed structures registered in the structure index are rechecked when one of their blocks changes,
+            // or a chunk they cover is loaded or unloaded. Changes which do not notify the world listeners are only
+            // seen by the slower periodic recheck
+            if ((getOffsetTimer() % 20 == 0 || isFirstTick()) && (indexedPositions == null || structureBlocksChanged ||
+                    getOffsetTimer() % INDEXED_STRUCTURE_RECHECK_INTERVAL == 0)) {
+                this.structureBlocksChanged = false;
                 checkStructurePattern();
+                updateStructureIndex();
             }
             // DummyWorld is the world for the JEI preview. We do not want to update the Multi in this world,
             // besides initially forming it in checkStructurePattern
@@ -268,7 +281,35 @@ public abstract class MultiblockControllerBase extends MetaTileEntity implements
     protected void formStructure(PatternMatchContext context) {
     }
 
+    /**
+     * Called by the {@link MultiblockStructureIndex} when a block or chunk of the formed structure changed
+     */
+    public void onStructureBlockChanged() {
+        this.structureBlocksChanged = true;
+    }
+
+    private void updateStructureIndex() {
+        removeFromStructureIndex();
+        if (!structureFormed || structurePattern == null || structurePattern.cache.isEmpty()) return;
+        MultiblockStructureIndex index = MultiblockStructureIndex.get(getWorld());
+        if (index != null) {
+            this.indexedPositions = structurePattern.cache.toPositionArray();
+            index.add(this, indexedPositions);
+        }
+    }
+
+    private void removeFromStructureIndex() {
+        if (indexedPositions != null) {
+            MultiblockStructureIndex index = MultiblockStructureIndex.get(getWorld());
+            if (index != null) {
+                index.remove(this, indexedPositions);
+            }
+            this.indexedPositions = null;
+        }
+    }
+
     public void invalidateStructure() {
+        removeFromStructureIndex();
         this.multiblockParts.forEach(part -> part.removeFromMultiBlock(this));
         this.multiblockAbilities.clear();
         this.multiblockParts.clear();
@@ -284,6 +325,14 @@ public abstract class MultiblockControllerBase extends MetaTileEntity implements
         }
     }
 
+    @Override
+    public void onUnload() {
+        super.onUnload();
+        if (!getWorld().isRemote) {
+            removeFromStructureIndex();
+        }
+    }
+
     @SuppressWarnings("unchecked")
     public <T> List<T> getAbilities(MultiblockAbility<T> ability) {
         List<T> rawList = (List<T>) multiblockAbilities.getOrDefault(ability, Collections.emptyList());
@@ -345,6 +394,7 @@ public abstract class MultiblockControllerBase extends MetaTileEntity implements
             // clear cache since the cache has no concept of pre-existing facing
             // for the controller block (or any block) in the structure
             structurePattern.clearCache();
+            this.structureBlocksChanged = true;
             // recheck structure pattern immediately to avoid a slight "lag"
             // on deforming when rotating a multiblock controller
             checkStructurePattern();
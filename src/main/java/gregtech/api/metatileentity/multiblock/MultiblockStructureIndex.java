@@ -0,0 +1,177 @@
+package gregtech.api.metatileentity.multiblock;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.SoundCategory;
+import net.minecraft.util.SoundEvent;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.IWorldEventListener;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-world index from the block positions of formed multiblocks to their controllers.
+ * <p>
+ * Listens to block changes in its world, and tells the controllers owning a changed position
+ * to recheck their structure, so formed structures only need to be polled rarely.
+ * Loading or unloading a chunk changes its blocks without any block update,
+ * so the controllers of all structures covering the chunk are told to recheck as well.
+ * Block changes which do not notify the world listeners, such as direct chunk edits,
+ * are not seen, and are left to the slow periodic recheck of the controllers.
+ */
+public final class MultiblockStructureIndex implements IWorldEventListener {
+
+    private static final Map<World, MultiblockStructureIndex> INDICES = new HashMap<>();
+
+    private final Long2ObjectOpenHashMap<List<MultiblockControllerBase>> controllersByPos = new Long2ObjectOpenHashMap<>();
+    private final Long2ObjectOpenHashMap<List<MultiblockControllerBase>> controllersByChunk = new Long2ObjectOpenHashMap<>();
+
+    private MultiblockStructureIndex() {
+    }
+
+    /**
+     * @param world the world to get the index for
+     * @return the index of the world, or null if the world does not support indexing
+     */
+    @Nullable
+    public static MultiblockStructureIndex get(@Nonnull World world) {
+        if (!(world instanceof WorldServer)) return null;
+        MultiblockStructureIndex index = INDICES.get(world);
+        if (index == null) {
+            index = new MultiblockStructureIndex();
+            INDICES.put(world, index);
+            world.addEventListener(index);
+        }
+        return index;
+    }
+
+    public static void onWorldUnload(@Nonnull World world) {
+        MultiblockStructureIndex index = INDICES.remove(world);
+        if (index != null) {
+            world.removeEventListener(index);
+        }
+    }
+
+    /**
+     * Tells the controllers of all structures covering a chunk to recheck their structure
+     *
+     * @param world the world of the chunk
+     * @param chunk the chunk which was loaded or unloaded
+     */
+    public static void onChunkLoadChanged(@Nonnull World world, @Nonnull Chunk chunk) {
+        MultiblockStructureIndex index = INDICES.get(world);
+        if (index == null) return;
+        List<MultiblockControllerBase> controllers = index.controllersByChunk.get(ChunkPos.asLong(chunk.x, chunk.z));
+        if (controllers != null) {
+            for (int i = 0; i < controllers.size(); i++) {
+                controllers.get(i).onStructureBlockChanged();
+            }
+        }
+    }
+
+    public void add(@Nonnull MultiblockControllerBase controller, @Nonnull long[] positions) {
+        for (long pos : positions) {
+            List<MultiblockControllerBase> controllers = this.controllersByPos.get(pos);
+            if (controllers == null) {
+                controllers = new ObjectArrayList<>(1);
+                this.controllersByPos.put(pos, controllers);
+            }
+            controllers.add(controller);
+
+            long chunk = getChunkKey(pos);
+            controllers = this.controllersByChunk.get(chunk);
+            if (controllers == null) {
+                controllers = new ObjectArrayList<>(1);
+                this.controllersByChunk.put(chunk, controllers);
+            }
+            if (!controllers.contains(controller)) {
+                controllers.add(controller);
+            }
+        }
+    }
+
+    public void remove(@Nonnull MultiblockControllerBase controller, @Nonnull long[] positions) {
+        for (long pos : positions) {
+            List<MultiblockControllerBase> controllers = this.controllersByPos.get(pos);
+            if (controllers != null && controllers.remove(controller) && controllers.isEmpty()) {
+                this.controllersByPos.remove(pos);
+            }
+
+            long chunk = getChunkKey(pos);
+            controllers = this.controllersByChunk.get(chunk);
+            if (controllers != null && controllers.remove(controller) && controllers.isEmpty()) {
+                this.controllersByChunk.remove(chunk);
+            }
+        }
+    }
+
+    private static long getChunkKey(long pos) {
+        BlockPos blockPos = BlockPos.fromLong(pos);
+        return ChunkPos.asLong(blockPos.getX() >> 4, blockPos.getZ() >> 4);
+    }
+
+    @Override
+    public void notifyBlockUpdate(@Nonnull World world, @Nonnull BlockPos pos, @Nonnull IBlockState oldState, @Nonnull IBlockState newState, int flags) {
+        List<MultiblockControllerBase> controllers = this.controllersByPos.get(pos.toLong());
+        if (controllers != null) {
+            for (int i = 0; i < controllers.size(); i++) {
+                controllers.get(i).onStructureBlockChanged();
+            }
+        }
+    }
+
+    @Override
+    public void notifyLightSet(@Nonnull BlockPos pos) {
+    }
+
+    @Override
+    public void markBlockRangeForRenderUpdate(int x1, int y1, int z1, int x2, int y2, int z2) {
+    }
+
+    @Override
+    public void playSoundToAllNearExcept(@Nullable EntityPlayer player, @Nonnull SoundEvent sound, @Nonnull SoundCategory category, double x, double y, double z, float volume, float pitch) {
+    }
+
+    @Override
+    public void playRecord(@Nonnull SoundEvent sound, @Nonnull BlockPos pos) {
+    }
+
+    @Override
+    public void spawnParticle(int particleID, boolean ignoreRange, double xCoord, double yCoord, double zCoord, double xSpeed, double ySpeed, double zSpeed, int... parameters) {
+    }
+
+    @Override
+    public void spawnParticle(int id, boolean ignoreRange, boolean minimiseParticleLevel, double x, double y, double z, double xSpeed, double ySpeed, double zSpeed, int... parameters) {
+    }
+
+    @Override
+    public void onEntityAdded(@Nonnull Entity entity) {
+    }
+
+    @Override
+    public void onEntityRemoved(@Nonnull Entity entity) {
+    }
+
+    @Override
+    public void broadcastSound(int soundID, @Nonnull BlockPos pos, int data) {
+    }
+
+    @Override
+    public void playEvent(@Nullable EntityPlayer player, int type, @Nonnull BlockPos blockPos, int data) {
+    }
+
+    @Override
+    public void sendBlockBreakProgress(int breakerId, @Nonnull BlockPos pos, int progress) {
+    }
+}
@@ -8,8 +8,6 @@ import gregtech.api.metatileentity.multiblock.MultiblockControllerBase;
 import gregtech.api.util.BlockInfo;
 import gregtech.api.util.RelativeDirection;
 import gregtech.common.blocks.MetaBlocks;
-import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
-import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.init.Blocks;
@@ -43,7 +41,9 @@ public class BlockPattern {
     protected final Map<TraceabilityPredicate.SimplePredicate, Integer> globalCount;
     protected final Map<TraceabilityPredicate.SimplePredicate, Integer> layerCount;
 
-    public Long2ObjectMap<BlockInfo> cache = new Long2ObjectOpenHashMap<>();
+    public final BlockPatternCache cache = new BlockPatternCache();
+    private final BlockPos.MutableBlockPos mutablePos = new BlockPos.MutableBlockPos();
+    private final int[] relativeOffset = new int[3];
     // x, y, z, minZ, maxZ
     private int[] centerOffset = null;
 
@@ -94,25 +94,8 @@ public class BlockPattern {
     }
 
     public PatternMatchContext checkPatternFastAt(World world, BlockPos centerPos, EnumFacing facing) {
-        if (!cache.isEmpty()) {
-            boolean pass = true;
-            for (Map.Entry<Long, BlockInfo> entry : cache.entrySet()) {
-                BlockPos pos = BlockPos.fromLong(entry.getKey());
-                IBlockState blockState = world.getBlockState(pos);
-                if (blockState != entry.getValue().getBlockState()) {
-                    pass = false;
-                    break;
-                }
-                TileEntity cachedTileEntity = entry.getValue().getTileEntity();
-                if (cachedTileEntity != null) {
-                    TileEntity tileEntity = world.getTileEntity(pos);
-                    if (tileEntity != cachedTileEntity) {
-                        pass = false;
-                        break;
-                    }
-                }
-            }
-            if (pass) return worldState.hasError() ? null : matchContext;
+        if (!cache.isEmpty() && cache.isUnchanged(world)) {
+            return worldState.hasError() ? null : matchContext;
         }
         return checkPatternAt(world, centerPos, facing);
     }
@@ -140,18 +123,14 @@ public class BlockPattern {
                 for (int b = 0, y = -centerOffset[1]; b < this.thumbLength; b++, y++) {
                     for (int a = 0, x = -centerOffset[0]; a < this.palmLength; a++, x++) {
                         TraceabilityPredicate predicate = this.blockMatches[c][b][a];
-                        BlockPos pos = setActualRelativeOffset(x, y, z, facing).add(centerPos.getX(), centerPos.getY(), centerPos.getZ());
+                        BlockPos pos = setActualRelativeOffset(mutablePos, x, y, z, facing, centerPos);
                         worldState.update(world, pos, matchContext, globalCount, layerCount, predicate);
                         TileEntity tileEntity = worldState.getTileEntity();
                         if (predicate != TraceabilityPredicate.ANY) {
-                            if (tileEntity instanceof IGregTechTileEntity) {
-                                if (((IGregTechTileEntity) tileEntity).isValid()) {
-                                    cache.put(pos.toLong(), new BlockInfo(worldState.getBlockState(), tileEntity, predicate));
-                                } else {
-                                    cache.put(pos.toLong(), new BlockInfo(worldState.getBlockState(), null, predicate));
-                                }
+                            if (tileEntity instanceof IGregTechTileEntity && !((IGregTechTileEntity) tileEntity).isValid()) {
+                                cache.put(pos.toLong(), worldState.getBlockState(), null, predicate);
                             } else {
-                                cache.put(pos.toLong(), new BlockInfo(worldState.getBlockState(), tileEntity, predicate));
+                                cache.put(pos.toLong(), worldState.getBlockState(), tileEntity, predicate);
                             }
                         }
                         if (!predicate.test(worldState)) {
@@ -567,6 +546,39 @@ public class BlockPattern {
         return result;
     }
 
+    /**
+     * Same as {@link #setActualRelativeOffset(int, int, int, EnumFacing)}, but writes the offset position,
+     * moved by the center position, into the given mutable position instead of allocating new ones
+     */
+    private BlockPos setActualRelativeOffset(BlockPos.MutableBlockPos pos, int x, int y, int z, EnumFacing facing, BlockPos centerPos) {
+        int[] c1 = this.relativeOffset;
+        c1[0] = c1[1] = c1[2] = 0;
+        for (int i = 0; i < 3; i++) {
+            int c0 = i == 0 ? x : i == 1 ? y : z;
+            switch (structureDir[i].getActualFacing(facing)) {
+                case UP:
+                    c1[1] = c0;
+                    break;
+                case DOWN:
+                    c1[1] = -c0;
+                    break;
+                case WEST:
+                    c1[0] = -c0;
+                    break;
+                case EAST:
+                    c1[0] = c0;
+                    break;
+                case NORTH:
+                    c1[2] = -c0;
+                    break;
+                case SOUTH:
+                    c1[2] = c0;
+                    break;
+            }
+        }
+        return pos.setPos(c1[0] + centerPos.getX(), c1[1] + centerPos.getY(), c1[2] + centerPos.getZ());
+    }
+
     private BlockPos setActualRelativeOffset(int x, int y, int z, EnumFacing facing) {
         int[] c0 = new int[]{x, y, z}, c1 = new int[3];
         for (int i = 0; i < 3; i++) {
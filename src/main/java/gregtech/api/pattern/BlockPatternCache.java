@@ -0,0 +1,122 @@
+package gregtech.api.pattern;
+
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.BlockPos.MutableBlockPos;
+import net.minecraft.world.World;
+
+import java.util.Arrays;
+
+/**
+ * The blocks matched by the last full check of a {@link BlockPattern}.
+ * <p>
+ * Stored as parallel arrays of packed positions, block states, tile entities and predicates,
+ * which are reused between checks, so {@link #isUnchanged(World)} can verify the structure without allocating.
+ */
+public class BlockPatternCache {
+
+    // bit layout of BlockPos#toLong
+    private static final int NUM_XZ_BITS = 26;
+    private static final int NUM_Y_BITS = 12;
+    private static final int Y_SHIFT = NUM_XZ_BITS;
+    private static final int X_SHIFT = Y_SHIFT + NUM_Y_BITS;
+
+    private final Long2IntOpenHashMap indexByPos = new Long2IntOpenHashMap();
+    private final MutableBlockPos mutablePos = new MutableBlockPos();
+
+    private long[] positions = new long[64];
+    private IBlockState[] blockStates = new IBlockState[64];
+    private TileEntity[] tileEntities = new TileEntity[64];
+    private TraceabilityPredicate[] predicates = new TraceabilityPredicate[64];
+    private int size;
+
+    public BlockPatternCache() {
+        this.indexByPos.defaultReturnValue(-1);
+    }
+
+    /**
+     * Stores a matched block, replacing the entry of the same position if there is one
+     */
+    void put(long pos, IBlockState blockState, TileEntity tileEntity, TraceabilityPredicate predicate) {
+        int index = indexByPos.get(pos);
+        if (index == -1) {
+            if (size == positions.length) {
+                int newLength = size * 2;
+                this.positions = Arrays.copyOf(positions, newLength);
+                this.blockStates = Arrays.copyOf(blockStates, newLength);
+                this.tileEntities = Arrays.copyOf(tileEntities, newLength);
+                this.predicates = Arrays.copyOf(predicates, newLength);
+            }
+            index = size++;
+            indexByPos.put(pos, index);
+            positions[index] = pos;
+        }
+        blockStates[index] = blockState;
+        tileEntities[index] = tileEntity;
+        predicates[index] = predicate;
+    }
+
+    /**
+     * @return whether every cached block state and tile entity is still present in the world
+     */
+    public boolean isUnchanged(World world) {
+        MutableBlockPos pos = this.mutablePos;
+        for (int i = 0; i < size; i++) {
+            long packed = positions[i];
+            pos.setPos(unpackX(packed), unpackY(packed), unpackZ(packed));
+            if (world.getBlockState(pos) != blockStates[i]) {
+                return false;
+            }
+            TileEntity tileEntity = tileEntities[i];
+            if (tileEntity != null && world.getTileEntity(pos) != tileEntity) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(blockStates, 0, size, null);
+        Arrays.fill(tileEntities, 0, size, null);
+        Arrays.fill(predicates, 0, size, null);
+        indexByPos.clear();
+        this.size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public BlockPos getBlockPos(int index) {
+        return BlockPos.fromLong(positions[index]);
+    }
+
+    public TraceabilityPredicate getPredicate(int index) {
+        return predicates[index];
+    }
+
+    /**
+     * @return a copy of the packed positions of all cached blocks
+     */
+    public long[] toPositionArray() {
+        return Arrays.copyOf(positions, size);
+    }
+
+    static int unpackX(long packed) {
+        return (int) (packed << 64 - X_SHIFT - NUM_XZ_BITS >> 64 - NUM_XZ_BITS);
+    }
+
+    static int unpackY(long packed) {
+        return (int) (packed << 64 - Y_SHIFT - NUM_Y_BITS >> 64 - NUM_Y_BITS);
+    }
+
+    static int unpackZ(long packed) {
+        return (int) (packed << 64 - NUM_XZ_BITS >> 64 - NUM_XZ_BITS);
+    }
+}
@@ -60,9 +60,27 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
     public void onPipeConnectionsUpdate() {
     }
 
+    /**
+     * Is called when any connection of the pipe at a known position changes.
+     * Defaults to {@link #onPipeConnectionsUpdate()}
+     *
+     * @param pipePos the position of the pipe whose connections changed
+     */
+    public void onPipeConnectionsUpdate(BlockPos pipePos) {
+        onPipeConnectionsUpdate();
+    }
+
     public void onNeighbourUpdate(BlockPos fromPos) {
     }
 
+    /**
+     * Is called when a cover of the pipe at the position is attached, removed or reconfigured
+     *
+     * @param pipePos the position of the pipe whose covers changed
+     */
+    public void onPipeCoversUpdate(BlockPos pipePos) {
+    }
+
     public Map<BlockPos, Node<NodeDataType>> getAllNodes() {
         return unmodifiableNodeByBlockPos;
     }
@@ -189,6 +189,8 @@ public abstract class BlockPipe<PipeType extends Enum<PipeType> & IPipeType<Node
         IPipeTile<PipeType, NodeDataType> pipeTile = getPipeTileEntity(worldIn, pos);
         if (pipeTile != null) {
             pipeTile.getCoverableImplementation().updateInputRedstoneSignals();
+            pipeTile.getCoverableImplementation().notifyCoversOfNeighborChange();
+            pipeTile.wakeUp();
             if (!ConfigHolder.machines.gt6StylePipesCables) {
                 EnumFacing facing = null;
                 for (EnumFacing facing1 : EnumFacing.values()) {
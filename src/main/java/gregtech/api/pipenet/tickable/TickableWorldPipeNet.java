@@ -2,6 +2,7 @@ package gregtech.api.pipenet.tickable;
 
 import gregtech.api.pipenet.PipeNet;
 import gregtech.api.pipenet.WorldPipeNet;
+import gregtech.api.util.TickProfiler;
 import net.minecraft.util.ITickable;
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.WorldServer;
@@ -31,7 +32,15 @@ public abstract class TickableWorldPipeNet<NodeDataType, T extends PipeNet<NodeD
 
     public void update() {
         if (getWorld().getTotalWorldTime() % getUpdateRate() == 0L) {
-            tickingPipeNets.forEach(ITickable::update);
+            if (TickProfiler.isProfiling(getWorld())) {
+                for (T pipeNet : tickingPipeNets) {
+                    long startTime = System.nanoTime();
+                    pipeNet.update();
+                    TickProfiler.record(TickProfiler.Category.PIPE_NET, pipeNet.getClass(), System.nanoTime() - startTime);
+                }
+            } else {
+                tickingPipeNets.forEach(ITickable::update);
+            }
         }
         if(removeLater.size() > 0) {
             removeLater.forEach(tickingPipeNets::remove);
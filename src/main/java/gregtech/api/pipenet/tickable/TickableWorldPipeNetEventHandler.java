@@ -1,14 +1,17 @@
 package gregtech.api.pipenet.tickable;
 
 import gregtech.api.GTValues;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import net.minecraft.tileentity.TileEntity;
 import net.minecraft.world.World;
 import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent.Phase;
 import net.minecraftforge.fml.common.gameevent.TickEvent.WorldTickEvent;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
@@ -16,11 +19,53 @@ import java.util.stream.Stream;
 public class TickableWorldPipeNetEventHandler {
 
     private static final List<Function<World, TickableWorldPipeNet<?, ?>>> pipeNetAccessors = new ArrayList<>();
+    private static final Map<World, Set<TileEntity>> pipesToSleep = new HashMap<>();
+    private static final Map<World, Set<TileEntity>> pipesToWake = new HashMap<>();
 
     public static void registerTickablePipeNet(Function<World, TickableWorldPipeNet<?, ?>> pipeNetAccessor) {
         pipeNetAccessors.add(pipeNetAccessor);
     }
 
+    /**
+     * Takes a ticking pipe off the ticking list of its world at the start of the next tick
+     *
+     * @param pipe the pipe to put to sleep
+     */
+    public static void putToSleep(TileEntity pipe) {
+        pipesToSleep.computeIfAbsent(pipe.getWorld(), k -> new ObjectOpenHashSet<>()).add(pipe);
+    }
+
+    /**
+     * Puts a sleeping pipe back on the ticking list of its world at the start of the next tick.
+     * The world's ticking list can not be modified directly, since pipes are usually woken up while it is iterated.
+     *
+     * @param pipe the pipe to wake up
+     */
+    public static void wakeUp(TileEntity pipe) {
+        Set<TileEntity> sleepingPipes = pipesToSleep.get(pipe.getWorld());
+        if (sleepingPipes != null && sleepingPipes.remove(pipe)) {
+            // the pipe was never taken off the ticking list
+            return;
+        }
+        pipesToWake.computeIfAbsent(pipe.getWorld(), k -> new ObjectOpenHashSet<>()).add(pipe);
+    }
+
+    private static void updateSleepingPipes(World world) {
+        Set<TileEntity> sleepingPipes = pipesToSleep.remove(world);
+        if (sleepingPipes != null) {
+            world.tickableTileEntities.removeAll(sleepingPipes);
+        }
+        Set<TileEntity> wokenPipes = pipesToWake.remove(world);
+        if (wokenPipes != null) {
+            for (TileEntity pipe : wokenPipes) {
+                // the pipe may have been replaced or unloaded since it was woken up
+                if (world.isBlockLoaded(pipe.getPos()) && world.getTileEntity(pipe.getPos()) == pipe) {
+                    world.tickableTileEntities.add(pipe);
+                }
+            }
+        }
+    }
+
     private static Stream<TickableWorldPipeNet<?, ?>> getPipeNetsForWorld(World world) {
         return pipeNetAccessors.stream().map(accessor -> accessor.apply(world));
     }
@@ -28,11 +73,18 @@ public class TickableWorldPipeNetEventHandler {
     @SubscribeEvent
     public static void onWorldTick(WorldTickEvent event) {
         World world = event.world;
-        if (world.isRemote)
+        if (world.isRemote || event.phase != Phase.START)
             return;
+        updateSleepingPipes(world);
         getPipeNetsForWorld(world).forEach(TickableWorldPipeNet::update);
     }
 
+    @SubscribeEvent
+    public static void onWorldUnload(WorldEvent.Unload event) {
+        pipesToSleep.remove(event.getWorld());
+        pipesToWake.remove(event.getWorld());
+    }
+
     @SubscribeEvent
     public static void onChunkLoad(ChunkEvent.Load event) {
         World world = event.getWorld();
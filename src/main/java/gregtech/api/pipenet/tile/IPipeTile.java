@@ -66,6 +66,12 @@ public interface IPipeTile<PipeType extends Enum<PipeType> & IPipeType<NodeDataT
 
     IPipeTile<PipeType, NodeDataType> setSupportsTicking();
 
+    /**
+     * Puts a sleeping ticking pipe back on the ticking list of its world.
+     * Should be called whenever the pipe receives new work.
+     */
+    void wakeUp();
+
     boolean canPlaceCoverOnSide(EnumFacing side);
 
     <T> T getCapability(Capability<T> capability, EnumFacing side);
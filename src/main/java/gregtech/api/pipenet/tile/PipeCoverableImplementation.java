@@ -7,6 +7,7 @@ import gregtech.api.cover.CoverIO;
 import gregtech.api.cover.ICoverable;
 import gregtech.api.pipenet.block.BlockPipe;
 import gregtech.api.util.GTUtility;
+import gregtech.api.util.TickProfiler;
 import gregtech.common.ConfigHolder;
 import gregtech.core.advancement.AdvancementTriggers;
 import net.minecraft.block.Block;
@@ -73,6 +74,7 @@ public class PipeCoverableImplementation implements ICoverable {
         }
         holder.notifyBlockUpdate();
         holder.markAsDirty();
+        holder.wakeUp();
         AdvancementTriggers.FIRST_COVER_PLACE.trigger((EntityPlayerMP) player);
         return true;
     }
@@ -145,6 +147,18 @@ public class PipeCoverableImplementation implements ICoverable {
         }
     }
 
+    /**
+     * Lets the covers know that a neighbouring block changed
+     */
+    public void notifyCoversOfNeighborChange() {
+        for (EnumFacing side : EnumFacing.VALUES) {
+            CoverBehavior coverBehavior = getCoverAtSide(side);
+            if (coverBehavior != null) {
+                coverBehavior.onNeighborChanged();
+            }
+        }
+    }
+
     @Override
     public void notifyBlockUpdate() {
         holder.notifyBlockUpdate();
@@ -218,11 +232,27 @@ public class PipeCoverableImplementation implements ICoverable {
         return highestSignal;
     }
 
+    public boolean hasTickableCover() {
+        for (CoverBehavior coverBehavior : coverBehaviors) {
+            if (coverBehavior instanceof ITickable) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public void update() {
         if (!getWorld().isRemote) {
+            boolean isProfiling = TickProfiler.isProfiling(getWorld());
             for (CoverBehavior coverBehavior : coverBehaviors) {
                 if (coverBehavior instanceof ITickable) {
-                    ((ITickable) coverBehavior).update();
+                    if (isProfiling) {
+                        long startTime = System.nanoTime();
+                        ((ITickable) coverBehavior).update();
+                        TickProfiler.record(TickProfiler.Category.COVER, coverBehavior.getClass(), System.nanoTime() - startTime);
+                    } else {
+                        ((ITickable) coverBehavior).update();
+                    }
                 }
             }
         }
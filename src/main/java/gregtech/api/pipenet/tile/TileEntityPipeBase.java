@@ -8,6 +8,7 @@ import gregtech.api.pipenet.PipeNet;
 import gregtech.api.pipenet.WorldPipeNet;
 import gregtech.api.pipenet.block.BlockPipe;
 import gregtech.api.pipenet.block.IPipeType;
+import gregtech.api.pipenet.tickable.TickableWorldPipeNetEventHandler;
 import gregtech.api.unification.material.Material;
 import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
@@ -32,6 +33,11 @@ import static gregtech.api.capability.GregtechDataCodes.*;
 
 public abstract class TileEntityPipeBase<PipeType extends Enum<PipeType> & IPipeType<NodeDataType>, NodeDataType> extends SyncedTileEntityBase implements IPipeTile<PipeType, NodeDataType> {
 
+    /**
+     * Amount of ticks without any work after which a ticking pipe is taken off the ticking list
+     */
+    public static final int SLEEP_DELAY = 100;
+
     protected final PipeCoverableImplementation coverableImplementation = new PipeCoverableImplementation(this);
     protected int paintingColor = -1;
     private int connections = 0;
@@ -41,6 +47,8 @@ public abstract class TileEntityPipeBase<PipeType extends Enum<PipeType> & IPipe
     private PipeType pipeType = getPipeTypeClass().getEnumConstants()[0];
     @Nullable
     private Material frameMaterial;
+    private int idleTicks = 0;
+    private boolean isSleeping = false;
 
     public TileEntityPipeBase() {
     }
@@ -117,6 +125,32 @@ public abstract class TileEntityPipeBase<PipeType extends Enum<PipeType> & IPipe
         return newTile;
     }
 
+    /**
+     * Should be called every tick by ticking pipes.
+     * Puts the pipe to sleep once it had no work and no ticking covers for {@link #SLEEP_DELAY} ticks.
+     *
+     * @param hasWork whether the pipe did or still has work to do
+     */
+    protected void updateSleepState(boolean hasWork) {
+        if (getWorld().isRemote) return;
+        if (hasWork || coverableImplementation.hasTickableCover()) {
+            this.idleTicks = 0;
+        } else if (++this.idleTicks >= SLEEP_DELAY) {
+            this.idleTicks = 0;
+            this.isSleeping = true;
+            TickableWorldPipeNetEventHandler.putToSleep(this);
+        }
+    }
+
+    @Override
+    public void wakeUp() {
+        this.idleTicks = 0;
+        if (this.isSleeping) {
+            this.isSleeping = false;
+            TickableWorldPipeNetEventHandler.wakeUp(this);
+        }
+    }
+
     @Override
     public BlockPipe<PipeType, NodeDataType, ?> getPipeBlock() {
         if (pipeBlock == null) {
@@ -229,7 +263,7 @@ public abstract class TileEntityPipeBase<PipeType extends Enum<PipeType> & IPipe
             WorldPipeNet<?, ?> worldPipeNet = getPipeBlock().getWorldPipeNet(getWorld());
             PipeNet<?> net = worldPipeNet.getNetFromPos(pos);
             if (net != null) {
-                net.onPipeConnectionsUpdate();
+                net.onPipeConnectionsUpdate(pos);
             }
         }
     }
@@ -451,6 +485,13 @@ public abstract class TileEntityPipeBase<PipeType extends Enum<PipeType> & IPipe
     @Override
     public void markAsDirty() {
         markDirty();
+        // pipes are only marked dirty by their covers, whenever a cover is attached, removed or reconfigured
+        if (world != null && !world.isRemote && world.isBlockLoaded(pos) && getPipeBlock() != null) {
+            PipeNet<?> net = getPipeBlock().getWorldPipeNet(getWorld()).getNetFromPos(pos);
+            if (net != null) {
+                net.onPipeCoversUpdate(pos);
+            }
+        }
     }
 
     @Override
@@ -0,0 +1,283 @@
+package gregtech.api.recipes;
+
+import gregtech.api.util.GTLog;
+import gregtech.common.crafting.FluidReplaceRecipe;
+import gregtech.common.crafting.GTShapedOreRecipe;
+import gregtech.common.crafting.GTShapelessOreRecipe;
+import gregtech.common.crafting.ShapedOreEnergyTransferRecipe;
+import it.unimi.dsi.fastutil.Hash;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.objects.Object2ObjectLinkedOpenCustomHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import net.minecraft.inventory.InventoryCrafting;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.crafting.CraftingManager;
+import net.minecraft.item.crafting.IRecipe;
+import net.minecraft.item.crafting.Ingredient;
+import net.minecraft.item.crafting.ShapedRecipes;
+import net.minecraft.item.crafting.ShapelessRecipes;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.world.World;
+import net.minecraftforge.common.crafting.IngredientNBT;
+import net.minecraftforge.fml.common.registry.ForgeRegistries;
+import net.minecraftforge.fml.relauncher.ReflectionHelper;
+import net.minecraftforge.oredict.OreDictionary;
+import net.minecraftforge.oredict.OreIngredient;
+import net.minecraftforge.oredict.ShapedOreRecipe;
+import net.minecraftforge.oredict.ShapelessOreRecipe;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Finds the first crafting table recipe in {@link CraftingManager#REGISTRY} matching a crafting grid.
+ * <p>
+ * Recipes are bucketed by the items, or the ore dictionary entry, accepted by their first ingredient, so only the
+ * recipes in the buckets of the items in the grid have to be checked. Recipes which may match differently than
+ * their ingredients suggest are checked for every grid. Results for grids in the dummy world are cached, bounded
+ * by {@link #MAX_CACHED_GRIDS}.
+ * <p>
+ * The buckets and results are rebuilt once the amount of registered recipes changes, or a cached or candidate recipe
+ * turns out to be replaced under its name. Ore dictionary entries
+ * change which recipes a grid matches without changing the buckets, so registering one must be followed by
+ * {@link #clearResults()}.
+ */
+final class CraftingRecipeMatcher {
+
+    private static final int MAX_CACHED_GRIDS = 1024;
+
+    // recipe classes known to match exactly by their ingredients
+    private static final Set<Class<?>> BUCKETED_RECIPE_CLASSES = new ObjectOpenHashSet<>(new Class<?>[]{
+            ShapedRecipes.class, ShapelessRecipes.class, ShapedOreRecipe.class, ShapelessOreRecipe.class,
+            GTShapedOreRecipe.class, GTShapelessOreRecipe.class, ShapedOreEnergyTransferRecipe.class, FluidReplaceRecipe.class
+    });
+
+    @Nullable
+    private static final Field ORE_INGREDIENT_ORES = findOresField();
+
+    private final List<IRecipe> recipes = new ObjectArrayList<>();
+    private final Map<Object, IntList> buckets = new Object2ObjectOpenHashMap<>();
+    private final IntList unbucketed = new IntArrayList();
+    private final IntArrayList candidates = new IntArrayList();
+    // the amount of registered recipes when the buckets were built, or -1 if they must be rebuilt
+    private int indexedSize = -1;
+
+    private final Object2ObjectLinkedOpenCustomHashMap<ItemStack[], IRecipe> results = new Object2ObjectLinkedOpenCustomHashMap<>(GridStrategy.INSTANCE);
+
+    /**
+     * @param grid        the crafting grid to match
+     * @param world       the world to match the recipes in
+     * @param cacheResult whether the result may be cached, which requires the recipes to match the same grid
+     *                    the same way every time
+     * @return the first recipe matching the grid, or {@code null} if there is none
+     */
+    @Nullable
+    synchronized IRecipe findRecipe(@Nonnull InventoryCrafting grid, @Nonnull World world, boolean cacheResult) {
+        int registeredRecipes = ForgeRegistries.RECIPES.getKeys().size();
+        if (registeredRecipes != indexedSize) {
+            rebuild();
+            this.indexedSize = registeredRecipes;
+        }
+
+        ItemStack[] key = null;
+        if (cacheResult) {
+            key = new ItemStack[grid.getSizeInventory()];
+            for (int i = 0; i < key.length; i++) {
+                key[i] = grid.getStackInSlot(i).copy();
+            }
+            if (results.containsKey(key)) {
+                IRecipe recipe = results.getAndMoveToLast(key);
+                // the recipe may have been replaced under its name since
+                if (recipe == null || isRegistered(recipe)) {
+                    return recipe;
+                }
+            }
+        }
+
+        IRecipe recipe = match(grid, world, false);
+        if (key != null) {
+            results.put(key, recipe);
+            if (results.size() > MAX_CACHED_GRIDS) {
+                results.removeFirst();
+            }
+        }
+        return recipe;
+    }
+
+    /**
+     * Makes the next search rebuild the buckets and forget all cached results
+     */
+    synchronized void invalidate() {
+        this.indexedSize = -1;
+    }
+
+    /**
+     * Makes the next searches match every grid again, keeping the buckets
+     */
+    synchronized void clearResults() {
+        if (!results.isEmpty()) {
+            results.clear();
+        }
+    }
+
+    /**
+     * @param rebuilt whether the buckets were rebuilt for this grid already
+     */
+    @Nullable
+    private IRecipe match(@Nonnull InventoryCrafting grid, @Nonnull World world, boolean rebuilt) {
+        candidates.clear();
+        candidates.addAll(unbucketed);
+        for (int i = 0; i < grid.getSizeInventory(); i++) {
+            ItemStack stack = grid.getStackInSlot(i);
+            if (stack.isEmpty()) continue;
+            addCandidates(stack.getItem());
+            for (int oreId : OreDictionary.getOreIDs(stack)) {
+                addCandidates(oreId);
+            }
+        }
+
+        // check the candidates in registry order, as the first matching recipe is used
+        int[] indices = candidates.elements();
+        int size = candidates.size();
+        IntArrays.quickSort(indices, 0, size);
+        int previous = -1;
+        for (int i = 0; i < size; i++) {
+            int index = indices[i];
+            if (index == previous) continue;
+            previous = index;
+            IRecipe recipe = recipes.get(index);
+            if (!isRegistered(recipe)) {
+                // the recipe was replaced under its name since the buckets were built, which the rebuilt ones reflect
+                if (rebuilt) continue;
+                rebuild();
+                return match(grid, world, true);
+            }
+            if (recipe.matches(grid, world)) {
+                return recipe;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isRegistered(@Nonnull IRecipe recipe) {
+        return recipe.getRegistryName() == null || ForgeRegistries.RECIPES.getValue(recipe.getRegistryName()) == recipe;
+    }
+
+    private void addCandidates(@Nonnull Object bucketKey) {
+        IntList bucket = buckets.get(bucketKey);
+        if (bucket != null) {
+            candidates.addAll(bucket);
+        }
+    }
+
+    private void rebuild() {
+        recipes.clear();
+        buckets.clear();
+        unbucketed.clear();
+        results.clear();
+
+        // the ore dictionary shares one list of ores per entry with every ore ingredient of it
+        Reference2IntOpenHashMap<List<ItemStack>> oreIds = new Reference2IntOpenHashMap<>();
+        oreIds.defaultReturnValue(-1);
+        for (String oreName : OreDictionary.getOreNames()) {
+            oreIds.put(OreDictionary.getOres(oreName, false), OreDictionary.getOreID(oreName));
+        }
+
+        for (IRecipe recipe : CraftingManager.REGISTRY) {
+            int index = recipes.size();
+            recipes.add(recipe);
+            if (!addToBuckets(index, recipe, oreIds)) {
+                unbucketed.add(index);
+            }
+        }
+    }
+
+    /**
+     * @return whether the recipe was added to the buckets of its first ingredient
+     */
+    private boolean addToBuckets(int index, @Nonnull IRecipe recipe, @Nonnull Reference2IntOpenHashMap<List<ItemStack>> oreIds) {
+        if (!BUCKETED_RECIPE_CLASSES.contains(recipe.getClass())) return false;
+        for (Ingredient ingredient : recipe.getIngredients()) {
+            if (ingredient == Ingredient.EMPTY) continue;
+
+            Class<?> ingredientClass = ingredient.getClass();
+            if (ingredientClass == Ingredient.class || ingredientClass == IngredientNBT.class) {
+                // these only accept the items of their matching stacks
+                ItemStack[] stacks = ingredient.getMatchingStacks();
+                if (stacks.length == 0) return false;
+                for (ItemStack stack : stacks) {
+                    buckets.computeIfAbsent(stack.getItem(), k -> new IntArrayList()).add(index);
+                }
+                return true;
+            }
+            if (ingredientClass == OreIngredient.class && ORE_INGREDIENT_ORES != null) {
+                int oreId;
+                try {
+                    oreId = oreIds.getInt(ORE_INGREDIENT_ORES.get(ingredient));
+                } catch (IllegalAccessException e) {
+                    return false;
+                }
+                if (oreId < 0) return false;
+                buckets.computeIfAbsent(oreId, k -> new IntArrayList()).add(index);
+                return true;
+            }
+            return false;
+        }
+        return false;
+    }
+
+    @Nullable
+    private static Field findOresField() {
+        try {
+            return ReflectionHelper.findField(OreIngredient.class, "ores");
+        } catch (ReflectionHelper.UnableToFindFieldException e) {
+            GTLog.logger.error("Failed to find the ores of ore ingredients, recipes using them will not be bucketed", e);
+            return null;
+        }
+    }
+
+    /**
+     * Compares crafting grids by the items, metadata, counts and tags of all of their slots
+     */
+    private static final class GridStrategy implements Hash.Strategy<ItemStack[]> {
+
+        private static final GridStrategy INSTANCE = new GridStrategy();
+
+        @Override
+        public int hashCode(ItemStack[] grid) {
+            if (grid == null) return 0;
+            int hash = 1;
+            for (ItemStack stack : grid) {
+                int stackHash = 0;
+                if (!stack.isEmpty()) {
+                    stackHash = System.identityHashCode(stack.getItem());
+                    stackHash = stackHash * 31 + stack.getMetadata();
+                    stackHash = stackHash * 31 + stack.getCount();
+                    NBTTagCompound tag = stack.getTagCompound();
+                    stackHash = stackHash * 31 + (tag == null ? 0 : tag.hashCode());
+                }
+                hash = hash * 31 + stackHash;
+            }
+            return hash;
+        }
+
+        @Override
+        public boolean equals(ItemStack[] a, ItemStack[] b) {
+            if (a == b) return true;
+            if (a == null || b == null || a.length != b.length) return false;
+            for (int i = 0; i < a.length; i++) {
+                if (!ItemStack.areItemStacksEqual(a[i], b[i])) return false;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package gregtech.api.recipes;
+
+import gregtech.api.util.ItemStackHashStrategy;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenCustomHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.crafting.IRecipe;
+import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.registries.IForgeRegistry;
+
+import javax.annotation.Nonnull;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index of the crafting table recipes of a registry by the item and metadata of their output.
+ * <p>
+ * The index is built on first use. Recipes registered through {@link ModHandler} are added to it directly, and it is
+ * rebuilt when the registry has grown otherwise. Recipes replaced under the same name otherwise, e.g. by removals,
+ * are not noticed, so users must check that an indexed recipe is still registered. If it is not, they must remove it
+ * from its list and {@link #reindex} its name.
+ */
+final class CraftingRecipeOutputIndex {
+
+    private static final ItemStackHashStrategy HASH_STRATEGY = ItemStackHashStrategy.builder()
+            .compareItem(true)
+            .compareDamage(true)
+            .build();
+
+    private final Map<ItemStack, List<IRecipe>> recipes = new Object2ObjectOpenCustomHashMap<>(HASH_STRATEGY);
+    // the size of the registry when it was last indexed, or -1 if it was not indexed yet
+    private int indexedSize = -1;
+
+    /**
+     * @param registry the registry to look up the recipes in
+     * @param output   the output to look up
+     * @return the recipes with the item and metadata of the output, which may no longer be registered
+     */
+    @Nonnull
+    List<IRecipe> getRecipes(@Nonnull IForgeRegistry<IRecipe> registry, @Nonnull ItemStack output) {
+        if (registry.getKeys().size() != indexedSize) {
+            recipes.clear();
+            for (IRecipe recipe : registry) {
+                add(recipe);
+            }
+            this.indexedSize = registry.getKeys().size();
+        }
+        List<IRecipe> list = recipes.get(output);
+        return list == null ? Collections.emptyList() : list;
+    }
+
+    /**
+     * Adds a recipe which was just registered, without rebuilding the index
+     *
+     * @param registry the registry the recipe was registered to
+     * @param recipe   the registered recipe
+     */
+    void onRegistered(@Nonnull IForgeRegistry<IRecipe> registry, @Nonnull IRecipe recipe) {
+        if (indexedSize < 0) return;
+        // anything other than exactly one new or replaced recipe makes the next lookup rebuild the index
+        int size = registry.getKeys().size();
+        if (size == indexedSize + 1) {
+            add(recipe);
+            this.indexedSize++;
+        } else if (size == indexedSize) {
+            // the replaced recipe is dropped once a lookup finds it is no longer registered
+            add(recipe);
+        }
+    }
+
+    /**
+     * Indexes the recipe registered under the name of a recipe which was found to be replaced.
+     * It is appended to the list of its output, unless it is indexed already.
+     *
+     * @param registry the registry to look up the recipe in
+     * @param name     the name of the replaced recipe
+     */
+    void reindex(@Nonnull IForgeRegistry<IRecipe> registry, @Nonnull ResourceLocation name) {
+        IRecipe registered = registry.getValue(name);
+        if (registered != null) {
+            add(registered);
+        }
+    }
+
+    private void add(@Nonnull IRecipe recipe) {
+        ItemStack output = recipe.getRecipeOutput();
+        if (output.isEmpty()) return;
+        List<IRecipe> list = recipes.get(output);
+        if (list == null) {
+            list = new ObjectArrayList<>(1);
+            recipes.put(output.copy(), list);
+        } else if (list.contains(recipe)) {
+            return;
+        }
+        list.add(recipe);
+    }
+}
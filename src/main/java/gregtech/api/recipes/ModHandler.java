@@ -29,23 +29,26 @@ import it.unimi.dsi.fastutil.chars.Char2IntFunction;
 import it.unimi.dsi.fastutil.chars.Char2IntOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Object2LongMap;
 import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectLinkedOpenHashSet;
 import net.minecraft.block.Block;
 import net.minecraft.inventory.InventoryCrafting;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
-import net.minecraft.item.crafting.CraftingManager;
 import net.minecraft.item.crafting.FurnaceRecipes;
 import net.minecraft.item.crafting.IRecipe;
 import net.minecraft.item.crafting.Ingredient;
 import net.minecraft.tileentity.TileEntityFurnace;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.world.World;
+import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.fluids.Fluid;
 import net.minecraftforge.fluids.FluidRegistry;
 import net.minecraftforge.fluids.FluidStack;
 import net.minecraftforge.fml.common.Loader;
 import net.minecraftforge.fml.common.ModContainer;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.registry.ForgeRegistries;
+import net.minecraftforge.oredict.OreDictionary;
 import net.minecraftforge.oredict.ShapelessOreRecipe;
 import net.minecraftforge.registries.IForgeRegistry;
 import org.apache.commons.lang3.tuple.ImmutablePair;
@@ -67,6 +70,9 @@ public final class ModHandler {
     private static FluidStack LAVA;
     private static FluidStack STEAM;
 
+    private static final CraftingRecipeOutputIndex OUTPUT_INDEX = new CraftingRecipeOutputIndex();
+    private static final CraftingRecipeMatcher CRAFTING_MATCHER = new CraftingRecipeMatcher();
+
     private ModHandler() {/**/}
 
     public static void init() {
@@ -74,6 +80,13 @@ public final class ModHandler {
         DISTILLED_WATER = Materials.DistilledWater.getFluid(1);
         LAVA = new FluidStack(FluidRegistry.LAVA, 0);
         STEAM = Materials.Steam.getFluid(1);
+        MinecraftForge.EVENT_BUS.register(ModHandler.class);
+    }
+
+    @SubscribeEvent
+    public static void onOreRegistration(OreDictionary.OreRegisterEvent event) {
+        // a new entry may make cached grids match different recipes
+        CRAFTING_MATCHER.clearResults();
     }
 
     public static void postInit() {
@@ -386,6 +399,7 @@ public final class ModHandler {
 
     private static void registerRecipe(@Nonnull IRecipe recipe) {
         ForgeRegistries.RECIPES.register(recipe);
+        OUTPUT_INDEX.onRegistered(ForgeRegistries.RECIPES, recipe);
     }
 
     /**
@@ -692,15 +706,52 @@ public final class ModHandler {
      */
     @SuppressWarnings("UnusedReturnValue")
     public static int removeRecipeByOutput(@Nonnull ItemStack output) {
-        int recipesRemoved = removeRecipeByOutput(recipe -> ItemStack.areItemStacksEqual(recipe.getRecipeOutput(), output));
+        return removeRecipesByOutput(output)[0];
+    }
 
-        if (ConfigHolder.misc.debug) {
-            if (recipesRemoved != 0) {
-                GTLog.logger.info("Removed {} Recipe(s) with Output: {}", recipesRemoved, output.getDisplayName());
-            } else {
-                GTLog.logger.error("Failed to Remove Recipe with Output: {}", output.getDisplayName());
+    /**
+     * Remove all recipes matching any of the outputs. The recipes are looked up by the item and metadata of
+     * their output, instead of checking every recipe in the registry.
+     *
+     * @param outputs the outputs to match
+     * @return the amount of recipes removed for each output, in the order of the outputs
+     */
+    @Nonnull
+    public static int[] removeRecipesByOutput(@Nonnull ItemStack... outputs) {
+        final IForgeRegistry<IRecipe> registry = ForgeRegistries.RECIPES;
+        int[] recipesRemoved = new int[outputs.length];
+        Set<IRecipe> toRemove = new ObjectLinkedOpenHashSet<>();
+
+        for (int i = 0; i < outputs.length; i++) {
+            ItemStack output = outputs[i];
+            List<IRecipe> candidates = OUTPUT_INDEX.getRecipes(registry, output);
+            for (int j = 0; j < candidates.size(); j++) {
+                IRecipe recipe = candidates.get(j);
+                ResourceLocation name = recipe.getRegistryName();
+                if (name == null || registry.getValue(name) != recipe) {
+                    // the recipe was replaced since it was indexed, so index its replacement instead,
+                    // which is appended to the candidates if it has the same output
+                    candidates.remove(j--);
+                    if (name != null) OUTPUT_INDEX.reindex(registry, name);
+                    continue;
+                }
+                if (ItemStack.areItemStacksEqual(recipe.getRecipeOutput(), output)) {
+                    toRemove.add(recipe);
+                    recipesRemoved[i]++;
+                }
+            }
+
+            if (ConfigHolder.misc.debug) {
+                if (recipesRemoved[i] != 0) {
+                    GTLog.logger.info("Removed {} Recipe(s) with Output: {}", recipesRemoved[i], output.getDisplayName());
+                } else {
+                    GTLog.logger.error("Failed to Remove Recipe with Output: {}", output.getDisplayName());
+                }
             }
         }
+
+        toRemove.forEach(recipe -> registry.register(new DummyRecipe().setRegistryName(recipe.getRegistryName())));
+        if (!toRemove.isEmpty()) CRAFTING_MATCHER.invalidate();
         return recipesRemoved;
     }
 
@@ -711,16 +762,32 @@ public final class ModHandler {
      * @return the amount of recipes removed
      */
     public static int removeRecipeByOutput(Predicate<IRecipe> predicate) {
-        int recipesRemoved = 0;
+        return removeRecipesByOutput(Collections.singletonList(predicate))[0];
+    }
 
+    /**
+     * Remove all recipes matching any of the predicates, in a single pass over the registry
+     *
+     * @param predicates the matchers
+     * @return the amount of recipes removed for each predicate, in the order of the predicates
+     */
+    @Nonnull
+    public static int[] removeRecipesByOutput(@Nonnull List<Predicate<IRecipe>> predicates) {
         final IForgeRegistry<IRecipe> registry = ForgeRegistries.RECIPES;
+        int[] recipesRemoved = new int[predicates.size()];
 
         Collection<IRecipe> toRemove = new ArrayList<>();
 
         for (IRecipe recipe : registry) {
-            if (predicate.test(recipe)) {
+            boolean matched = false;
+            for (int i = 0; i < recipesRemoved.length; i++) {
+                if (predicates.get(i).test(recipe)) {
+                    recipesRemoved[i]++;
+                    matched = true;
+                }
+            }
+            if (matched) {
                 toRemove.add(recipe);
-                recipesRemoved++;
             }
         }
 
@@ -729,6 +796,7 @@ public final class ModHandler {
                 registry.register(new DummyRecipe().setRegistryName(recipe.getRegistryName()));
             }
         });
+        if (!toRemove.isEmpty()) CRAFTING_MATCHER.invalidate();
 
         return recipesRemoved;
     }
@@ -748,6 +816,7 @@ public final class ModHandler {
             }
         }
         ForgeRegistries.RECIPES.register(new DummyRecipe().setRegistryName(location));
+        CRAFTING_MATCHER.invalidate();
     }
 
     /**
@@ -798,6 +867,8 @@ public final class ModHandler {
     @Nonnull
     public static Pair<IRecipe, ItemStack> getRecipeOutput(@Nullable World world, @Nullable ItemStack... recipe) {
         if (recipe == null || recipe.length == 0) return ImmutablePair.of(null, ItemStack.EMPTY);
+        // recipes may depend on the state of a real world, so only lookups without one are cached
+        boolean cacheResult = world == null;
         if (world == null) world = DummyWorld.INSTANCE;
 
         InventoryCrafting craftingGrid = new InventoryCrafting(new DummyContainer(), 3, 3);
@@ -809,14 +880,9 @@ public final class ModHandler {
             }
         }
 
-        for (IRecipe tmpRecipe : CraftingManager.REGISTRY) {
-            if (tmpRecipe.matches(craftingGrid, world)) {
-                ItemStack itemStack = tmpRecipe.getCraftingResult(craftingGrid);
-                return ImmutablePair.of(tmpRecipe, itemStack);
-            }
-        }
-
-        return ImmutablePair.of(null, ItemStack.EMPTY);
+        IRecipe matchingRecipe = CRAFTING_MATCHER.findRecipe(craftingGrid, world, cacheResult);
+        if (matchingRecipe == null) return ImmutablePair.of(null, ItemStack.EMPTY);
+        return ImmutablePair.of(matchingRecipe, matchingRecipe.getCraftingResult(craftingGrid));
     }
 
     /**
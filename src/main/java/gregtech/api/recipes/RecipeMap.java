@@ -31,6 +31,7 @@ import gregtech.integration.groovy.GroovyScriptCompat;
 import gregtech.integration.groovy.VirtualizedRecipeMap;
 import it.unimi.dsi.fastutil.objects.Object2ReferenceOpenHashMap;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectLinkedOpenHashSet;
 import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
@@ -47,6 +48,7 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.lang.ref.WeakReference;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.function.DoubleSupplier;
 import java.util.function.Predicate;
@@ -71,6 +73,13 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
 
     private static boolean foundInvalidRecipe = false;
 
+    // while staging, recipes are collected per map and compiled all at once by finishStaging()
+    private static boolean staging = false;
+    private static final Set<RecipeMap<?>> stagedRecipeMaps = new ObjectLinkedOpenHashSet<>();
+    // strong ingredient cache used instead of the weak ingredientRoot while compiling staged recipes
+    @Nullable
+    private static Map<AbstractMapIngredient, AbstractMapIngredient> stagingIngredients;
+
     public IChanceFunction chanceFunction = DEFAULT_CHANCE_FUNCTION;
 
     public final String unlocalizedName;
@@ -92,6 +101,9 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
     private final Branch lookup = new Branch();
     private boolean hasOreDictedInputs = false;
     private boolean hasNBTMatcherInputs = false;
+    private int modificationCount = 0;
+    private final List<Recipe> stagedRecipes = new ArrayList<>();
+    private static final ThreadLocal<RecipeSearchBuffer> SEARCH_BUFFER = ThreadLocal.withInitial(RecipeSearchBuffer::new);
     private static final WeakHashMap<AbstractMapIngredient, WeakReference<AbstractMapIngredient>> ingredientRoot = new WeakHashMap<>();
     private final WeakHashMap<AbstractMapIngredient, WeakReference<AbstractMapIngredient>> fluidIngredientRoot = new WeakHashMap<>();
 
@@ -206,6 +218,40 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
         return foundInvalidRecipe;
     }
 
+    /**
+     * Starts collecting recipes added to any map, instead of compiling each into the ingredient tree right away.
+     * Recipes of a map are compiled as soon as the map is searched or has recipes removed, so staging is invisible
+     * to users of the map.
+     */
+    public static void beginStaging() {
+        staging = true;
+    }
+
+    /**
+     * Stops collecting recipes, and compiles the recipes collected for every map into its ingredient tree.
+     * Maps are compiled in parallel, as their trees are independent of each other.
+     */
+    public static void finishStaging() {
+        staging = false;
+        List<RecipeMap<?>> recipeMaps = new ArrayList<>(stagedRecipeMaps);
+        stagedRecipeMaps.clear();
+        stagingIngredients = new ConcurrentHashMap<>();
+        try {
+            recipeMaps.parallelStream().forEach(RecipeMap::compileStagedRecipes);
+        } finally {
+            // hand the ingredients over to the weak cache, so recipes added later share them with the compiled trees
+            synchronized (ingredientRoot) {
+                for (AbstractMapIngredient ingredient : stagingIngredients.keySet()) {
+                    WeakReference<AbstractMapIngredient> reference = ingredientRoot.get(ingredient);
+                    if (reference == null || reference.get() == null) {
+                        ingredientRoot.put(ingredient, new WeakReference<>(ingredient));
+                    }
+                }
+            }
+            stagingIngredients = null;
+        }
+    }
+
     public static void setFoundInvalidRecipe(boolean foundInvalidRecipe) {
         RecipeMap.foundInvalidRecipe |= foundInvalidRecipe;
         OrePrefix currentOrePrefix = OrePrefix.getCurrentProcessingPrefix();
@@ -285,8 +331,42 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
         if (recipe == null) {
             return;
         }
+        if (staging) {
+            stagedRecipes.add(recipe);
+            stagedRecipeMaps.add(this);
+            return;
+        }
+        addToLookup(recipe);
+    }
+
+    /**
+     * Compiles many recipes into the ingredient tree at once, in the order they are given.
+     * The tree is shrunk to fit its contents afterwards, so it takes up less memory than when compiling
+     * the recipes one by one.
+     *
+     * @param recipes the recipes to compile
+     */
+    public void compileRecipes(@Nonnull Collection<Recipe> recipes) {
+        for (Recipe recipe : recipes) {
+            addToLookup(recipe);
+        }
+        lookup.trim();
+    }
+
+    /**
+     * Compiles the recipes collected while staging, in the order they were added
+     */
+    private void compileStagedRecipes() {
+        if (stagedRecipes.isEmpty()) return;
+        compileRecipes(stagedRecipes);
+        stagedRecipes.clear();
+    }
+
+    private void addToLookup(@Nonnull Recipe recipe) {
         List<List<AbstractMapIngredient>> items = fromRecipe(recipe);
-        recurseIngredientTreeAdd(recipe, items, lookup, 0, 0);
+        if (recurseIngredientTreeAdd(recipe, items, lookup, 0, 0)) {
+            this.modificationCount++;
+        }
     }
 
     /**
@@ -294,8 +374,10 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
      * @return if removal was successful
      */
     public boolean removeRecipe(@Nonnull Recipe recipe) {
+        compileStagedRecipes();
         List<List<AbstractMapIngredient>> items = fromRecipe(recipe);
         if (recurseIngredientTreeRemove(recipe, items, lookup, 0) != null) {
+            this.modificationCount++;
             if (GroovyScriptCompat.isCurrentlyRunning()) {
                 this.virtualizedRecipeMap.addBackup(recipe);
             }
@@ -304,6 +386,16 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
         return false;
     }
 
+    /**
+     * Incremented whenever a recipe is added to or removed from the ingredient tree.
+     * Used to invalidate cached recipe search results.
+     *
+     * @return the current modification count of this map
+     */
+    public int getModificationCount() {
+        return this.modificationCount;
+    }
+
     /**
      * Performs additional validation of recipes before adding to the ingredient tree.
      *
@@ -422,20 +514,53 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
      */
     @Nullable
     public Recipe findRecipe(long voltage, final List<ItemStack> inputs, final List<FluidStack> fluidInputs, boolean exactVoltage) {
-        final List<ItemStack> items = inputs.stream().filter(s -> !s.isEmpty()).collect(Collectors.toList());
-        final List<FluidStack> fluids = fluidInputs.stream().filter(f -> f != null && f.amount != 0).collect(Collectors.toList());
+        compileStagedRecipes();
+        RecipeSearchBuffer buffer = SEARCH_BUFFER.get();
+        if (!buffer.acquire()) {
+            // a search is already running on this thread, so use a temporary buffer instead
+            buffer = new RecipeSearchBuffer();
+            buffer.acquire();
+        }
 
-        return find(items, fluids, recipe -> {
-            if (exactVoltage && recipe.getEUt() != voltage) {
-                // if exact voltage is required, the recipe is not considered valid
-                return false;
-            }
-            if (recipe.getEUt() > voltage) {
-                // there is not enough voltage to consider the recipe valid
-                return false;
+        try {
+            List<List<AbstractMapIngredient>> list = prepareRecipeFind(buffer, inputs, fluidInputs);
+            // couldn't build any inputs to use for search, so no recipe could be found
+            if (list == null) return null;
+
+            buffer.setupMatch(voltage, exactVoltage, inputs, fluidInputs);
+            return recurseIngredientTreeFindRecipe(list, lookup, buffer);
+        } finally {
+            buffer.release();
+        }
+    }
+
+    /**
+     * Prepares Items and Fluids for use in recipe search, using pooled ingredients from the buffer.
+     * Empty ItemStacks and FluidStacks are ignored.
+     *
+     * @param buffer the buffer to fill
+     * @param items  the items to prepare
+     * @param fluids the fluids to prepare
+     * @return a List of Lists of AbstractMapIngredients used for finding recipes, owned by the buffer
+     */
+    @Nullable
+    protected List<List<AbstractMapIngredient>> prepareRecipeFind(@Nonnull RecipeSearchBuffer buffer,
+                                                                  @Nonnull List<ItemStack> items, @Nonnull List<FluidStack> fluids) {
+        int uniqueCount = buffer.collectUniqueItems(items);
+        for (int i = 0; i < uniqueCount; i++) {
+            buildFromItemStack(buffer, buffer.getUniqueItem(i));
+        }
+        for (int i = 0; i < fluids.size(); i++) {
+            FluidStack fluidStack = fluids.get(i);
+            if (fluidStack != null && fluidStack.amount != 0) {
+                buffer.nextSlot().add(buffer.fluid(fluidStack));
             }
-            return recipe.matches(false, inputs, fluidInputs);
-        });
+        }
+
+        List<List<AbstractMapIngredient>> list = buffer.getIngredients();
+        // nothing was added, so return nothing
+        if (list.isEmpty()) return null;
+        return list;
     }
 
     /**
@@ -474,6 +599,7 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
      */
     @Nullable
     public Recipe find(@Nonnull Collection<ItemStack> items, @Nonnull Collection<FluidStack> fluids, @Nonnull Predicate<Recipe> canHandle) {
+        compileStagedRecipes();
         List<List<AbstractMapIngredient>> list = prepareRecipeFind(items, fluids);
         // couldn't build any inputs to use for search, so no recipe could be found
         if (list == null) return null;
@@ -586,7 +712,10 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
         if (count == ingredients.size()) return null;
 
         // Iterate over current level of nodes.
-        for (AbstractMapIngredient obj : ingredients.get(index)) {
+        // Indexed access and direct Either access keep this search path free of allocations
+        List<AbstractMapIngredient> wrapper = ingredients.get(index);
+        for (int i = 0; i < wrapper.size(); i++) {
+            AbstractMapIngredient obj = wrapper.get(i);
             // determine the root nodes
             Map<AbstractMapIngredient, Either<Recipe, Branch>> targetMap = determineRootNodes(obj, branchMap);
 
@@ -594,8 +723,13 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
             if (result != null) {
                 // if there is a recipe (left mapping), return it immediately as found, if it can be handled
                 // Otherwise, recurse and go to the next branch.
-                Recipe r = result.map(potentialRecipe -> canHandle.test(potentialRecipe) ? potentialRecipe : null,
-                        potentialBranch -> diveIngredientTreeFindRecipe(ingredients, potentialBranch, canHandle, index, count, skip));
+                Recipe r;
+                Recipe potentialRecipe = result.leftOrNull();
+                if (potentialRecipe != null) {
+                    r = canHandle.test(potentialRecipe) ? potentialRecipe : null;
+                } else {
+                    r = diveIngredientTreeFindRecipe(ingredients, result.rightOrNull(), canHandle, index, count, skip);
+                }
                 if (r != null) {
                     return r;
                 }
@@ -647,6 +781,7 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
      */
     @Nullable
     public Set<Recipe> findRecipeCollisions(Collection<ItemStack> items, Collection<FluidStack> fluids) {
+        compileStagedRecipes();
         List<List<AbstractMapIngredient>> list = prepareRecipeFind(items, fluids);
         if (list == null) return null;
         Set<Recipe> collidingRecipes = new ObjectOpenHashSet<>();
@@ -890,28 +1025,7 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
                         // handle the existing branch
                         if (!v.left().isPresent() || v.left().get() != recipe) {
                             // the recipe already there was not the one being added, so there is a conflict
-                            if (recipe.getIsCTRecipe()) {
-                                CraftTweakerAPI.logError(String.format("Recipe duplicate or conflict found in RecipeMap %s and was not added. See next lines for details.", this.unlocalizedName));
-
-                                CraftTweakerAPI.logError(String.format("Attempted to add Recipe: %s", CTRecipeHelper.getRecipeAddLine(this, recipe)));
-
-                                if (v.left().isPresent()) {
-                                    CraftTweakerAPI.logError(String.format("Which conflicts with: %s", CTRecipeHelper.getRecipeAddLine(this, v.left().get())));
-                                } else {
-                                    CraftTweakerAPI.logError("Could not identify exact duplicate/conflict.");
-                                }
-                            }
-                            if (ConfigHolder.misc.debug || GTValues.isDeobfEnvironment()) {
-                                GTLog.logger.warn("Recipe duplicate or conflict found in RecipeMap {} and was not added. See next lines for details", this.unlocalizedName);
-
-                                GTLog.logger.warn("Attempted to add Recipe: {}", recipe.toString());
-
-                                if (v.left().isPresent()) {
-                                    GTLog.logger.warn("Which conflicts with: {}", v.left().get().toString());
-                                } else {
-                                    GTLog.logger.warn("Could not find exact duplicate/conflict.");
-                                }
-                            }
+                            reportConflict(recipe, v);
                         }
                         // Return the existing recipe, even on conflicts.
                         // If there was no conflict but a recipe was still present, it was added on an earlier recurse,
@@ -962,6 +1076,40 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
         return true;
     }
 
+    /**
+     * Logs a recipe which could not be added, because another recipe already uses the same inputs.
+     * Synchronized so the lines of reports of maps compiled in parallel are not interleaved.
+     *
+     * @param recipe   the recipe which was not added
+     * @param existing the node already present for the last ingredient of the recipe
+     */
+    private void reportConflict(@Nonnull Recipe recipe, @Nonnull Either<Recipe, Branch> existing) {
+        synchronized (RecipeMap.class) {
+            if (recipe.getIsCTRecipe()) {
+                CraftTweakerAPI.logError(String.format("Recipe duplicate or conflict found in RecipeMap %s and was not added. See next lines for details.", this.unlocalizedName));
+
+                CraftTweakerAPI.logError(String.format("Attempted to add Recipe: %s", CTRecipeHelper.getRecipeAddLine(this, recipe)));
+
+                if (existing.left().isPresent()) {
+                    CraftTweakerAPI.logError(String.format("Which conflicts with: %s", CTRecipeHelper.getRecipeAddLine(this, existing.left().get())));
+                } else {
+                    CraftTweakerAPI.logError("Could not identify exact duplicate/conflict.");
+                }
+            }
+            if (ConfigHolder.misc.debug || GTValues.isDeobfEnvironment()) {
+                GTLog.logger.warn("Recipe duplicate or conflict found in RecipeMap {} and was not added. See next lines for details", this.unlocalizedName);
+
+                GTLog.logger.warn("Attempted to add Recipe: {}", recipe.toString());
+
+                if (existing.left().isPresent()) {
+                    GTLog.logger.warn("Which conflicts with: {}", existing.left().get().toString());
+                } else {
+                    GTLog.logger.warn("Could not find exact duplicate/conflict.");
+                }
+            }
+        }
+    }
+
     /**
      * Determine the correct root nodes for an ingredient
      *
@@ -1007,6 +1155,31 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
         }
     }
 
+    /**
+     * Retrieves the cached instance of an item ingredient, caching the ingredient if there is none.
+     * The caches are shared by all maps, which may be compiled in parallel.
+     *
+     * @param ingredient the ingredient to look up
+     * @return the cached ingredient equal to the given one
+     */
+    @Nonnull
+    private static AbstractMapIngredient internIngredient(@Nonnull AbstractMapIngredient ingredient) {
+        Map<AbstractMapIngredient, AbstractMapIngredient> cache = stagingIngredients;
+        if (cache != null) {
+            AbstractMapIngredient cached = cache.putIfAbsent(ingredient, ingredient);
+            return cached == null ? ingredient : cached;
+        }
+        synchronized (ingredientRoot) {
+            WeakReference<AbstractMapIngredient> reference = ingredientRoot.get(ingredient);
+            AbstractMapIngredient cached = reference == null ? null : reference.get();
+            if (cached != null) {
+                return cached;
+            }
+            ingredientRoot.put(ingredient, new WeakReference<>(ingredient));
+            return ingredient;
+        }
+    }
+
     /**
      * Populates a list of MapIngredients from a list of FluidStacks
      *
@@ -1057,7 +1230,7 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
                 }
 
                 // use the cached ingredient, if possible
-                retrieveCachedIngredient(list, ingredient, ingredientRoot);
+                list.add(Collections.singletonList(internIngredient(ingredient)));
             } else {
                 // input must be represented as a list of possible stacks
                 List<AbstractMapIngredient> ingredients;
@@ -1069,20 +1242,46 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
                 }
 
                 for (int i = 0; i < ingredients.size(); i++) {
-                    AbstractMapIngredient mappedIngredient = ingredients.get(i);
                     // attempt to use the cached value if possible, otherwise cache for the next time
-                    WeakReference<AbstractMapIngredient> cached = ingredientRoot.get(mappedIngredient);
-                    if (cached != null && cached.get() != null) {
-                        ingredients.set(i, cached.get());
-                    } else {
-                        ingredientRoot.put(mappedIngredient, new WeakReference<>(mappedIngredient));
-                    }
+                    ingredients.set(i, internIngredient(ingredients.get(i)));
                 }
                 list.add(ingredients);
             }
         }
     }
 
+    /**
+     * Populates a buffer slot with pooled MapIngredients for an ItemStack
+     *
+     * @param buffer the buffer to populate
+     * @param stack  the stack to convert
+     */
+    protected void buildFromItemStack(@Nonnull RecipeSearchBuffer buffer, @Nonnull ItemStack stack) {
+        int meta = stack.getMetadata();
+        NBTTagCompound nbt = stack.getTagCompound();
+
+        List<AbstractMapIngredient> ls = buffer.nextSlot();
+
+        // add the regular input
+        ls.add(buffer.item(stack, meta, nbt));
+
+        if (hasOreDictedInputs) {
+            // add the ore dict inputs
+            for (int i : OreDictionary.getOreIDs(stack)) {
+                ls.add(buffer.oreDict(i));
+
+                if (hasNBTMatcherInputs) {
+                    // add the nbt inputs for the oredict inputs
+                    ls.add(buffer.oreDictNBT(i, nbt));
+                }
+            }
+        }
+        if (hasNBTMatcherInputs) {
+            // add the nbt input for the regular input
+            ls.add(buffer.itemNBT(stack, meta, nbt));
+        }
+    }
+
     /**
      * Populates a list of MapIngredients from a list of ItemStacks
      *
@@ -1134,6 +1333,7 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
     }
 
     public Collection<Recipe> getRecipeList() {
+        compileStagedRecipes();
         ObjectOpenHashSet<Recipe> recipes = new ObjectOpenHashSet<>();
         return lookup.getRecipes(true).filter(recipes::add).sorted(RECIPE_DURATION_THEN_EU).collect(Collectors.toList());
     }
@@ -38,7 +38,18 @@ public interface IParallelableRecipeLogic {
      * @return the recipe builder with the parallelized recipe. returns null the recipe can't fit
      */
     default RecipeBuilder<?> findMultipliedParallelRecipe(@Nonnull RecipeMap<?> recipeMap, @Nonnull Recipe currentRecipe, @Nonnull IItemHandlerModifiable inputs, @Nonnull IMultipleTankHandler fluidInputs, @Nonnull IItemHandlerModifiable outputs, @Nonnull IMultipleTankHandler fluidOutputs, int parallelLimit, long maxVoltage, @Nonnull IVoidable voidable) {
+        return findMultipliedParallelRecipe(new ParallelLogicContext(), recipeMap, currentRecipe, inputs, fluidInputs, outputs, fluidOutputs, parallelLimit, maxVoltage, voidable);
+    }
+
+    /**
+     * Same as {@link #findMultipliedParallelRecipe(RecipeMap, Recipe, IItemHandlerModifiable, IMultipleTankHandler, IItemHandlerModifiable, IMultipleTankHandler, int, long, IVoidable)},
+     * reusing the count maps and output overlays of the context
+     *
+     * @param context the context of the recipe logic finding the recipe
+     */
+    default RecipeBuilder<?> findMultipliedParallelRecipe(@Nonnull ParallelLogicContext context, @Nonnull RecipeMap<?> recipeMap, @Nonnull Recipe currentRecipe, @Nonnull IItemHandlerModifiable inputs, @Nonnull IMultipleTankHandler fluidInputs, @Nonnull IItemHandlerModifiable outputs, @Nonnull IMultipleTankHandler fluidOutputs, int parallelLimit, long maxVoltage, @Nonnull IVoidable voidable) {
         return ParallelLogic.doParallelRecipes(
+                context,
                 currentRecipe,
                 recipeMap,
                 inputs,
@@ -77,7 +88,7 @@ public interface IParallelableRecipeLogic {
         if (parallelLimit > 1 && logic.getRecipeMap() != null) {
             RecipeBuilder<?> parallelBuilder = null;
             if (logic.getParallelLogicType() == ParallelLogicType.MULTIPLY) {
-                parallelBuilder = findMultipliedParallelRecipe(logic.getRecipeMap(), currentRecipe, inputs, fluidInputs, outputs, fluidOutputs, parallelLimit, maxVoltage, logic.getMetaTileEntity());
+                parallelBuilder = findMultipliedParallelRecipe(logic.getParallelLogicContext(), logic.getRecipeMap(), currentRecipe, inputs, fluidInputs, outputs, fluidOutputs, parallelLimit, maxVoltage, logic.getMetaTileEntity());
             } else if (logic.getParallelLogicType() == ParallelLogicType.APPEND_ITEMS) {
                 parallelBuilder = findAppendedParallelItemRecipe(logic.getRecipeMap(), inputs, outputs, parallelLimit, maxVoltage, logic.getMetaTileEntity());
             }
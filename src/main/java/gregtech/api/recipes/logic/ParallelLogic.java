@@ -11,12 +11,15 @@ import gregtech.api.util.GTHashMaps;
 import gregtech.api.util.ItemStackHashStrategy;
 import gregtech.api.util.OverlayedFluidHandler;
 import gregtech.api.util.OverlayedItemHandler;
+import it.unimi.dsi.fastutil.ints.IntList;
 import it.unimi.dsi.fastutil.objects.Object2IntLinkedOpenCustomHashMap;
 import it.unimi.dsi.fastutil.objects.Object2IntMap;
 import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
 import net.minecraft.item.ItemStack;
 import net.minecraftforge.fluids.FluidStack;
 import net.minecraftforge.fluids.capability.IFluidHandler;
+import net.minecraftforge.fluids.capability.IFluidTankProperties;
 import net.minecraftforge.items.IItemHandler;
 import net.minecraftforge.items.IItemHandlerModifiable;
 
@@ -34,16 +37,44 @@ public abstract class ParallelLogic {
      */
 
     public static int getMaxRecipeMultiplier(@Nonnull Recipe recipe, @Nonnull IItemHandlerModifiable inputs, @Nonnull IMultipleTankHandler fluidInputs, int parallelAmount) {
-        // Find all the items in the combined Item Input inventories and create oversized ItemStacks
-        Object2IntMap<ItemStack> ingredientStacks = GTHashMaps.fromItemHandler(inputs);
+        return getMaxRecipeMultiplier(new ParallelLogicContext(), recipe, inputs, fluidInputs, parallelAmount);
+    }
+
+    /**
+     * @param context        the context to reuse the count maps of
+     * @param recipe         The recipe
+     * @param inputs         The item inputs
+     * @param fluidInputs    the fluid inputs
+     * @param parallelAmount hard cap on the amount returned
+     * @return returns the amount of possible time a recipe can be made from a given input inventory
+     */
+    public static int getMaxRecipeMultiplier(@Nonnull ParallelLogicContext context, @Nonnull Recipe recipe, @Nonnull IItemHandlerModifiable inputs, @Nonnull IMultipleTankHandler fluidInputs, int parallelAmount) {
+        // Find all the items in the combined Item Input inventories and count them by type
+        // The stacks are only used as keys until the ratio is computed, so they are not copied
+        Object2IntMap<ItemStack> ingredientStacks = context.itemCounts;
+        ingredientStacks.clear();
+        for (int i = 0; i < inputs.getSlots(); i++) {
+            ItemStack stack = inputs.getStackInSlot(i);
+            if (!stack.isEmpty()) {
+                ingredientStacks.put(stack, ingredientStacks.getInt(stack) + stack.getCount());
+            }
+        }
 
-        // Find all the fluids in the combined Fluid Input inventories and create oversized FluidStacks
-        Map<FluidKey, Integer> fluidStacks = GTHashMaps.fromFluidHandler(fluidInputs);
+        // Find all the fluids in the combined Fluid Input inventories and count them by type
+        Object2IntMap<FluidKey> fluidStacks = context.fluidCounts;
+        fluidStacks.clear();
+        for (IFluidTankProperties tankProperties : fluidInputs.getTankProperties()) {
+            FluidStack fluidStack = tankProperties.getContents();
+            if (fluidStack != null && fluidStack.amount > 0) {
+                FluidKey key = new FluidKey(fluidStack);
+                fluidStacks.put(key, fluidStacks.getInt(key) + fluidStack.amount);
+            }
+        }
 
         // Find the maximum number of recipes that can be performed from the items in the item input inventories
-        int itemMultiplier = getMaxRatioItem(ingredientStacks, recipe, parallelAmount);
+        int itemMultiplier = getMaxRatioItem(ingredientStacks, recipe, parallelAmount, context.consumedItems, context.notConsumedItems);
         // Find the maximum number of recipes that can be performed from the fluids in the fluid input inventories
-        int fluidMultiplier = getMaxRatioFluid(fluidStacks, recipe, parallelAmount);
+        int fluidMultiplier = getMaxRatioFluid(fluidStacks, recipe, parallelAmount, context.consumedFluids, context.notConsumedFluids);
 
         if (itemMultiplier == Integer.MAX_VALUE && fluidMultiplier == Integer.MAX_VALUE) {
             return 0;
@@ -63,6 +94,20 @@ public abstract class ParallelLogic {
      * @return returns the amount of recipes that can be merged successfully into a given output inventory
      */
     public static int limitByOutputMerging(@Nonnull Recipe recipe, @Nonnull IItemHandlerModifiable outputs, @Nonnull IMultipleTankHandler fluidOutputs, int parallelAmount, boolean voidItems, boolean voidFluids) {
+        return limitByOutputMerging(new ParallelLogicContext(), recipe, outputs, fluidOutputs, parallelAmount, voidItems, voidFluids);
+    }
+
+    /**
+     * @param context        the context to reuse the output overlays of
+     * @param recipe         The recipe
+     * @param outputs        the item output inventory
+     * @param fluidOutputs   the fluid output tanks
+     * @param parallelAmount the maximum expected amount
+     * @param voidItems      If the result of the item parallel limiting should be ignored
+     * @param voidFluids     If the result of the fluid parallel limiting should be ignored
+     * @return returns the amount of recipes that can be merged successfully into a given output inventory
+     */
+    public static int limitByOutputMerging(@Nonnull ParallelLogicContext context, @Nonnull Recipe recipe, @Nonnull IItemHandlerModifiable outputs, @Nonnull IMultipleTankHandler fluidOutputs, int parallelAmount, boolean voidItems, boolean voidFluids) {
         int modifiedItemParallelAmount = Integer.MAX_VALUE;
         int modifiedFluidParallelAmount = Integer.MAX_VALUE;
 
@@ -77,7 +122,7 @@ public abstract class ParallelLogic {
             if (voidItems) {
                 modifiedItemParallelAmount = parallelAmount;
             } else {
-                modifiedItemParallelAmount = limitParallelByItems(recipe, new OverlayedItemHandler(outputs), parallelAmount);
+                modifiedItemParallelAmount = limitParallelByItems(context, recipe, outputs, parallelAmount);
             }
 
             // If we are not voiding, and cannot fit any items, return 0
@@ -92,7 +137,7 @@ public abstract class ParallelLogic {
             if (voidFluids) {
                 modifiedFluidParallelAmount = parallelAmount;
             } else {
-                modifiedFluidParallelAmount = limitParallelByFluids(recipe, new OverlayedFluidHandler(fluidOutputs), modifiedItemParallelAmount);
+                modifiedFluidParallelAmount = limitParallelByFluids(recipe, context.getFluidOverlay(fluidOutputs), modifiedItemParallelAmount);
             }
 
             // If we are not voiding, and cannot fit any fluids, return 0
@@ -145,6 +190,69 @@ public abstract class ParallelLogic {
         return multiplier;
     }
 
+    /**
+     * Computes the amount of times the outputs of a recipe fit into the output inventory from the room left for each
+     * output type, which is counted in a single pass over the inventory. Empty slots hold at most the max stack size
+     * of each output type.
+     * <p>
+     * For recipes with a single output type, this is exactly what merging the outputs into an
+     * {@link OverlayedItemHandler} results in. With several output types, empty slots can only hold one of them,
+     * so the result is used as the upper bound of {@link #limitParallelByItems(Recipe, OverlayedItemHandler, int)},
+     * which accepts it on the first merge if everything fits. Recipes with chanced or NBT-bearing outputs are
+     * always limited by merging.
+     */
+    private static int limitParallelByItems(@Nonnull ParallelLogicContext context, @Nonnull Recipe recipe, @Nonnull IItemHandler outputs, int multiplier) {
+        if (!recipe.getChancedOutputs().isEmpty()) {
+            return limitParallelByItems(recipe, context.getItemOverlay(outputs), multiplier);
+        }
+        Object2IntMap<ItemStack> recipeOutputs = context.itemOutputs;
+        recipeOutputs.clear();
+        for (ItemStack output : recipe.getOutputs()) {
+            if (output.hasTagCompound()) {
+                return limitParallelByItems(recipe, context.getItemOverlay(outputs), multiplier);
+            }
+            if (!output.isEmpty()) {
+                recipeOutputs.put(output, recipeOutputs.getInt(output) + output.getCount());
+            }
+        }
+
+        // the room left in slots holding each output type, and the limits of empty slots
+        Object2LongMap<ItemStack> outputRoom = context.itemOutputRoom;
+        IntList emptySlotLimits = context.emptySlotLimits;
+        outputRoom.clear();
+        emptySlotLimits.clear();
+        for (int i = 0; i < outputs.getSlots(); i++) {
+            ItemStack stack = outputs.getStackInSlot(i);
+            int slotLimit = outputs.getSlotLimit(i);
+            if (stack.isEmpty()) {
+                emptySlotLimits.add(slotLimit);
+            } else if (recipeOutputs.containsKey(stack)) {
+                int room = Math.min(stack.getMaxStackSize(), slotLimit) - stack.getCount();
+                if (room > 0) {
+                    outputRoom.put(stack, outputRoom.getLong(stack) + room);
+                }
+            }
+        }
+
+        for (Object2IntMap.Entry<ItemStack> entry : recipeOutputs.object2IntEntrySet()) {
+            ItemStack output = entry.getKey();
+            // an overlay fills empty slots up to the max stack size of the output, if it is below the slot limit
+            int maxStackSize = output.getMaxStackSize();
+            long room = outputRoom.getLong(output);
+            for (int i = 0; i < emptySlotLimits.size(); i++) {
+                room += Math.min(maxStackSize, emptySlotLimits.getInt(i));
+            }
+            long fits = room / entry.getIntValue();
+            if (fits < multiplier) {
+                multiplier = (int) fits;
+            }
+        }
+        if (recipeOutputs.size() <= 1 || multiplier == 0) {
+            return multiplier;
+        }
+        return limitParallelByItems(recipe, context.getItemOverlay(outputs), multiplier);
+    }
+
     /**
      * Used by the Multi Smelter and some parallellizable steam multiblocks
      *
@@ -281,21 +389,19 @@ public abstract class ParallelLogic {
      * @return The Maximum number of Recipes that can be performed at a single time based on the available Items
      */
     protected static int getMaxRatioItem(@Nonnull Object2IntMap<ItemStack> countIngredients, @Nonnull Recipe recipe, int parallelAmount) {
+        return getMaxRatioItem(countIngredients, recipe, parallelAmount, new Object2IntOpenHashMap<>(), new Object2IntOpenHashMap<>());
+    }
+
+    private static int getMaxRatioItem(@Nonnull Object2IntMap<ItemStack> countIngredients, @Nonnull Recipe recipe, int parallelAmount,
+                                       @Nonnull Object2IntMap<GTRecipeInput> countableMap, @Nonnull Object2IntMap<GTRecipeInput> notConsumableMap) {
         int minMultiplier = Integer.MAX_VALUE;
         //map the recipe ingredients to account for duplicated and notConsumable ingredients.
         //notConsumable ingredients are not counted towards the max ratio
-        Object2IntOpenHashMap<GTRecipeInput> notConsumableMap = new Object2IntOpenHashMap<>();
-        Object2IntOpenHashMap<GTRecipeInput> countableMap = new Object2IntOpenHashMap<>();
+        countableMap.clear();
+        notConsumableMap.clear();
         for (GTRecipeInput recipeIngredient : recipe.getInputs()) {
-
-            int ingredientCount = recipeIngredient.getAmount();
-            if (recipeIngredient.isNonConsumable()) {
-                notConsumableMap.computeIfPresent(recipeIngredient, (k, v) -> v + ingredientCount);
-                notConsumableMap.putIfAbsent(recipeIngredient, ingredientCount);
-            } else {
-                countableMap.computeIfPresent(recipeIngredient, (k, v) -> v + ingredientCount);
-                countableMap.putIfAbsent(recipeIngredient, ingredientCount);
-            }
+            Object2IntMap<GTRecipeInput> ingredientMap = recipeIngredient.isNonConsumable() ? notConsumableMap : countableMap;
+            ingredientMap.put(recipeIngredient, ingredientMap.getInt(recipeIngredient) + recipeIngredient.getAmount());
         }
 
         // Iterate through the recipe inputs, excluding the not consumable ingredients from the inventory map
@@ -362,32 +468,32 @@ public abstract class ParallelLogic {
      * @return The Maximum number of Recipes that can be performed at a single time based on the available Fluids
      */
     protected static int getMaxRatioFluid(@Nonnull Map<FluidKey, Integer> countFluid, @Nonnull Recipe recipe, int parallelAmount) {
+        return getMaxRatioFluid(new Object2IntOpenHashMap<>(countFluid), recipe, parallelAmount, new Object2IntOpenHashMap<>(), new Object2IntOpenHashMap<>());
+    }
+
+    private static int getMaxRatioFluid(@Nonnull Object2IntMap<FluidKey> countFluid, @Nonnull Recipe recipe, int parallelAmount,
+                                        @Nonnull Object2IntMap<FluidKey> fluidCountMap, @Nonnull Object2IntMap<FluidKey> notConsumableMap) {
         int minMultiplier = Integer.MAX_VALUE;
         //map the recipe input fluids to account for duplicated fluids,
         //so their sum is counted against the total of fluids available in the input
-        Map<FluidKey, Integer> fluidCountMap = new HashMap<>();
-        Map<FluidKey, Integer> notConsumableMap = new HashMap<>();
+        fluidCountMap.clear();
+        notConsumableMap.clear();
         for (GTRecipeInput fluidInput : recipe.getFluidInputs()) {
-            int fluidAmount = fluidInput.getAmount();
-            if (fluidInput.isNonConsumable()) {
-                notConsumableMap.computeIfPresent(new FluidKey(fluidInput.getInputFluidStack()), (k, v) -> v + fluidAmount);
-                notConsumableMap.putIfAbsent(new FluidKey(fluidInput.getInputFluidStack()), fluidAmount);
-            } else {
-                fluidCountMap.computeIfPresent(new FluidKey(fluidInput.getInputFluidStack()), (k, v) -> v + fluidAmount);
-                fluidCountMap.putIfAbsent(new FluidKey(fluidInput.getInputFluidStack()), fluidAmount);
-            }
+            Object2IntMap<FluidKey> fluidMap = fluidInput.isNonConsumable() ? notConsumableMap : fluidCountMap;
+            FluidKey key = new FluidKey(fluidInput.getInputFluidStack());
+            fluidMap.put(key, fluidMap.getInt(key) + fluidInput.getAmount());
         }
 
         // Iterate through the recipe inputs, excluding the not consumable fluids from the fluid inventory map
-        for (Map.Entry<FluidKey, Integer> notConsumableFluid : notConsumableMap.entrySet()) {
-            int needed = notConsumableFluid.getValue();
+        for (Object2IntMap.Entry<FluidKey> notConsumableFluid : notConsumableMap.object2IntEntrySet()) {
+            int needed = notConsumableFluid.getIntValue();
             int available = 0;
             // For every fluid gathered from the fluid inputs.
-            for (Map.Entry<FluidKey, Integer> inputFluid : countFluid.entrySet()) {
+            for (Object2IntMap.Entry<FluidKey> inputFluid : countFluid.object2IntEntrySet()) {
                 // Strip the Non-consumable tags here, as FluidKey compares the tags, which causes finding matching fluids
                 // in the input tanks to fail, because there is nothing in those hatches with a non-consumable tag
                 if (notConsumableFluid.getKey().equals(inputFluid.getKey())) {
-                    available = inputFluid.getValue();
+                    available = inputFluid.getIntValue();
                     if (available > needed) {
                         inputFluid.setValue(available - needed);
                         needed -= available;
@@ -414,13 +520,13 @@ public abstract class ParallelLogic {
         }
 
         // Iterate through the fluid inputs in the recipe
-        for (Map.Entry<FluidKey, Integer> fs : fluidCountMap.entrySet()) {
-            int needed = fs.getValue();
+        for (Object2IntMap.Entry<FluidKey> fs : fluidCountMap.object2IntEntrySet()) {
+            int needed = fs.getIntValue();
             int available = 0;
             // For every fluid gathered from the fluid inputs.
-            for (Map.Entry<FluidKey, Integer> inputFluid : countFluid.entrySet()) {
+            for (Object2IntMap.Entry<FluidKey> inputFluid : countFluid.object2IntEntrySet()) {
                 if (fs.getKey().equals(inputFluid.getKey())) {
-                    available += inputFluid.getValue();
+                    available += inputFluid.getIntValue();
                 }
             }
             if (available >= needed) {
@@ -435,10 +541,14 @@ public abstract class ParallelLogic {
         return minMultiplier;
     }
 
-    // At this point, the recipe is already trimmed according to the item and fluid output limit, so we just need to take care of voiding
     public static RecipeBuilder<?> doParallelRecipes(@Nonnull Recipe currentRecipe, @Nonnull RecipeMap<?> recipeMap, @Nonnull IItemHandlerModifiable importInventory, @Nonnull IMultipleTankHandler importFluids, @Nonnull IItemHandlerModifiable exportInventory, @Nonnull IMultipleTankHandler exportFluids, int parallelAmount, long maxVoltage, @Nonnull IVoidable voidable) {
+        return doParallelRecipes(new ParallelLogicContext(), currentRecipe, recipeMap, importInventory, importFluids, exportInventory, exportFluids, parallelAmount, maxVoltage, voidable);
+    }
+
+    // At this point, the recipe is already trimmed according to the item and fluid output limit, so we just need to take care of voiding
+    public static RecipeBuilder<?> doParallelRecipes(@Nonnull ParallelLogicContext context, @Nonnull Recipe currentRecipe, @Nonnull RecipeMap<?> recipeMap, @Nonnull IItemHandlerModifiable importInventory, @Nonnull IMultipleTankHandler importFluids, @Nonnull IItemHandlerModifiable exportInventory, @Nonnull IMultipleTankHandler exportFluids, int parallelAmount, long maxVoltage, @Nonnull IVoidable voidable) {
         // First check if we are limited by recipe inputs. This can short circuit a lot of consecutive checking
-        int multiplierByInputs = getMaxRecipeMultiplier(currentRecipe, importInventory, importFluids, parallelAmount);
+        int multiplierByInputs = getMaxRecipeMultiplier(context, currentRecipe, importInventory, importFluids, parallelAmount);
         if (multiplierByInputs == 0) {
             return null;
         }
@@ -456,7 +566,7 @@ public abstract class ParallelLogic {
         // Simulate the merging of the maximum amount of recipes that can be run with these items
         // and limit by the amount we can successfully merge
         int limitByOutput;
-        limitByOutput = ParallelLogic.limitByOutputMerging(currentRecipe, exportInventory, exportFluids, multiplierByInputs, voidItems, voidFluids);
+        limitByOutput = ParallelLogic.limitByOutputMerging(context, currentRecipe, exportInventory, exportFluids, multiplierByInputs, voidItems, voidFluids);
 
         int recipeEUt = currentRecipe.getEUt();
         if (recipeEUt != 0) {
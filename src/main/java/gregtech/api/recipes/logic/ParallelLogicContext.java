@@ -0,0 +1,69 @@
+package gregtech.api.recipes.logic;
+
+import gregtech.api.capability.IMultipleTankHandler;
+import gregtech.api.recipes.FluidKey;
+import gregtech.api.recipes.ingredients.GTRecipeInput;
+import gregtech.api.util.ItemStackHashStrategy;
+import gregtech.api.util.OverlayedFluidHandler;
+import gregtech.api.util.OverlayedItemHandler;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenCustomHashMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenCustomHashMap;
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.items.IItemHandler;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Scratch state of {@link ParallelLogic}, reused by a recipe logic between its parallel recipe searches so that
+ * they do not allocate new count maps and output overlays on every attempt.
+ * <p>
+ * A context may only be used by one search at a time.
+ */
+public final class ParallelLogicContext {
+
+    private static final ItemStackHashStrategy HASH_STRATEGY = ItemStackHashStrategy.comparingAllButCount();
+
+    final Object2IntMap<ItemStack> itemCounts = new Object2IntOpenCustomHashMap<>(HASH_STRATEGY);
+    final Object2IntMap<FluidKey> fluidCounts = new Object2IntOpenHashMap<>();
+    final Object2IntMap<GTRecipeInput> consumedItems = new Object2IntOpenHashMap<>();
+    final Object2IntMap<GTRecipeInput> notConsumedItems = new Object2IntOpenHashMap<>();
+    final Object2IntMap<FluidKey> consumedFluids = new Object2IntOpenHashMap<>();
+    final Object2IntMap<FluidKey> notConsumedFluids = new Object2IntOpenHashMap<>();
+    final Object2IntMap<ItemStack> itemOutputs = new Object2IntOpenCustomHashMap<>(HASH_STRATEGY);
+    final Object2LongMap<ItemStack> itemOutputRoom = new Object2LongOpenCustomHashMap<>(HASH_STRATEGY);
+    final IntList emptySlotLimits = new IntArrayList();
+
+    private OverlayedItemHandler itemOverlay;
+    private OverlayedFluidHandler fluidOverlay;
+
+    /**
+     * @return an overlay mirroring the current contents of the handler
+     */
+    @Nonnull
+    OverlayedItemHandler getItemOverlay(@Nonnull IItemHandler handler) {
+        if (itemOverlay == null || !itemOverlay.isOverlaying(handler)) {
+            this.itemOverlay = new OverlayedItemHandler(handler);
+        } else {
+            itemOverlay.invalidate();
+        }
+        return itemOverlay;
+    }
+
+    /**
+     * @return an overlay mirroring the current contents of the handler
+     */
+    @Nonnull
+    OverlayedFluidHandler getFluidOverlay(@Nonnull IMultipleTankHandler handler) {
+        if (fluidOverlay == null || !fluidOverlay.isOverlaying(handler)) {
+            this.fluidOverlay = new OverlayedFluidHandler(handler);
+        } else {
+            fluidOverlay.invalidate();
+        }
+        return fluidOverlay;
+    }
+}
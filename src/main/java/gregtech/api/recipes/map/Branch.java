@@ -2,16 +2,20 @@ package gregtech.api.recipes.map;
 
 import gregtech.api.recipes.Recipe;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
 
 import javax.annotation.Nonnull;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Stream;
 
 public class Branch {
     // Keys on this have *(should)* unique hashcodes.
-    private Map<AbstractMapIngredient, Either<Recipe, Branch>> nodes;
+    private Object2ObjectOpenHashMap<AbstractMapIngredient, Either<Recipe, Branch>> nodes;
     // Keys on this have collisions, and must be differentiated by equality.
-    private Map<AbstractMapIngredient, Either<Recipe, Branch>> specialNodes;
+    private Object2ObjectOpenHashMap<AbstractMapIngredient, Either<Recipe, Branch>> specialNodes;
 
     public Stream<Recipe> getRecipes(boolean filterHidden) {
         Stream<Recipe> stream = null;
@@ -53,4 +57,33 @@ public class Branch {
         }
         return specialNodes;
     }
+
+    /**
+     * Shrinks the nodes of this branch and of all branches below it to fit their contents.
+     * Branches can be shared by several nodes, so each is only visited once.
+     */
+    public void trim() {
+        Set<Branch> visited = new ReferenceOpenHashSet<>();
+        List<Branch> pending = new ObjectArrayList<>();
+        pending.add(this);
+        while (!pending.isEmpty()) {
+            Branch branch = pending.remove(pending.size() - 1);
+            if (!visited.add(branch)) continue;
+            if (branch.nodes != null) {
+                branch.nodes.trim();
+                addBranches(branch.nodes, pending);
+            }
+            if (branch.specialNodes != null) {
+                branch.specialNodes.trim();
+                addBranches(branch.specialNodes, pending);
+            }
+        }
+    }
+
+    private static void addBranches(@Nonnull Map<AbstractMapIngredient, Either<Recipe, Branch>> nodes, @Nonnull List<Branch> pending) {
+        for (Either<Recipe, Branch> node : nodes.values()) {
+            Branch branch = node.rightOrNull();
+            if (branch != null) pending.add(branch);
+        }
+    }
 }
@@ -9,8 +9,13 @@ import java.util.Objects;
 
 public class MapFluidIngredient extends AbstractMapIngredient {
 
-    public final Fluid fluid;
-    public final NBTTagCompound tag;
+    public Fluid fluid;
+    public NBTTagCompound tag;
+
+    /**
+     * Creates an empty, mutable ingredient. Only for use by {@link RecipeSearchBuffer}.
+     */
+    MapFluidIngredient() {/**/}
 
     public MapFluidIngredient(GTRecipeInput fluidInput) {
         FluidStack fluidStack = fluidInput.getInputFluidStack();
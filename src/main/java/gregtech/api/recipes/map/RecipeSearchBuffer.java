@@ -0,0 +1,260 @@
+package gregtech.api.recipes.map;
+
+import gregtech.api.recipes.Recipe;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraftforge.fluids.FluidStack;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Reusable scratch space for recipe lookups.
+ * <p>
+ * Holds the unique input stacks, the ingredient lists and pooled, mutable map ingredients used to query
+ * a {@link Branch} tree, so repeated searches do not allocate new lookup keys.
+ * <p>
+ * Ingredients handed out by this buffer are only valid until {@link #release()} is called,
+ * and must <strong>never</strong> be inserted into a Branch.
+ */
+public final class RecipeSearchBuffer implements Predicate<Recipe> {
+
+    private final List<List<AbstractMapIngredient>> ingredients = new ObjectArrayList<>();
+    private final List<ObjectArrayList<AbstractMapIngredient>> slots = new ObjectArrayList<>();
+    private final List<MapItemStackIngredient> itemPool = new ObjectArrayList<>();
+    private final List<MapItemStackNBTIngredient> itemNBTPool = new ObjectArrayList<>();
+    private final List<MapOreDictIngredient> oreDictPool = new ObjectArrayList<>();
+    private final List<MapOreDictNBTIngredient> oreDictNBTPool = new ObjectArrayList<>();
+    private final List<MapFluidIngredient> fluidPool = new ObjectArrayList<>();
+
+    private ItemStack[] uniqueItems = new ItemStack[16];
+    private int uniqueItemCount;
+
+    private int slotIndex;
+    private int itemIndex;
+    private int itemNBTIndex;
+    private int oreDictIndex;
+    private int oreDictNBTIndex;
+    private int fluidIndex;
+
+    private boolean inUse;
+
+    private long voltage;
+    private boolean exactVoltage;
+    private List<ItemStack> inputs;
+    private List<FluidStack> fluidInputs;
+
+    /**
+     * Marks this buffer as in use.
+     *
+     * @return false if the buffer is already in use, for example by a search further up the call stack
+     */
+    public boolean acquire() {
+        if (this.inUse) return false;
+        this.inUse = true;
+        return true;
+    }
+
+    /**
+     * Returns the buffer for reuse, dropping all references to the searched stacks
+     */
+    public void release() {
+        for (int i = 0; i < this.itemIndex; i++) {
+            this.itemPool.get(i).stack = ItemStack.EMPTY;
+            this.itemPool.get(i).tag = null;
+        }
+        for (int i = 0; i < this.itemNBTIndex; i++) {
+            this.itemNBTPool.get(i).stack = ItemStack.EMPTY;
+            this.itemNBTPool.get(i).tag = null;
+        }
+        for (int i = 0; i < this.oreDictNBTIndex; i++) {
+            this.oreDictNBTPool.get(i).nbtTagCompound = null;
+        }
+        for (int i = 0; i < this.fluidIndex; i++) {
+            this.fluidPool.get(i).tag = null;
+        }
+        for (int i = 0; i < this.uniqueItemCount; i++) {
+            this.uniqueItems[i] = null;
+        }
+        this.ingredients.clear();
+        this.uniqueItemCount = 0;
+        this.slotIndex = 0;
+        this.itemIndex = 0;
+        this.itemNBTIndex = 0;
+        this.oreDictIndex = 0;
+        this.oreDictNBTIndex = 0;
+        this.fluidIndex = 0;
+        this.inputs = null;
+        this.fluidInputs = null;
+        this.inUse = false;
+    }
+
+    /**
+     * Collects the unique, non-empty ItemStacks of the inputs into this buffer.
+     * Uses the same strict comparison as {@link gregtech.api.recipes.RecipeMap#uniqueItems(java.util.Collection)}.
+     *
+     * @param inputs the inputs to collect
+     * @return the amount of unique stacks, retrievable with {@link #getUniqueItem(int)}
+     */
+    public int collectUniqueItems(@Nonnull List<ItemStack> inputs) {
+        if (this.uniqueItems.length < inputs.size()) {
+            this.uniqueItems = new ItemStack[inputs.size()];
+        }
+        main:
+        for (int i = 0; i < inputs.size(); i++) {
+            ItemStack input = inputs.get(i);
+            if (input.isEmpty()) {
+                continue;
+            }
+            for (int j = 0; j < this.uniqueItemCount; j++) {
+                ItemStack unique = this.uniqueItems[j];
+                if (input.isItemEqual(unique) && ItemStack.areItemStackTagsEqual(input, unique)) {
+                    continue main;
+                }
+            }
+            this.uniqueItems[this.uniqueItemCount++] = input;
+        }
+        return this.uniqueItemCount;
+    }
+
+    @Nonnull
+    public ItemStack getUniqueItem(int index) {
+        return this.uniqueItems[index];
+    }
+
+    /**
+     * Starts a new ingredient slot, which is a list of alternative keys for a single input
+     *
+     * @return the slot to add keys to
+     */
+    @Nonnull
+    public List<AbstractMapIngredient> nextSlot() {
+        ObjectArrayList<AbstractMapIngredient> slot;
+        if (this.slotIndex < this.slots.size()) {
+            slot = this.slots.get(this.slotIndex);
+            slot.clear();
+        } else {
+            slot = new ObjectArrayList<>(4);
+            this.slots.add(slot);
+        }
+        this.slotIndex++;
+        this.ingredients.add(slot);
+        return slot;
+    }
+
+    @Nonnull
+    public List<List<AbstractMapIngredient>> getIngredients() {
+        return this.ingredients;
+    }
+
+    @Nonnull
+    public AbstractMapIngredient item(@Nonnull ItemStack stack, int meta, NBTTagCompound tag) {
+        MapItemStackIngredient ingredient;
+        if (this.itemIndex < this.itemPool.size()) {
+            ingredient = this.itemPool.get(this.itemIndex);
+        } else {
+            ingredient = new MapItemStackIngredient(ItemStack.EMPTY, 0, null);
+            this.itemPool.add(ingredient);
+        }
+        this.itemIndex++;
+        ingredient.stack = stack;
+        ingredient.meta = meta;
+        ingredient.tag = tag;
+        ingredient.invalidate();
+        return ingredient;
+    }
+
+    @Nonnull
+    public AbstractMapIngredient itemNBT(@Nonnull ItemStack stack, int meta, NBTTagCompound tag) {
+        MapItemStackNBTIngredient ingredient;
+        if (this.itemNBTIndex < this.itemNBTPool.size()) {
+            ingredient = this.itemNBTPool.get(this.itemNBTIndex);
+        } else {
+            ingredient = new MapItemStackNBTIngredient(ItemStack.EMPTY, 0, null);
+            this.itemNBTPool.add(ingredient);
+        }
+        this.itemNBTIndex++;
+        ingredient.stack = stack;
+        ingredient.meta = meta;
+        ingredient.tag = tag;
+        ingredient.invalidate();
+        return ingredient;
+    }
+
+    @Nonnull
+    public AbstractMapIngredient oreDict(int ore) {
+        MapOreDictIngredient ingredient;
+        if (this.oreDictIndex < this.oreDictPool.size()) {
+            ingredient = this.oreDictPool.get(this.oreDictIndex);
+        } else {
+            ingredient = new MapOreDictIngredient(0);
+            this.oreDictPool.add(ingredient);
+        }
+        this.oreDictIndex++;
+        ingredient.ore = ore;
+        ingredient.invalidate();
+        return ingredient;
+    }
+
+    @Nonnull
+    public AbstractMapIngredient oreDictNBT(int ore, NBTTagCompound tag) {
+        MapOreDictNBTIngredient ingredient;
+        if (this.oreDictNBTIndex < this.oreDictNBTPool.size()) {
+            ingredient = this.oreDictNBTPool.get(this.oreDictNBTIndex);
+        } else {
+            ingredient = new MapOreDictNBTIngredient(0, null);
+            this.oreDictNBTPool.add(ingredient);
+        }
+        this.oreDictNBTIndex++;
+        ingredient.ore = ore;
+        ingredient.nbtTagCompound = tag;
+        ingredient.invalidate();
+        return ingredient;
+    }
+
+    @Nonnull
+    public AbstractMapIngredient fluid(@Nonnull FluidStack stack) {
+        MapFluidIngredient ingredient;
+        if (this.fluidIndex < this.fluidPool.size()) {
+            ingredient = this.fluidPool.get(this.fluidIndex);
+        } else {
+            ingredient = new MapFluidIngredient();
+            this.fluidPool.add(ingredient);
+        }
+        this.fluidIndex++;
+        ingredient.fluid = stack.getFluid();
+        ingredient.tag = stack.tag;
+        ingredient.invalidate();
+        return ingredient;
+    }
+
+    /**
+     * Sets up the conditions used when testing found recipes with this buffer
+     *
+     * @param voltage      the maximum voltage of the recipe
+     * @param exactVoltage if the recipe must match the voltage exactly
+     * @param inputs       the item inputs
+     * @param fluidInputs  the fluid inputs
+     */
+    public void setupMatch(long voltage, boolean exactVoltage, @Nonnull List<ItemStack> inputs, @Nonnull List<FluidStack> fluidInputs) {
+        this.voltage = voltage;
+        this.exactVoltage = exactVoltage;
+        this.inputs = inputs;
+        this.fluidInputs = fluidInputs;
+    }
+
+    @Override
+    public boolean test(@Nonnull Recipe recipe) {
+        if (exactVoltage && recipe.getEUt() != voltage) {
+            // if exact voltage is required, the recipe is not considered valid
+            return false;
+        }
+        if (recipe.getEUt() > voltage) {
+            // there is not enough voltage to consider the recipe valid
+            return false;
+        }
+        return recipe.matches(false, inputs, fluidInputs);
+    }
+}
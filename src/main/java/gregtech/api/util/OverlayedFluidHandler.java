@@ -11,12 +11,14 @@ import net.minecraftforge.fluids.capability.IFluidTankProperties;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.Arrays;
 import java.util.Map;
 
 public class OverlayedFluidHandler {
 
     private final OverlayedTank[] overlayedTanks;
     private final OverlayedTank[] originalTanks;
+    private final boolean[] mirrored;
     private final IMultipleTankHandler overlayed;
 
     private final ObjectOpenCustomHashSet<IFluidTankProperties> tankDeniesSameFluidFill = new ObjectOpenCustomHashSet<>(IFluidTankPropertiesHashStrategy.create());
@@ -25,6 +27,7 @@ public class OverlayedFluidHandler {
     public OverlayedFluidHandler(IMultipleTankHandler toOverlay) {
         this.overlayedTanks = new OverlayedTank[toOverlay.getTankProperties().length];
         this.originalTanks = new OverlayedTank[toOverlay.getTankProperties().length];
+        this.mirrored = new boolean[toOverlay.getTankProperties().length];
         this.overlayed = toOverlay;
     }
 
@@ -34,22 +37,44 @@ public class OverlayedFluidHandler {
      */
     public void reset() {
         for (int i = 0; i < this.originalTanks.length; i++) {
-            if (this.originalTanks[i] != null) {
-                this.overlayedTanks[i] = this.originalTanks[i].copy();
+            if (this.mirrored[i]) {
+                this.overlayedTanks[i].set(this.originalTanks[i]);
             }
         }
         uniqueFluidMap.forEach((k, v) -> v.clear());
     }
 
+    /**
+     * Discards the mirrored state, so the tanks are mirrored from the current contents of the handler again.
+     * Allows reusing the overlay after the handler was modified.
+     */
+    public void invalidate() {
+        Arrays.fill(this.mirrored, false);
+        this.tankDeniesSameFluidFill.clear();
+        this.uniqueFluidMap.forEach((k, v) -> v.clear());
+    }
+
+    /**
+     * @return whether this overlays the handler, and can be reused for it after {@link #invalidate()}
+     */
+    public boolean isOverlaying(@Nonnull IMultipleTankHandler handler) {
+        return this.overlayed == handler && this.overlayedTanks.length == handler.getTankProperties().length;
+    }
+
     public IFluidTankProperties[] getTankProperties() {
         return overlayed.getTankProperties();
     }
 
     private void initTank(int tank) {
-        if (this.overlayedTanks[tank] == null) {
+        if (!this.mirrored[tank]) {
             IFluidTankProperties fluidTankProperties = overlayed.getTankProperties()[tank];
-            this.originalTanks[tank] = new OverlayedTank(fluidTankProperties);
-            this.overlayedTanks[tank] = new OverlayedTank(fluidTankProperties);
+            if (this.originalTanks[tank] == null) {
+                this.originalTanks[tank] = new OverlayedTank();
+                this.overlayedTanks[tank] = new OverlayedTank();
+            }
+            this.originalTanks[tank].mirror(fluidTankProperties);
+            this.overlayedTanks[tank].set(this.originalTanks[tank]);
+            this.mirrored[tank] = true;
 
             if (overlayed.getTankAt(tank) instanceof NotifiableFluidTankFromList) {
                 NotifiableFluidTankFromList nftfl = (NotifiableFluidTankFromList) overlayed.getTankAt(tank);
@@ -139,27 +164,27 @@ public class OverlayedFluidHandler {
 
     private static class OverlayedTank {
 
-        private final int capacity;
+        private int capacity;
 
         @Nullable
         private FluidKey fluidKey = null;
         private int fluidAmount = 0;
 
-        OverlayedTank(IFluidTankProperties property) {
+        /**
+         * Mirrors the contents of a tank of the overlayed handler
+         */
+        void mirror(IFluidTankProperties property) {
             FluidStack stackToMirror = property.getContents();
             if (stackToMirror != null) {
                 this.fluidKey = new FluidKey(stackToMirror);
                 this.fluidAmount = stackToMirror.amount;
+            } else {
+                this.fluidKey = null;
+                this.fluidAmount = 0;
             }
             this.capacity = property.getCapacity();
         }
 
-        OverlayedTank(@Nullable FluidKey fluidKey, int fluidAmount, int capacity) {
-            this.fluidKey = fluidKey;
-            this.fluidAmount = fluidAmount;
-            this.capacity = capacity;
-        }
-
         /**
          * Tries to insert set amount of fluid into this tank. If operation succeeds,
          * the fluid key of this tank will be set to {@code fluid} and the {@code
@@ -178,8 +203,10 @@ public class OverlayedFluidHandler {
             } else return 0;
         }
 
-        public OverlayedTank copy() {
-            return new OverlayedTank(this.fluidKey, this.fluidAmount, this.capacity);
+        void set(OverlayedTank tank) {
+            this.fluidKey = tank.fluidKey;
+            this.fluidAmount = tank.fluidAmount;
+            this.capacity = tank.capacity;
         }
     }
 }
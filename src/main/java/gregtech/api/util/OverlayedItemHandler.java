@@ -4,15 +4,21 @@ import net.minecraft.item.ItemStack;
 import net.minecraftforge.items.IItemHandler;
 
 import javax.annotation.Nonnull;
+import java.util.Arrays;
 
 public class OverlayedItemHandler {
+
+    private static final ItemStackHashStrategy HASH_STRATEGY = ItemStackHashStrategy.comparingAllButCount();
+
     private final OverlayedItemHandlerSlot[] originalSlots;
     private final OverlayedItemHandlerSlot[] slots;
+    private final boolean[] mirrored;
     private final IItemHandler overlayedHandler;
 
     public OverlayedItemHandler(@Nonnull IItemHandler toOverlay) {
         this.slots = new OverlayedItemHandlerSlot[toOverlay.getSlots()];
         this.originalSlots = new OverlayedItemHandlerSlot[toOverlay.getSlots()];
+        this.mirrored = new boolean[toOverlay.getSlots()];
         this.overlayedHandler = toOverlay;
     }
 
@@ -22,12 +28,27 @@ public class OverlayedItemHandler {
      */
     public void reset() {
         for (int i = 0; i < this.originalSlots.length; i++) {
-            if (this.originalSlots[i] != null) {
-                this.slots[i] = this.originalSlots[i].copy();
+            if (this.mirrored[i]) {
+                this.slots[i].set(this.originalSlots[i]);
             }
         }
     }
 
+    /**
+     * Discards the mirrored state, so the slots are mirrored from the current contents of the handler again.
+     * Allows reusing the overlay after the handler was modified.
+     */
+    public void invalidate() {
+        Arrays.fill(this.mirrored, false);
+    }
+
+    /**
+     * @return whether this overlays the handler, and can be reused for it after {@link #invalidate()}
+     */
+    public boolean isOverlaying(@Nonnull IItemHandler handler) {
+        return this.overlayedHandler == handler && this.slots.length == handler.getSlots();
+    }
+
     public int getSlots() {
         return overlayedHandler.getSlots();
     }
@@ -40,11 +61,14 @@ public class OverlayedItemHandler {
 
 
     private void initSlot(int slot) {
-        if (this.originalSlots[slot] == null) {
-            ItemStack stackToMirror = overlayedHandler.getStackInSlot(slot);
-            int slotLimit = overlayedHandler.getSlotLimit(slot);
-            this.originalSlots[slot] = new OverlayedItemHandlerSlot(stackToMirror, slotLimit);
-            this.slots[slot] = new OverlayedItemHandlerSlot(stackToMirror, slotLimit);
+        if (!this.mirrored[slot]) {
+            if (this.originalSlots[slot] == null) {
+                this.originalSlots[slot] = new OverlayedItemHandlerSlot();
+                this.slots[slot] = new OverlayedItemHandlerSlot();
+            }
+            this.originalSlots[slot].mirror(overlayedHandler.getStackInSlot(slot), overlayedHandler.getSlotLimit(slot));
+            this.slots[slot].set(this.originalSlots[slot]);
+            this.mirrored[slot] = true;
         }
     }
 
@@ -57,12 +81,14 @@ public class OverlayedItemHandler {
             initSlot(i);
             // if it's the same item or there is no item in the slot
             ItemStack slotKey = this.slots[i].getItemStack();
-            if (slotKey.isEmpty() || ItemStackHashStrategy.comparingAllButCount().equals(slotKey, stack)) {
+            if (slotKey.isEmpty() || HASH_STRATEGY.equals(slotKey, stack)) {
                 //if the slot is not full
                 int canInsertUpTo = this.slots[i].getSlotLimit() - this.slots[i].getCount();
                 if (canInsertUpTo > 0) {
                     int insertedAmount = Math.min(canInsertUpTo, amountToInsert);
-                    this.slots[i].setItemStack(stack.copy()); // this copy may not be need, needs further tests
+                    if (slotKey.isEmpty()) {
+                        this.slots[i].setItemStack(stack.copy()); // this copy may not be need, needs further tests
+                    }
                     this.slots[i].setCount(this.slots[i].getCount() + insertedAmount);
                     amountToInsert -= insertedAmount;
                 }
@@ -104,22 +130,21 @@ public class OverlayedItemHandler {
         private int count = 0;
         private int slotLimit;
 
-        protected OverlayedItemHandlerSlot(@Nonnull ItemStack stackToMirror, int slotLimit) {
+        /**
+         * Mirrors the contents of a slot of the overlayed handler
+         */
+        protected void mirror(@Nonnull ItemStack stackToMirror, int slotLimit) {
             if (!stackToMirror.isEmpty()) {
                 this.itemStack = stackToMirror.copy();
                 this.count = stackToMirror.getCount();
                 this.slotLimit = Math.min(itemStack.getMaxStackSize(), slotLimit);
             } else {
+                this.itemStack = ItemStack.EMPTY;
+                this.count = 0;
                 this.slotLimit = slotLimit;
             }
         }
 
-        protected OverlayedItemHandlerSlot(@Nonnull ItemStack itemStack, int slotLimit, int count) {
-            this.itemStack = itemStack;
-            this.count = count;
-            this.slotLimit = slotLimit;
-        }
-
         public int getSlotLimit() {
             return slotLimit;
         }
@@ -138,7 +163,7 @@ public class OverlayedItemHandler {
         }
 
         public void setItemStack(@Nonnull ItemStack itemStack) {
-            if (!ItemStackHashStrategy.comparingAllButCount().equals(this.itemStack, itemStack)) {
+            if (!HASH_STRATEGY.equals(this.itemStack, itemStack)) {
                 this.itemStack = itemStack;
                 this.slotLimit = Math.min(itemStack.getMaxStackSize(), slotLimit);
             }
@@ -148,9 +173,10 @@ public class OverlayedItemHandler {
             this.count = count;
         }
 
-        @Nonnull
-        OverlayedItemHandlerSlot copy() {
-            return new OverlayedItemHandlerSlot(this.itemStack, this.slotLimit, this.count);
+        void set(@Nonnull OverlayedItemHandlerSlot slot) {
+            this.itemStack = slot.itemStack;
+            this.count = slot.count;
+            this.slotLimit = slot.slotLimit;
         }
     }
 }
@@ -0,0 +1,17 @@
+package gregtech.api.util;
+
+/**
+ * The tick times recorded by the {@link TickProfiler} for a single class
+ */
+public class TickProfileEntry {
+
+    public final TickProfiler.Category category;
+    public final Class<?> owner;
+    public final TickTimeHistogram histogram;
+
+    public TickProfileEntry(TickProfiler.Category category, Class<?> owner, TickTimeHistogram histogram) {
+        this.category = category;
+        this.owner = owner;
+        this.histogram = histogram;
+    }
+}
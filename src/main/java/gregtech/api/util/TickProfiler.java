@@ -0,0 +1,122 @@
+package gregtech.api.util;
+
+import gregtech.api.GTValues;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import net.minecraft.world.World;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent.Phase;
+import net.minecraftforge.fml.common.gameevent.TickEvent.ServerTickEvent;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Opt-in profiler aggregating the server side tick times of machines, their traits and covers, and pipe nets per class.
+ * <p>
+ * Recording is only done while a profiling window started with {@link #start(int, Runnable)} is running,
+ * so callers should check {@link #isProfiling(World)} before measuring anything.
+ */
+@EventBusSubscriber(modid = GTValues.MODID)
+public final class TickProfiler {
+
+    private static final Map<Category, Map<Class<?>, TickTimeHistogram>> histograms = new EnumMap<>(Category.class);
+
+    private static boolean isActive = false;
+    private static int remainingTicks;
+    private static int profiledTicks;
+    @Nullable
+    private static Runnable onFinish;
+
+    private TickProfiler() {
+    }
+
+    /**
+     * @return if tick times in the world should be recorded
+     */
+    public static boolean isProfiling(@Nonnull World world) {
+        return isActive && !world.isRemote;
+    }
+
+    public static boolean isActive() {
+        return isActive;
+    }
+
+    /**
+     * Clears the previous results, and starts recording
+     *
+     * @param ticks    the amount of server ticks to record for
+     * @param onFinish called when the window has passed, not called when stopped with {@link #stop()}
+     */
+    public static void start(int ticks, @Nullable Runnable onFinish) {
+        histograms.clear();
+        TickProfiler.isActive = true;
+        TickProfiler.remainingTicks = ticks;
+        TickProfiler.profiledTicks = 0;
+        TickProfiler.onFinish = onFinish;
+    }
+
+    public static void stop() {
+        TickProfiler.isActive = false;
+        TickProfiler.onFinish = null;
+    }
+
+    public static void record(@Nonnull Category category, @Nonnull Class<?> owner, long nanos) {
+        Map<Class<?>, TickTimeHistogram> byClass = histograms.get(category);
+        if (byClass == null) {
+            byClass = new Object2ObjectOpenHashMap<>();
+            histograms.put(category, byClass);
+        }
+        TickTimeHistogram histogram = byClass.get(owner);
+        if (histogram == null) {
+            histogram = new TickTimeHistogram();
+            byClass.put(owner, histogram);
+        }
+        histogram.record(nanos);
+    }
+
+    /**
+     * @return the amount of server ticks recorded in the last or current window
+     */
+    public static int getProfiledTicks() {
+        return profiledTicks;
+    }
+
+    /**
+     * @return the results of the last or current window, sorted by total time spent, highest first
+     */
+    @Nonnull
+    public static List<TickProfileEntry> getResults() {
+        List<TickProfileEntry> results = new ArrayList<>();
+        for (Map.Entry<Category, Map<Class<?>, TickTimeHistogram>> categoryEntry : histograms.entrySet()) {
+            for (Map.Entry<Class<?>, TickTimeHistogram> entry : categoryEntry.getValue().entrySet()) {
+                results.add(new TickProfileEntry(categoryEntry.getKey(), entry.getKey(), entry.getValue()));
+            }
+        }
+        results.sort(Comparator.comparingLong((TickProfileEntry entry) -> entry.histogram.getTotalNanos()).reversed());
+        return results;
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(ServerTickEvent event) {
+        if (!isActive || event.phase != Phase.END) return;
+        profiledTicks++;
+        if (--remainingTicks <= 0) {
+            Runnable callback = onFinish;
+            stop();
+            if (callback != null) callback.run();
+        }
+    }
+
+    public enum Category {
+        MACHINE,
+        TRAIT,
+        COVER,
+        PIPE_NET
+    }
+}
@@ -0,0 +1,72 @@
+package gregtech.api.util;
+
+/**
+ * Histogram of tick times in nanoseconds, with logarithmic buckets.
+ * <p>
+ * Each power of two is split into four buckets, so percentiles are accurate to within 25%,
+ * while recording a tick time is constant time and allocation free.
+ */
+public class TickTimeHistogram {
+
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = 64 << SUB_BUCKET_BITS;
+
+    private final long[] buckets = new long[BUCKET_COUNT];
+    private long count;
+    private long totalNanos;
+    private long maxNanos;
+
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        buckets[bucketOf(nanos)]++;
+        this.count++;
+        this.totalNanos += nanos;
+        if (nanos > maxNanos) {
+            this.maxNanos = nanos;
+        }
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    /**
+     * @param percentile the percentile, from 0 to 1
+     * @return the upper bound of the bucket the percentile falls into, never above the recorded maximum
+     */
+    public long getPercentile(double percentile) {
+        if (count == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(percentile * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return Math.min(bucketUpperBound(i), maxNanos);
+            }
+        }
+        return maxNanos;
+    }
+
+    static int bucketOf(long nanos) {
+        if (nanos < SUB_BUCKET_COUNT) return (int) nanos;
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        int mantissa = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+        return ((exponent - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS) + mantissa;
+    }
+
+    static long bucketUpperBound(int bucket) {
+        if (bucket < SUB_BUCKET_COUNT) return bucket;
+        int shift = (bucket >> SUB_BUCKET_BITS) - 1;
+        long mantissa = SUB_BUCKET_COUNT + (bucket & (SUB_BUCKET_COUNT - 1));
+        return ((mantissa + 1) << shift) - 1;
+    }
+}
@@ -69,6 +69,16 @@ public class ConfigHolder {
                 "unless placed directly onto another pipe or cable.", "Default: true"})
         public boolean gt6StylePipesCables = true;
 
+        @Config.Comment({"Whether Fluid Pipe networks should distribute fluid once per network, instead of every pipe moving fluid to its neighbours.",
+                "Fluid moves along the shortest path of pipes to the pipes next to accepting blocks, limited by the throughput of every pipe on the path.",
+                "Default: false"})
+        public boolean netLevelFluidPipeDistribution = false;
+
+        @Config.Comment({"Whether Conveyors, Robotic Arms, Pumps and Fluid Regulators should wait longer between transfer attempts while they can't transfer anything.",
+                "They resume right away when the contents of the block they are attached to, or a neighbouring block, change.",
+                "Default: false"})
+        public boolean sleepingTransferCovers = false;
+
         @Config.Comment({"Divisor for Recipe Duration per Overclock.", "Default: 2.0"})
         @Config.RangeDouble(min = 2.0, max = 3.0)
         @Config.SlidingOption
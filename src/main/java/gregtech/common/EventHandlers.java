@@ -4,6 +4,7 @@ import gregtech.api.GTValues;
 import gregtech.api.items.armor.ArmorMetaItem;
 import gregtech.api.items.toolitem.ToolClasses;
 import gregtech.api.metatileentity.interfaces.IGregTechTileEntity;
+import gregtech.api.metatileentity.multiblock.MultiblockStructureIndex;
 import gregtech.api.unification.material.Materials;
 import gregtech.api.util.CapesRegistry;
 import gregtech.api.util.GTUtility;
@@ -35,6 +36,7 @@ import net.minecraftforge.event.entity.living.LivingSpawnEvent;
 import net.minecraftforge.event.entity.player.AdvancementEvent;
 import net.minecraftforge.event.entity.player.PlayerInteractEvent;
 import net.minecraftforge.event.furnace.FurnaceFuelBurnTimeEvent;
+import net.minecraftforge.event.world.ChunkEvent;
 import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.fluids.FluidUtil;
 import net.minecraftforge.fml.common.Mod;
@@ -219,9 +221,20 @@ public class EventHandlers {
 
     @SubscribeEvent
     public static void onWorldUnloadEvent(WorldEvent.Unload event) {
+        MultiblockStructureIndex.onWorldUnload(event.getWorld());
         BedrockFluidVeinSaveData.setDirty();
     }
 
+    @SubscribeEvent
+    public static void onChunkLoadEvent(ChunkEvent.Load event) {
+        MultiblockStructureIndex.onChunkLoadChanged(event.getWorld(), event.getChunk());
+    }
+
+    @SubscribeEvent
+    public static void onChunkUnloadEvent(ChunkEvent.Unload event) {
+        MultiblockStructureIndex.onChunkLoadChanged(event.getWorld(), event.getChunk());
+    }
+
     @SubscribeEvent
     public static void onWorldSaveEvent(WorldEvent.Save event) {
         BedrockFluidVeinSaveData.setDirty();
@@ -0,0 +1,128 @@
+package gregtech.common.command;
+
+import gregtech.api.util.GTLog;
+import gregtech.api.util.GTUtility;
+import gregtech.api.util.TickProfileEntry;
+import gregtech.api.util.TickProfiler;
+import gregtech.api.util.TickTimeHistogram;
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.command.WrongUsageException;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.text.Style;
+import net.minecraft.util.text.TextComponentString;
+import net.minecraft.util.text.TextComponentTranslation;
+import net.minecraft.util.text.TextFormatting;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+public class CommandProfile extends CommandBase {
+
+    private static final int DEFAULT_SECONDS = 30;
+    private static final int REPORT_LINES = 10;
+
+    @Nonnull
+    @Override
+    public String getName() {
+        return "profile";
+    }
+
+    @Override
+    public int getRequiredPermissionLevel() {
+        return 3;
+    }
+
+    @Nonnull
+    @Override
+    public String getUsage(@Nonnull ICommandSender sender) {
+        return "gregtech.command.profile.usage";
+    }
+
+    @Override
+    public void execute(@Nonnull MinecraftServer server, @Nonnull ICommandSender sender, @Nonnull String[] args) throws CommandException {
+        if (args.length == 0) {
+            throw new WrongUsageException(getUsage(sender));
+        }
+        if ("start".equals(args[0])) {
+            int seconds = args.length > 1 ? parseInt(args[1], 1, 3600) : DEFAULT_SECONDS;
+            TickProfiler.start(seconds * 20, () -> report(server, sender));
+            sender.sendMessage(new TextComponentTranslation("gregtech.command.profile.start", seconds));
+        } else if ("stop".equals(args[0])) {
+            if (!TickProfiler.isActive()) {
+                throw new CommandException("gregtech.command.profile.not_running");
+            }
+            TickProfiler.stop();
+            report(server, sender);
+        } else {
+            throw new WrongUsageException(getUsage(sender));
+        }
+    }
+
+    @Nonnull
+    @Override
+    public List<String> getTabCompletions(@Nonnull MinecraftServer server, @Nonnull ICommandSender sender, @Nonnull String[] args, @Nullable BlockPos targetPos) {
+        if (args.length == 1) {
+            return getListOfStringsMatchingLastWord(args, "start", "stop");
+        }
+        return Collections.emptyList();
+    }
+
+    private static void report(@Nonnull MinecraftServer server, @Nonnull ICommandSender sender) {
+        List<TickProfileEntry> entries = TickProfiler.getResults();
+        int ticks = TickProfiler.getProfiledTicks();
+        sender.sendMessage(new TextComponentTranslation("gregtech.command.profile.report", ticks));
+        for (int i = 0; i < Math.min(REPORT_LINES, entries.size()); i++) {
+            TickProfileEntry entry = entries.get(i);
+            TickTimeHistogram histogram = entry.histogram;
+            sender.sendMessage(new TextComponentTranslation("gregtech.command.profile.entry",
+                    entry.category.name().toLowerCase(),
+                    new TextComponentString(getDisplayName(entry.owner)).setStyle(new Style().setColor(TextFormatting.AQUA)),
+                    GTUtility.formatNumbers(histogram.getTotalNanos() / 1000 / Math.max(1, ticks)),
+                    GTUtility.formatNumbers(histogram.getCount()),
+                    GTUtility.formatNumbers(histogram.getPercentile(0.5) / 1000),
+                    GTUtility.formatNumbers(histogram.getPercentile(0.99) / 1000),
+                    GTUtility.formatNumbers(histogram.getMaxNanos() / 1000)));
+        }
+
+        File file = new File(server.getFile("gregtech/profiles"),
+                "tick_profile_" + new SimpleDateFormat("yyyy-MM-dd_HH.mm.ss").format(new Date()) + ".csv");
+        List<String> lines = new ArrayList<>(entries.size() + 1);
+        lines.add("category,class,calls,total_ns,p50_ns,p99_ns,max_ns,ticks");
+        for (TickProfileEntry entry : entries) {
+            TickTimeHistogram histogram = entry.histogram;
+            lines.add(entry.category.name().toLowerCase() + ',' + entry.owner.getName() + ',' + histogram.getCount() + ',' +
+                    histogram.getTotalNanos() + ',' + histogram.getPercentile(0.5) + ',' + histogram.getPercentile(0.99) + ',' +
+                    histogram.getMaxNanos() + ',' + ticks);
+        }
+        try {
+            Files.createDirectories(file.getParentFile().toPath());
+            Files.write(file.toPath(), lines, StandardCharsets.UTF_8);
+            sender.sendMessage(new TextComponentTranslation("gregtech.command.profile.saved", file.getPath()));
+        } catch (IOException exception) {
+            GTLog.logger.error("Failed to write tick profile to {}", file, exception);
+            sender.sendMessage(new TextComponentTranslation("gregtech.command.profile.save_failed")
+                    .setStyle(new Style().setColor(TextFormatting.RED)));
+        }
+    }
+
+    /**
+     * @return the simple name of the class, or the full name for anonymous classes, which have no simple name
+     */
+    @Nonnull
+    private static String getDisplayName(@Nonnull Class<?> owner) {
+        String name = owner.getSimpleName();
+        return name.isEmpty() ? owner.getName() : name;
+    }
+}
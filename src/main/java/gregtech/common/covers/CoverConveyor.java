@@ -6,7 +6,6 @@ import codechicken.lib.render.pipeline.IVertexOperation;
 import codechicken.lib.vec.Cuboid6;
 import codechicken.lib.vec.Matrix4;
 import gnu.trove.list.TIntList;
-import gnu.trove.list.array.TIntArrayList;
 import gregtech.api.GTValues;
 import gregtech.api.capability.GregtechTileCapabilities;
 import gregtech.api.capability.IControllable;
@@ -19,14 +18,11 @@ import gregtech.api.gui.ModularUI;
 import gregtech.api.gui.widgets.*;
 import gregtech.api.metatileentity.MetaTileEntity;
 import gregtech.api.util.GTTransferUtils;
-import gregtech.api.util.ItemStackHashStrategy;
 import gregtech.client.renderer.texture.Textures;
 import gregtech.client.renderer.texture.cube.SimpleSidedCubeRenderer;
 import gregtech.common.covers.filter.ItemFilterContainer;
 import gregtech.common.pipelike.itempipe.tile.TileEntityItemPipe;
-import it.unimi.dsi.fastutil.objects.Object2ObjectOpenCustomHashMap;
-import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
-import it.unimi.dsi.fastutil.objects.ObjectOpenCustomHashSet;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
 import net.minecraft.block.Block;
 import net.minecraft.client.renderer.texture.TextureAtlasSprite;
 import net.minecraft.entity.player.EntityPlayer;
@@ -60,6 +56,9 @@ public class CoverConveyor extends CoverBehavior implements CoverWithUI, ITickab
     protected int itemsLeftToTransferLastSecond;
     private CoverableItemHandlerWrapper itemHandlerWrapper;
     protected boolean isWorkingAllowed = true;
+    protected final CoverTransferScheduler transferScheduler = new CoverTransferScheduler(this, 5);
+    private final InventoryContentIndex holderContentIndex = new InventoryContentIndex();
+    private final InventoryContentIndex neighborContentIndex = new InventoryContentIndex();
 
     public CoverConveyor(ICoverable coverable, EnumFacing attachedSide, int tier, int itemsPerSecond) {
         super(coverable, attachedSide);
@@ -69,12 +68,20 @@ public class CoverConveyor extends CoverBehavior implements CoverWithUI, ITickab
         this.itemsLeftToTransferLastSecond = transferRate;
         this.conveyorMode = ConveyorMode.EXPORT;
         this.distributionMode = DistributionMode.INSERT_FIRST;
-        this.itemFilterContainer = new ItemFilterContainer(this);
+        this.itemFilterContainer = new ItemFilterContainer(this::onFilterChanged);
+    }
+
+    private void onFilterChanged() {
+        markAsDirty();
+        holderContentIndex.invalidate();
+        neighborContentIndex.invalidate();
+        transferScheduler.wakeUp();
     }
 
     public void setTransferRate(int transferRate) {
         this.transferRate = transferRate;
         coverHolder.markDirty();
+        transferScheduler.wakeUp();
 
         if (coverHolder.getWorld() != null && coverHolder.getWorld().isRemote) {
             // tile at cover holder pos
@@ -102,6 +109,7 @@ public class CoverConveyor extends CoverBehavior implements CoverWithUI, ITickab
         this.conveyorMode = conveyorMode;
         writeUpdateData(1, buf -> buf.writeEnumValue(conveyorMode));
         coverHolder.markDirty();
+        transferScheduler.wakeUp();
     }
 
     public ConveyorMode getConveyorMode() {
@@ -133,14 +141,16 @@ public class CoverConveyor extends CoverBehavior implements CoverWithUI, ITickab
     @Override
     public void update() {
         long timer = coverHolder.getOffsetTimer();
-        if (timer % 5 == 0 && isWorkingAllowed && itemsLeftToTransferLastSecond > 0) {
-            TileEntity tileEntity = coverHolder.getWorld().getTileEntity(coverHolder.getPos().offset(attachedSide));
+        if (isWorkingAllowed && itemsLeftToTransferLastSecond > 0 && transferScheduler.shouldAttempt(timer)) {
+            TileEntity tileEntity = transferScheduler.getNeighbor();
             IItemHandler itemHandler = tileEntity == null ? null : tileEntity.getCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, attachedSide.getOpposite());
             IItemHandler myItemHandler = coverHolder.getCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, attachedSide);
+            int totalTransferred = 0;
             if (itemHandler != null && myItemHandler != null) {
-                int totalTransferred = doTransferItems(itemHandler, myItemHandler, itemsLeftToTransferLastSecond);
+                totalTransferred = doTransferItems(itemHandler, myItemHandler, itemsLeftToTransferLastSecond);
                 this.itemsLeftToTransferLastSecond -= totalTransferred;
             }
+            transferScheduler.onAttempt(timer, totalTransferred > 0);
         }
         if (timer % 20 == 0) {
             this.itemsLeftToTransferLastSecond = transferRate;
@@ -160,49 +170,58 @@ public class CoverConveyor extends CoverBehavior implements CoverWithUI, ITickab
         return 0;
     }
 
-    protected int doTransferItemsByGroup(IItemHandler itemHandler, IItemHandler myItemHandler, Map<Object, GroupItemInfo> itemInfos, int maxTransferAmount) {
+    protected int doTransferItemsByGroup(IItemHandler itemHandler, IItemHandler myItemHandler, Object2IntMap<Object> itemAmounts, int maxTransferAmount) {
         if (conveyorMode == ConveyorMode.IMPORT) {
-            return moveInventoryItems(itemHandler, myItemHandler, itemInfos, maxTransferAmount);
+            return moveInventoryItems(itemHandler, neighborContentIndex, myItemHandler, itemAmounts, maxTransferAmount);
         } else if (conveyorMode == ConveyorMode.EXPORT) {
-            return moveInventoryItems(myItemHandler, itemHandler, itemInfos, maxTransferAmount);
+            return moveInventoryItems(myItemHandler, holderContentIndex, itemHandler, itemAmounts, maxTransferAmount);
         }
         return 0;
     }
 
     protected Map<Object, GroupItemInfo> doCountDestinationInventoryItemsByMatchIndex(IItemHandler itemHandler, IItemHandler myItemHandler) {
         if (conveyorMode == ConveyorMode.IMPORT) {
-            return countInventoryItemsByMatchSlot(myItemHandler);
+            return countInventoryItemsByMatchSlot(myItemHandler, holderContentIndex);
+        } else if (conveyorMode == ConveyorMode.EXPORT) {
+            return countInventoryItemsByMatchSlot(itemHandler, neighborContentIndex);
+        }
+        return Collections.emptyMap();
+    }
+
+    protected Map<Object, GroupItemInfo> doCountSourceInventoryItemsByMatchIndex(IItemHandler itemHandler, IItemHandler myItemHandler) {
+        if (conveyorMode == ConveyorMode.IMPORT) {
+            return countInventoryItemsByMatchSlot(itemHandler, neighborContentIndex);
         } else if (conveyorMode == ConveyorMode.EXPORT) {
-            return countInventoryItemsByMatchSlot(itemHandler);
+            return countInventoryItemsByMatchSlot(myItemHandler, holderContentIndex);
         }
         return Collections.emptyMap();
     }
 
     protected Map<ItemStack, TypeItemInfo> doCountSourceInventoryItemsByType(IItemHandler itemHandler, IItemHandler myItemHandler) {
         if (conveyorMode == ConveyorMode.IMPORT) {
-            return countInventoryItemsByType(itemHandler);
+            return countInventoryItemsByType(itemHandler, neighborContentIndex);
         } else if (conveyorMode == ConveyorMode.EXPORT) {
-            return countInventoryItemsByType(myItemHandler);
+            return countInventoryItemsByType(myItemHandler, holderContentIndex);
         }
         return Collections.emptyMap();
     }
 
-    protected boolean doTransferItemsExact(IItemHandler itemHandler, IItemHandler myItemHandler, TypeItemInfo itemInfo) {
+    protected boolean doTransferItemsExact(IItemHandler itemHandler, IItemHandler myItemHandler, TypeItemInfo itemInfo, int amount) {
         if (conveyorMode == ConveyorMode.IMPORT) {
-            return moveInventoryItemsExact(itemHandler, myItemHandler, itemInfo);
+            return moveInventoryItemsExact(itemHandler, myItemHandler, itemInfo, amount);
         } else if (conveyorMode == ConveyorMode.EXPORT) {
-            return moveInventoryItemsExact(myItemHandler, itemHandler, itemInfo);
+            return moveInventoryItemsExact(myItemHandler, itemHandler, itemInfo, amount);
         }
         return false;
     }
 
-    protected static boolean moveInventoryItemsExact(IItemHandler sourceInventory, IItemHandler targetInventory, TypeItemInfo itemInfo) {
+    protected static boolean moveInventoryItemsExact(IItemHandler sourceInventory, IItemHandler targetInventory, TypeItemInfo itemInfo, int amount) {
         //first, compute how much can we extract in reality from the machine,
         //because totalCount is based on what getStackInSlot returns, which may differ from what
         //extractItem() will return
         ItemStack resultStack = itemInfo.itemStack.copy();
         int totalExtractedCount = 0;
-        int itemsLeftToExtract = itemInfo.totalCount;
+        int itemsLeftToExtract = amount;
 
         for (int i = 0; i < itemInfo.slots.size(); i++) {
             int slotIndex = itemInfo.slots.get(i);
@@ -219,7 +238,7 @@ public class CoverConveyor extends CoverBehavior implements CoverWithUI, ITickab
         }
         //if amount of items extracted is not equal to the amount of items we
         //wanted to extract, abort item extraction
-        if (totalExtractedCount != itemInfo.totalCount) {
+        if (totalExtractedCount != amount) {
             return false;
         }
         //adjust size of the result stack accordingly
@@ -236,7 +255,7 @@ public class CoverConveyor extends CoverBehavior implements CoverWithUI, ITickab
         GTTransferUtils.insertItem(targetInventory, resultStack, false);
 
         //perform real extraction of the items from the source inventory now
-        itemsLeftToExtract = itemInfo.totalCount;
+        itemsLeftToExtract = amount;
         for (int i = 0; i < itemInfo.slots.size(); i++) {
             int slotIndex = itemInfo.slots.get(i);
             ItemStack extractedStack = sourceInventory.extractItem(slotIndex, itemsLeftToExtract, false);
@@ -252,21 +271,21 @@ public class CoverConveyor extends CoverBehavior implements CoverWithUI, ITickab
         return true;
     }
 
-    protected int moveInventoryItems(IItemHandler sourceInventory, IItemHandler targetInventory, Map<Object, GroupItemInfo> itemInfos, int maxTransferAmount) {
+    private int moveInventoryItems(IItemHandler sourceInventory, InventoryContentIndex sourceIndex, IItemHandler targetInventory, Object2IntMap<Object> itemAmounts, int maxTransferAmount) {
+        sourceIndex.update(sourceInventory, itemFilterContainer);
         int itemsLeftToTransfer = maxTransferAmount;
+        int groupsLeftToTransfer = itemAmounts.size();
         for (int i = 0; i < sourceInventory.getSlots(); i++) {
-            ItemStack itemStack = sourceInventory.getStackInSlot(i);
-            if (itemStack.isEmpty()) {
+            Object matchSlotIndex = sourceIndex.getMatch(i);
+            if (matchSlotIndex == null) {
                 continue;
             }
-            Object matchSlotIndex = itemFilterContainer.matchItemStack(itemStack);
-            if (matchSlotIndex == null || !itemInfos.containsKey(matchSlotIndex)) {
+            int groupItemsLeftToTransfer = itemAmounts.getInt(matchSlotIndex);
+            if (groupItemsLeftToTransfer <= 0) {
                 continue;
             }
 
-            GroupItemInfo itemInfo = itemInfos.get(matchSlotIndex);
-
-            ItemStack extractedStack = sourceInventory.extractItem(i, Math.min(itemInfo.totalCount, itemsLeftToTransfer), true);
+            ItemStack extractedStack = sourceInventory.extractItem(i, Math.min(groupItemsLeftToTransfer, itemsLeftToTransfer), true);
 
             ItemStack remainderStack = GTTransferUtils.insertItem(targetInventory, extractedStack, true);
             int amountToInsert = extractedStack.getCount() - remainderStack.getCount();
@@ -278,13 +297,11 @@ public class CoverConveyor extends CoverBehavior implements CoverWithUI, ITickab
 
                     GTTransferUtils.insertItem(targetInventory, extractedStack, false);
                     itemsLeftToTransfer -= extractedStack.getCount();
-                    itemInfo.totalCount -= extractedStack.getCount();
+                    groupItemsLeftToTransfer -= extractedStack.getCount();
+                    itemAmounts.put(matchSlotIndex, groupItemsLeftToTransfer);
 
-                    if (itemInfo.totalCount == 0) {
-                        itemInfos.remove(matchSlotIndex);
-                        if (itemInfos.isEmpty()) {
-                            break;
-                        }
+                    if (groupItemsLeftToTransfer == 0 && --groupsLeftToTransfer == 0) {
+                        break;
                     }
                     if (itemsLeftToTransfer == 0) {
                         break;
@@ -349,56 +366,24 @@ public class CoverConveyor extends CoverBehavior implements CoverWithUI, ITickab
         }
     }
 
+    /**
+     * @return the matched items of the inventory of the cover holder by item type, which must not be modified
+     */
     @Nonnull
-    protected Map<ItemStack, TypeItemInfo> countInventoryItemsByType(@Nonnull IItemHandler inventory) {
-        Map<ItemStack, TypeItemInfo> result = new Object2ObjectOpenCustomHashMap<>(ItemStackHashStrategy.comparingAllButCount());
-        for (int srcIndex = 0; srcIndex < inventory.getSlots(); srcIndex++) {
-            ItemStack itemStack = inventory.getStackInSlot(srcIndex);
-            if (itemStack.isEmpty()) {
-                continue;
-            }
-            Object transferSlotIndex = itemFilterContainer.matchItemStack(itemStack);
-            if (transferSlotIndex == null) {
-                continue;
-            }
-            if (!result.containsKey(itemStack)) {
-                TypeItemInfo itemInfo = new TypeItemInfo(itemStack.copy(), transferSlotIndex, new TIntArrayList(), 0);
-                itemInfo.totalCount += itemStack.getCount();
-                itemInfo.slots.add(srcIndex);
-                result.put(itemStack.copy(), itemInfo);
-            } else {
-                TypeItemInfo itemInfo = result.get(itemStack);
-                itemInfo.totalCount += itemStack.getCount();
-                itemInfo.slots.add(srcIndex);
-            }
-        }
-        return result;
+    protected Map<ItemStack, TypeItemInfo> countHolderInventoryItemsByType(@Nonnull IItemHandler myItemHandler) {
+        return countInventoryItemsByType(myItemHandler, holderContentIndex);
     }
 
     @Nonnull
-    protected Map<Object, GroupItemInfo> countInventoryItemsByMatchSlot(@Nonnull IItemHandler inventory) {
-        Map<Object, GroupItemInfo> result = new Object2ObjectOpenHashMap<>();
-        for (int srcIndex = 0; srcIndex < inventory.getSlots(); srcIndex++) {
-            ItemStack itemStack = inventory.getStackInSlot(srcIndex);
-            if (itemStack.isEmpty()) {
-                continue;
-            }
-            Object transferSlotIndex = itemFilterContainer.matchItemStack(itemStack);
-            if (transferSlotIndex == null) {
-                continue;
-            }
-            if (!result.containsKey(transferSlotIndex)) {
-                GroupItemInfo itemInfo = new GroupItemInfo(transferSlotIndex, new ObjectOpenCustomHashSet<>(ItemStackHashStrategy.comparingAllButCount()), 0);
-                itemInfo.itemStackTypes.add(itemStack.copy());
-                itemInfo.totalCount += itemStack.getCount();
-                result.put(transferSlotIndex, itemInfo);
-            } else {
-                GroupItemInfo itemInfo = result.get(transferSlotIndex);
-                itemInfo.itemStackTypes.add(itemStack.copy());
-                itemInfo.totalCount += itemStack.getCount();
-            }
-        }
-        return result;
+    private Map<ItemStack, TypeItemInfo> countInventoryItemsByType(@Nonnull IItemHandler inventory, @Nonnull InventoryContentIndex index) {
+        index.update(inventory, itemFilterContainer);
+        return index.getTypes();
+    }
+
+    @Nonnull
+    private Map<Object, GroupItemInfo> countInventoryItemsByMatchSlot(@Nonnull IItemHandler inventory, @Nonnull InventoryContentIndex index) {
+        index.update(inventory, itemFilterContainer);
+        return index.getGroups();
     }
 
     @Override
@@ -516,6 +501,17 @@ public class CoverConveyor extends CoverBehavior implements CoverWithUI, ITickab
     @Override
     public void setWorkingEnabled(boolean isActivationAllowed) {
         this.isWorkingAllowed = isActivationAllowed;
+        transferScheduler.wakeUp();
+    }
+
+    @Override
+    public void onNeighborChanged() {
+        transferScheduler.onNeighborChanged();
+    }
+
+    @Override
+    public void onHolderContentsChanged() {
+        transferScheduler.wakeUp();
     }
 
     @Override
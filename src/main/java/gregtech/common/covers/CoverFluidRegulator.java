@@ -231,6 +231,7 @@ public class CoverFluidRegulator extends CoverPump {
     public void setTransferMode(TransferMode transferMode) {
         this.transferMode = transferMode;
         this.coverHolder.markDirty();
+        this.transferScheduler.wakeUp();
     }
 
     public TransferMode getTransferMode() {
@@ -287,6 +288,7 @@ public class CoverFluidRegulator extends CoverPump {
     private void setTransferAmount(int transferAmount) {
         this.transferAmount = transferAmount;
         coverHolder.markDirty();
+        transferScheduler.wakeUp();
     }
 
     @Override
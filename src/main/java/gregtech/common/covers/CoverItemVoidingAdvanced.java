@@ -49,24 +49,22 @@ public class CoverItemVoidingAdvanced extends CoverItemVoiding {
     }
 
     protected void voidOverflow(IItemHandler myItemHandler) {
-        Map<ItemStack, TypeItemInfo> itemTypeCount = countInventoryItemsByType(myItemHandler);
+        Map<ItemStack, TypeItemInfo> itemTypeCount = countHolderInventoryItemsByType(myItemHandler);
         for (TypeItemInfo typeItemInfo : itemTypeCount.values()) {
 
-            int itemToVoidAmount = 0;
+            int itemToVoidAmount;
             if (getItemFilterContainer().getFilterWrapper().getItemFilter() == null) {
                 itemToVoidAmount = typeItemInfo.totalCount - itemFilterContainer.getTransferStackSize();
             } else {
-                if (itemFilterContainer.testItemStack(typeItemInfo.itemStack)) {
-                    Object matchedSlot = itemFilterContainer.matchItemStack(typeItemInfo.itemStack);
-                    itemToVoidAmount = typeItemInfo.totalCount - itemFilterContainer.getSlotTransferLimit(matchedSlot);
-                }
+                itemToVoidAmount = typeItemInfo.totalCount - itemFilterContainer.getSlotTransferLimit(typeItemInfo.filterSlot);
             }
 
             if (itemToVoidAmount <= 0) {
                 continue;
             }
 
-            for (int srcIndex = 0; srcIndex < myItemHandler.getSlots(); srcIndex++) {
+            for (int i = 0; i < typeItemInfo.slots.size(); i++) {
+                int srcIndex = typeItemInfo.slots.get(i);
                 ItemStack is = myItemHandler.getStackInSlot(srcIndex);
                 if (!is.isEmpty() && ItemStack.areItemsEqual(is, typeItemInfo.itemStack) && ItemStack.areItemStackTagsEqual(is, typeItemInfo.itemStack)) {
                     ItemStack extracted = myItemHandler.extractItem(srcIndex, itemToVoidAmount, false);
@@ -30,7 +30,6 @@ import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.network.PacketBuffer;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.*;
-import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.BlockPos.PooledMutableBlockPos;
 import net.minecraft.util.math.MathHelper;
 import net.minecraftforge.common.capabilities.Capability;
@@ -56,6 +55,7 @@ public class CoverPump extends CoverBehavior implements CoverWithUI, ITickable,
     protected int fluidLeftToTransferLastSecond;
     private CoverableFluidHandlerWrapper fluidHandlerWrapper;
     protected boolean isWorkingAllowed = true;
+    protected final CoverTransferScheduler transferScheduler = new CoverTransferScheduler(this, 1);
     protected FluidFilterContainer fluidFilter;
     protected BucketMode bucketMode;
 
@@ -78,6 +78,7 @@ public class CoverPump extends CoverBehavior implements CoverWithUI, ITickable,
     public void setTransferRate(int transferRate) {
         this.transferRate = transferRate;
         coverHolder.markDirty();
+        transferScheduler.wakeUp();
     }
 
     public int getTransferRate() {
@@ -93,6 +94,7 @@ public class CoverPump extends CoverBehavior implements CoverWithUI, ITickable,
         this.pumpMode = pumpMode;
         writeUpdateData(1, buf -> buf.writeEnumValue(pumpMode));
         coverHolder.markDirty();
+        transferScheduler.wakeUp();
     }
 
     public PumpMode getPumpMode() {
@@ -126,8 +128,10 @@ public class CoverPump extends CoverBehavior implements CoverWithUI, ITickable,
     @Override
     public void update() {
         long timer = coverHolder.getOffsetTimer();
-        if (isWorkingAllowed && fluidLeftToTransferLastSecond > 0) {
-            this.fluidLeftToTransferLastSecond -= doTransferFluids(fluidLeftToTransferLastSecond);
+        if (isWorkingAllowed && fluidLeftToTransferLastSecond > 0 && transferScheduler.shouldAttempt(timer)) {
+            int transferred = doTransferFluids(fluidLeftToTransferLastSecond);
+            this.fluidLeftToTransferLastSecond -= transferred;
+            transferScheduler.onAttempt(timer, transferred > 0);
         }
         if (timer % 20 == 0) {
             this.fluidLeftToTransferLastSecond = transferRate;
@@ -135,8 +139,7 @@ public class CoverPump extends CoverBehavior implements CoverWithUI, ITickable,
     }
 
     protected int doTransferFluids(int transferLimit) {
-        BlockPos pos = coverHolder.getPos().offset(attachedSide);
-        TileEntity tileEntity = coverHolder.getWorld().getTileEntity(pos);
+        TileEntity tileEntity = transferScheduler.getNeighbor();
         IFluidHandler fluidHandler = tileEntity == null ? null : tileEntity.getCapability(CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY, attachedSide.getOpposite());
         IFluidHandler myFluidHandler = coverHolder.getCapability(CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY, attachedSide);
         if (fluidHandler == null || myFluidHandler == null) {
@@ -323,6 +326,17 @@ public class CoverPump extends CoverBehavior implements CoverWithUI, ITickable,
     @Override
     public void setWorkingEnabled(boolean isActivationAllowed) {
         this.isWorkingAllowed = isActivationAllowed;
+        transferScheduler.wakeUp();
+    }
+
+    @Override
+    public void onNeighborChanged() {
+        transferScheduler.onNeighborChanged();
+    }
+
+    @Override
+    public void onHolderContentsChanged() {
+        transferScheduler.wakeUp();
     }
 
     @Override
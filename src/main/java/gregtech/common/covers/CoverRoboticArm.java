@@ -11,6 +11,8 @@ import gregtech.api.gui.ModularUI.Builder;
 import gregtech.api.gui.widgets.*;
 import gregtech.client.renderer.texture.Textures;
 import gregtech.common.pipelike.itempipe.net.ItemNetHandler;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
@@ -19,13 +21,13 @@ import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.MathHelper;
 import net.minecraftforge.items.IItemHandler;
 
-import java.util.Iterator;
 import java.util.Map;
 
 public class CoverRoboticArm extends CoverConveyor {
 
     protected TransferMode transferMode;
     protected int itemsTransferBuffered;
+    private final Object2IntMap<Object> keepExactItemAmounts = new Object2IntOpenHashMap<>();
 
     public CoverRoboticArm(ICoverable coverable, EnumFacing attachedSide, int tier, int itemsPerSecond) {
         super(coverable, attachedSide, tier, itemsPerSecond);
@@ -64,26 +66,18 @@ public class CoverRoboticArm extends CoverConveyor {
 
     protected int doTransferExact(IItemHandler itemHandler, IItemHandler myItemHandler, int maxTransferAmount) {
         Map<ItemStack, TypeItemInfo> sourceItemAmount = doCountSourceInventoryItemsByType(itemHandler, myItemHandler);
-        Iterator<ItemStack> iterator = sourceItemAmount.keySet().iterator();
-        while (iterator.hasNext()) {
-            TypeItemInfo sourceInfo = sourceItemAmount.get(iterator.next());
-            int itemAmount = sourceInfo.totalCount;
-            int itemToMoveAmount = itemFilterContainer.getSlotTransferLimit(sourceInfo.filterSlot);
-            if (itemAmount >= itemToMoveAmount) {
-                sourceInfo.totalCount = itemToMoveAmount;
-            } else {
-                iterator.remove();
-            }
-        }
-
         int itemsTransferred = 0;
         int maxTotalTransferAmount = maxTransferAmount + itemsTransferBuffered;
         boolean notEnoughTransferRate = false;
         for (TypeItemInfo itemInfo : sourceItemAmount.values()) {
-            if (maxTotalTransferAmount >= itemInfo.totalCount) {
-                boolean result = doTransferItemsExact(itemHandler, myItemHandler, itemInfo);
-                itemsTransferred += result ? itemInfo.totalCount : 0;
-                maxTotalTransferAmount -= result ? itemInfo.totalCount : 0;
+            int itemToMoveAmount = itemFilterContainer.getSlotTransferLimit(itemInfo.filterSlot);
+            if (itemInfo.totalCount < itemToMoveAmount) {
+                continue;
+            }
+            if (maxTotalTransferAmount >= itemToMoveAmount) {
+                boolean result = doTransferItemsExact(itemHandler, myItemHandler, itemInfo, itemToMoveAmount);
+                itemsTransferred += result ? itemToMoveAmount : 0;
+                maxTotalTransferAmount -= result ? itemToMoveAmount : 0;
             } else {
                 notEnoughTransferRate = true;
             }
@@ -100,24 +94,20 @@ public class CoverRoboticArm extends CoverConveyor {
 
     protected int doKeepExact(IItemHandler itemHandler, IItemHandler myItemHandler, int maxTransferAmount) {
         Map<Object, GroupItemInfo> currentItemAmount = doCountDestinationInventoryItemsByMatchIndex(itemHandler, myItemHandler);
-        Map<Object, GroupItemInfo> sourceItemAmounts = doCountDestinationInventoryItemsByMatchIndex(myItemHandler, itemHandler);
-        Iterator<Object> iterator = sourceItemAmounts.keySet().iterator();
-        while (iterator.hasNext()) {
-            Object filterSlotIndex = iterator.next();
-            GroupItemInfo sourceInfo = sourceItemAmounts.get(filterSlotIndex);
+        Map<Object, GroupItemInfo> sourceItemAmounts = doCountSourceInventoryItemsByMatchIndex(itemHandler, myItemHandler);
+        keepExactItemAmounts.clear();
+        for (GroupItemInfo sourceInfo : sourceItemAmounts.values()) {
             int itemToKeepAmount = itemFilterContainer.getSlotTransferLimit(sourceInfo.filterSlot);
             int itemAmount = 0;
-            if (currentItemAmount.containsKey(filterSlotIndex)) {
-                GroupItemInfo destItemInfo = currentItemAmount.get(filterSlotIndex);
+            GroupItemInfo destItemInfo = currentItemAmount.get(sourceInfo.filterSlot);
+            if (destItemInfo != null) {
                 itemAmount = destItemInfo.totalCount;
             }
             if (itemAmount < itemToKeepAmount) {
-                sourceInfo.totalCount = itemToKeepAmount - itemAmount;
-            } else {
-                iterator.remove();
+                keepExactItemAmounts.put(sourceInfo.filterSlot, itemToKeepAmount - itemAmount);
             }
         }
-        return doTransferItemsByGroup(itemHandler, myItemHandler, sourceItemAmounts, maxTransferAmount);
+        return doTransferItemsByGroup(itemHandler, myItemHandler, keepExactItemAmounts, maxTransferAmount);
     }
 
     public int getBuffer() {
@@ -136,6 +126,7 @@ public class CoverRoboticArm extends CoverConveyor {
         this.transferMode = transferMode;
         this.coverHolder.markDirty();
         this.itemFilterContainer.setMaxStackSize(transferMode.maxStackSize);
+        this.transferScheduler.wakeUp();
     }
 
     public TransferMode getTransferMode() {
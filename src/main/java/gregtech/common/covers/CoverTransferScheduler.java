@@ -0,0 +1,98 @@
+package gregtech.common.covers;
+
+import gregtech.api.cover.CoverBehavior;
+import gregtech.common.ConfigHolder;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Decides when a transferring cover attempts its next transfer, and caches the tile entity it transfers to or from.
+ * <p>
+ * Covers attempt a transfer every {@code interval} ticks. With {@link ConfigHolder.MachineOptions#sleepingTransferCovers}
+ * enabled, a cover which could not transfer anything, because its source is empty or its target is full, doubles the
+ * time until its next attempt, up to {@link #MAX_SLEEP_TICKS} ticks. It is woken up by changes to the contents of its
+ * holder, to neighbouring blocks and to its own settings. Changes to the contents of the neighbouring inventory
+ * are only noticed by the next attempt.
+ */
+public class CoverTransferScheduler {
+
+    public static final int MAX_SLEEP_TICKS = 80;
+
+    private final CoverBehavior cover;
+    private final int interval;
+    private int currentInterval;
+    private long nextAttempt;
+
+    @Nullable
+    private BlockPos neighborPos;
+    @Nullable
+    private Chunk neighborChunk;
+    @Nullable
+    private TileEntity neighbor;
+
+    /**
+     * @param interval the amount of ticks between attempts while transferring
+     */
+    public CoverTransferScheduler(@Nonnull CoverBehavior cover, int interval) {
+        this.cover = cover;
+        this.interval = interval;
+        this.currentInterval = interval;
+    }
+
+    /**
+     * @param timer the offset timer of the cover holder
+     * @return whether a transfer should be attempted in this tick
+     */
+    public boolean shouldAttempt(long timer) {
+        return timer % interval == 0 && (!ConfigHolder.machines.sleepingTransferCovers || timer >= nextAttempt);
+    }
+
+    /**
+     * @param timer       the offset timer of the cover holder
+     * @param transferred whether the attempt transferred anything
+     */
+    public void onAttempt(long timer, boolean transferred) {
+        this.currentInterval = transferred ? interval : Math.min(currentInterval * 2, MAX_SLEEP_TICKS);
+        this.nextAttempt = timer + currentInterval;
+    }
+
+    /**
+     * Makes the cover attempt a transfer on the next interval again
+     */
+    public void wakeUp() {
+        this.currentInterval = interval;
+        this.nextAttempt = 0;
+    }
+
+    public void onNeighborChanged() {
+        this.neighborChunk = null;
+        this.neighbor = null;
+        wakeUp();
+    }
+
+    /**
+     * @return the tile entity on the side the cover is attached to
+     */
+    @Nullable
+    public TileEntity getNeighbor() {
+        World world = cover.coverHolder.getWorld();
+        if (neighborPos == null) {
+            this.neighborPos = cover.coverHolder.getPos().offset(cover.attachedSide);
+        }
+        if (!ConfigHolder.machines.sleepingTransferCovers) {
+            return world.getTileEntity(neighborPos);
+        }
+        // a reloaded chunk holds new tile entities, without a neighbour change being notified
+        Chunk chunk = world.getChunkProvider().getLoadedChunk(neighborPos.getX() >> 4, neighborPos.getZ() >> 4);
+        if (chunk == null || chunk != neighborChunk || neighbor != null && neighbor.isInvalid()) {
+            this.neighbor = world.getTileEntity(neighborPos);
+            this.neighborChunk = chunk;
+        }
+        return neighbor;
+    }
+}
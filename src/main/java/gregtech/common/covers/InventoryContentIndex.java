@@ -0,0 +1,164 @@
+package gregtech.common.covers;
+
+import gnu.trove.list.TIntList;
+import gnu.trove.list.array.TIntArrayList;
+import gregtech.api.util.ItemStackHashStrategy;
+import gregtech.common.covers.CoverConveyor.GroupItemInfo;
+import gregtech.common.covers.CoverConveyor.TypeItemInfo;
+import gregtech.common.covers.filter.ItemFilterContainer;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenCustomHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectOpenCustomHashSet;
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.items.IItemHandler;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Index of the contents of an inventory, grouped by item type and by matching filter slot.
+ * <p>
+ * {@link IItemHandler} does not notify about changes to its contents, so the index keeps a copy of every slot and
+ * compares it to the inventory on each {@link #update}. Only slots which changed are matched against the filter
+ * and regrouped again, and slots which only changed in count are adjusted in place.
+ */
+final class InventoryContentIndex {
+
+    private static final ItemStackHashStrategy HASH_STRATEGY = ItemStackHashStrategy.comparingAllButCount();
+
+    private final Map<ItemStack, TypeItemInfo> types = new Object2ObjectOpenCustomHashMap<>(HASH_STRATEGY);
+    private final Map<Object, GroupItemInfo> groups = new Object2ObjectOpenHashMap<>();
+
+    @Nullable
+    private IItemHandler inventory;
+    private ItemStack[] slotStacks = new ItemStack[0];
+    private Object[] slotMatches = new Object[0];
+    private boolean valid;
+
+    /**
+     * Makes the next update rebuild the whole index, as the filter it was built with has changed
+     */
+    void invalidate() {
+        this.valid = false;
+    }
+
+    /**
+     * Brings the index up to date with the contents of the inventory
+     *
+     * @param inventory the inventory to index, rebuilding the index if it is not the one indexed before
+     * @param filter    the filter to group the items by
+     */
+    void update(@Nonnull IItemHandler inventory, @Nonnull ItemFilterContainer filter) {
+        int slots = inventory.getSlots();
+        if (this.inventory != inventory || slotStacks.length != slots) {
+            this.inventory = inventory;
+            this.slotStacks = new ItemStack[slots];
+            this.slotMatches = new Object[slots];
+            this.valid = false;
+        }
+        if (!valid) {
+            types.clear();
+            groups.clear();
+            Arrays.fill(slotStacks, ItemStack.EMPTY);
+            Arrays.fill(slotMatches, null);
+            this.valid = true;
+        }
+        for (int slot = 0; slot < slots; slot++) {
+            ItemStack stack = inventory.getStackInSlot(slot);
+            ItemStack previous = slotStacks[slot];
+            if (HASH_STRATEGY.equals(previous, stack)) {
+                int delta = stack.getCount() - previous.getCount();
+                if (delta != 0) {
+                    previous.setCount(stack.getCount());
+                    Object match = slotMatches[slot];
+                    if (match != null) {
+                        types.get(previous).totalCount += delta;
+                        groups.get(match).totalCount += delta;
+                    }
+                }
+                continue;
+            }
+            removeSlot(slot);
+            if (!stack.isEmpty()) {
+                addSlot(slot, stack, filter);
+            }
+        }
+    }
+
+    /**
+     * @return the matched items of the inventory by item type, which must not be modified
+     */
+    @Nonnull
+    Map<ItemStack, TypeItemInfo> getTypes() {
+        return types;
+    }
+
+    /**
+     * @return the matched items of the inventory by filter slot, which must not be modified
+     */
+    @Nonnull
+    Map<Object, GroupItemInfo> getGroups() {
+        return groups;
+    }
+
+    /**
+     * @return the filter slot the item in the slot matched, or {@code null} if it is empty or did not match
+     */
+    @Nullable
+    Object getMatch(int slot) {
+        return slot < slotMatches.length ? slotMatches[slot] : null;
+    }
+
+    private void addSlot(int slot, @Nonnull ItemStack stack, @Nonnull ItemFilterContainer filter) {
+        this.slotStacks[slot] = stack.copy();
+        TypeItemInfo typeInfo = types.get(stack);
+        GroupItemInfo groupInfo;
+        if (typeInfo == null) {
+            Object match = filter.matchItemStack(stack);
+            if (match == null) {
+                return;
+            }
+            ItemStack type = stack.copy();
+            typeInfo = new TypeItemInfo(type, match, new TIntArrayList(), 0);
+            types.put(type, typeInfo);
+            groupInfo = groups.get(match);
+            if (groupInfo == null) {
+                groupInfo = new GroupItemInfo(match, new ObjectOpenCustomHashSet<>(HASH_STRATEGY), 0);
+                groups.put(match, groupInfo);
+            }
+            groupInfo.itemStackTypes.add(type);
+        } else {
+            groupInfo = groups.get(typeInfo.filterSlot);
+        }
+        this.slotMatches[slot] = typeInfo.filterSlot;
+        // keep the slots in inventory order, which is the order items are extracted in
+        TIntList typeSlots = typeInfo.slots;
+        typeSlots.insert(-typeSlots.binarySearch(slot) - 1, slot);
+        typeInfo.totalCount += stack.getCount();
+        groupInfo.totalCount += stack.getCount();
+    }
+
+    private void removeSlot(int slot) {
+        ItemStack previous = slotStacks[slot];
+        Object match = slotMatches[slot];
+        this.slotStacks[slot] = ItemStack.EMPTY;
+        this.slotMatches[slot] = null;
+        if (match == null) {
+            return;
+        }
+        TypeItemInfo typeInfo = types.get(previous);
+        GroupItemInfo groupInfo = groups.get(match);
+        typeInfo.slots.remove(slot);
+        typeInfo.totalCount -= previous.getCount();
+        groupInfo.totalCount -= previous.getCount();
+        if (typeInfo.slots.isEmpty()) {
+            types.remove(previous);
+            groupInfo.itemStackTypes.remove(previous);
+            if (groupInfo.itemStackTypes.isEmpty()) {
+                groups.remove(match);
+            }
+        }
+    }
+}
@@ -4,16 +4,10 @@ import gregtech.api.gui.GuiTextures;
 import gregtech.api.gui.Widget;
 import gregtech.api.gui.widgets.DrawableWidget;
 import gregtech.api.gui.widgets.ImageWidget;
-import gregtech.api.util.ItemStackHashStrategy;
 import gregtech.api.util.oreglob.OreGlob;
-import gregtech.api.util.oreglob.OreGlobCompileResult;
-import gregtech.common.covers.filter.oreglob.impl.ImpossibleOreGlob;
 import gregtech.common.gui.widget.HighlightedTextField;
 import gregtech.common.gui.widget.orefilter.ItemOreFilterTestSlot;
 import gregtech.common.gui.widget.orefilter.OreGlobCompileStatusWidget;
-import it.unimi.dsi.fastutil.Hash;
-import it.unimi.dsi.fastutil.objects.Object2BooleanMap;
-import it.unimi.dsi.fastutil.objects.Object2BooleanOpenCustomHashMap;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.text.TextFormatting;
@@ -22,13 +16,8 @@ import java.util.function.Consumer;
 
 public class OreDictionaryItemFilter extends ItemFilter {
 
-    private static final Hash.Strategy<ItemStack> HASH_STRATEGY = ItemStackHashStrategy.builder().compareItem(true).compareDamage(true).build();
-
     protected String expression = "";
-    private OreGlob glob = ImpossibleOreGlob.getInstance();
-    private boolean error;
-
-    private final Object2BooleanMap<ItemStack> matchCache = new Object2BooleanOpenCustomHashMap<>(HASH_STRATEGY);
+    private OreGlobCache.Entry cacheEntry = OreGlobCache.getEntry("");
 
     public String getExpression() {
         return expression;
@@ -46,20 +35,12 @@ public class OreDictionaryItemFilter extends ItemFilter {
                 s -> {
                     if (s.equals(this.expression)) return;
                     this.expression = s;
-                    if (!s.isEmpty()) {
-                        OreGlobCompileResult result = OreGlob.compile(s);
-                        this.glob = result.getInstance();
-                        this.error = result.hasError();
-                        compilationStatus.setCompileResult(result);
-                    } else {
-                        this.glob = ImpossibleOreGlob.getInstance();
-                        this.error = true;
-                        compilationStatus.setCompileResult(null);
-                    }
-                    this.matchCache.clear();
+                    this.cacheEntry = OreGlobCache.getEntry(s);
+                    // compiled separately, as the reports refer to positions in the unnormalized expression
+                    compilationStatus.setCompileResult(s.isEmpty() ? null : OreGlob.compile(s));
                     markDirty();
                     for (ItemOreFilterTestSlot slot : testSlot) {
-                        slot.setGlob(this.error ? null : this.glob);
+                        slot.setGlob(this.cacheEntry.hasError() ? null : this.cacheEntry.getGlob());
                     }
                 });
         compilationStatus.setTextField(textField);
@@ -122,14 +103,7 @@ public class OreDictionaryItemFilter extends ItemFilter {
     }
 
     public boolean matchesItemStack(ItemStack itemStack) {
-        if (this.error) return false;
-        Boolean cached = this.matchCache.get(itemStack);
-        if (cached != null) {
-            return cached;
-        }
-        boolean matches = this.glob.matches(itemStack);
-        this.matchCache.put(itemStack, matches);
-        return matches;
+        return this.cacheEntry.matches(itemStack);
     }
 
     @Override
@@ -155,13 +129,6 @@ public class OreDictionaryItemFilter extends ItemFilter {
     @Override
     public void readFromNBT(NBTTagCompound tagCompound) {
         this.expression = tagCompound.getString("OreDictionaryFilter");
-        if (!this.expression.isEmpty()) {
-            OreGlobCompileResult result = OreGlob.compile(this.expression);
-            this.glob = result.getInstance();
-            this.error = result.hasError();
-        } else {
-            this.glob = ImpossibleOreGlob.getInstance();
-            this.error = true;
-        }
+        this.cacheEntry = OreGlobCache.getEntry(this.expression);
     }
 }
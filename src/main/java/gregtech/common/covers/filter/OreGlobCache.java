@@ -0,0 +1,143 @@
+package gregtech.common.covers.filter;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import gregtech.api.util.ItemStackHashStrategy;
+import gregtech.api.util.oreglob.OreGlob;
+import gregtech.api.util.oreglob.OreGlobCompileResult;
+import gregtech.common.covers.filter.oreglob.impl.ImpossibleOreGlob;
+import it.unimi.dsi.fastutil.Hash;
+import it.unimi.dsi.fastutil.objects.Object2BooleanLinkedOpenCustomHashMap;
+import net.minecraft.item.ItemStack;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Global cache of compiled ore dictionary filter expressions, and of their match results per item.
+ * <p>
+ * Filters with the same expression share one {@link Entry}, so the expression is compiled once, and every item
+ * is only matched against it once. Both the amount of expressions and the amount of results kept per expression
+ * are bounded, evicting the least recently used ones first.
+ */
+public final class OreGlobCache {
+
+    private static final int MAX_EXPRESSIONS = 256;
+    private static final int MAX_RESULTS_PER_EXPRESSION = 2048;
+
+    private static final Hash.Strategy<ItemStack> HASH_STRATEGY = ItemStackHashStrategy.builder().compareItem(true).compareDamage(true).build();
+
+    private static final Cache<String, Entry> entries = CacheBuilder.newBuilder()
+            .maximumSize(MAX_EXPRESSIONS)
+            .build();
+
+    private static final Entry EMPTY = new Entry(ImpossibleOreGlob.getInstance(), true);
+
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+
+    private OreGlobCache() {
+    }
+
+    /**
+     * @param expression the filter expression
+     * @return the shared entry for the expression, compiling it if it is not cached yet
+     */
+    @Nonnull
+    public static Entry getEntry(@Nonnull String expression) {
+        String key = normalize(expression);
+        if (key.isEmpty()) return EMPTY;
+        Entry entry = entries.getIfPresent(key);
+        if (entry == null) {
+            OreGlobCompileResult result = OreGlob.compile(key);
+            entry = new Entry(result.getInstance(), result.hasError());
+            entries.put(key, entry);
+        }
+        return entry;
+    }
+
+    /**
+     * @return the amount of item matches answered from the cache
+     */
+    public static long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * @return the amount of item matches which had to be evaluated
+     */
+    public static long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * @return the amount of expressions currently cached
+     */
+    public static long getCachedExpressions() {
+        return entries.size();
+    }
+
+    /**
+     * Strips whitespace around the expression, which the parser ignores. Whitespace following a backslash is kept,
+     * as it may be escaped.
+     */
+    @Nonnull
+    private static String normalize(@Nonnull String expression) {
+        int start = 0;
+        int end = expression.length();
+        while (start < end && isWhitespace(expression.charAt(start))) start++;
+        while (end > start && isWhitespace(expression.charAt(end - 1)) &&
+                (end - 2 < start || expression.charAt(end - 2) != '\\')) end--;
+        return expression.substring(start, end);
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r';
+    }
+
+    public static final class Entry {
+
+        private final OreGlob glob;
+        private final boolean error;
+        private final Object2BooleanLinkedOpenCustomHashMap<ItemStack> results = new Object2BooleanLinkedOpenCustomHashMap<>(HASH_STRATEGY);
+
+        private Entry(@Nonnull OreGlob glob, boolean error) {
+            this.glob = glob;
+            this.error = error;
+        }
+
+        @Nonnull
+        public OreGlob getGlob() {
+            return glob;
+        }
+
+        public boolean hasError() {
+            return error;
+        }
+
+        /**
+         * @return whether the ore dictionary entries of the item match the expression, {@code false} if the
+         * expression has errors
+         */
+        public boolean matches(@Nonnull ItemStack stack) {
+            if (this.error) return false;
+            synchronized (this.results) {
+                if (this.results.containsKey(stack)) {
+                    hits.incrementAndGet();
+                    return this.results.getAndMoveToLast(stack);
+                }
+            }
+            misses.incrementAndGet();
+            boolean matches = this.glob.matches(stack);
+            synchronized (this.results) {
+                ItemStack key = stack.copy();
+                key.setCount(1);
+                this.results.put(key, matches);
+                if (this.results.size() > MAX_RESULTS_PER_EXPRESSION) {
+                    this.results.removeFirstBoolean();
+                }
+            }
+            return matches;
+        }
+    }
+}
@@ -26,6 +26,11 @@ public class SimpleItemFilter extends ItemFilter {
             public int getSlotLimit(int slot) {
                 return getMaxStackSize();
             }
+
+            @Override
+            protected void onContentsChanged(int slot) {
+                markDirty();
+            }
         };
     }
 
@@ -4,15 +4,23 @@ import com.google.common.annotations.VisibleForTesting;
 import gregtech.api.util.oreglob.OreGlob;
 import gregtech.common.covers.filter.oreglob.node.OreGlobNode;
 
+import javax.annotation.Nullable;
+
 /**
  * Node-based implementation of oreglob.
+ * <p>
+ * Expressions are compiled into a DFA where possible, see {@link OreGlobDfaCompiler}; the rest is evaluated by
+ * {@link NodeInterpreter}.
  */
 public final class NodeOreGlob extends OreGlob {
 
     private final OreGlobNode root;
+    @Nullable
+    private final OreGlobDfa dfa;
 
     public NodeOreGlob(OreGlobNode root) {
         this.root = root;
+        this.dfa = OreGlobDfaCompiler.compile(root);
     }
 
     @VisibleForTesting
@@ -20,6 +28,12 @@ public final class NodeOreGlob extends OreGlob {
         return root;
     }
 
+    @VisibleForTesting
+    @Nullable
+    OreGlobDfa getDfa() {
+        return dfa;
+    }
+
     @Override
     public <V extends Visualizer> V visualize(V visualizer) {
         new NodeVisualizer(visualizer).visit(this.root);
@@ -28,6 +42,7 @@ public final class NodeOreGlob extends OreGlob {
 
     @Override
     public boolean matches(String input) {
+        if (this.dfa != null) return this.dfa.matches(input);
         return new NodeInterpreter(input).evaluate(this.root).isMatch();
     }
 }
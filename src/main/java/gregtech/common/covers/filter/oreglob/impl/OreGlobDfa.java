@@ -0,0 +1,47 @@
+package gregtech.common.covers.filter.oreglob.impl;
+
+import it.unimi.dsi.fastutil.chars.Char2IntMap;
+
+/**
+ * Deterministic finite automaton compiled from an oreGlob expression by {@link OreGlobDfaCompiler}.
+ * <p>
+ * Characters are mapped to character classes, with class {@code 0} for all characters not mentioned in the
+ * expression, and matching an input is a single table lookup per character.
+ */
+final class OreGlobDfa {
+
+    private final int[] asciiClasses;
+    private final Char2IntMap charClasses;
+    private final int classCount;
+    private final int[] transitions;
+    private final boolean[] accepting;
+    private final int deadState;
+
+    /**
+     * @param asciiClasses the class of each character below {@code 128}
+     * @param charClasses  the classes of all other characters, defaulting to {@code 0}
+     * @param classCount   the amount of character classes
+     * @param transitions  the next state of each state and character class, as {@code state * classCount + class}
+     * @param accepting    the accepting states
+     * @param deadState    the state which can not reach any accepting state, or {@code -1} if there is none
+     */
+    OreGlobDfa(int[] asciiClasses, Char2IntMap charClasses, int classCount, int[] transitions, boolean[] accepting, int deadState) {
+        this.asciiClasses = asciiClasses;
+        this.charClasses = charClasses;
+        this.classCount = classCount;
+        this.transitions = transitions;
+        this.accepting = accepting;
+        this.deadState = deadState;
+    }
+
+    boolean matches(String input) {
+        int state = 0;
+        for (int i = 0; i < input.length(); i++) {
+            char c = input.charAt(i);
+            int charClass = c < 128 ? asciiClasses[c] : charClasses.get(c);
+            state = transitions[state * classCount + charClass];
+            if (state == deadState) return false;
+        }
+        return accepting[state];
+    }
+}
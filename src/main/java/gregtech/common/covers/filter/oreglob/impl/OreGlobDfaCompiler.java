@@ -0,0 +1,558 @@
+package gregtech.common.covers.filter.oreglob.impl;
+
+import gregtech.common.covers.filter.oreglob.node.BranchNode.BranchType;
+import gregtech.common.covers.filter.oreglob.node.NodeVisitor;
+import gregtech.common.covers.filter.oreglob.node.OreGlobNode;
+import it.unimi.dsi.fastutil.booleans.BooleanArrayList;
+import it.unimi.dsi.fastutil.chars.Char2IntMap;
+import it.unimi.dsi.fastutil.chars.Char2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiles oreGlob node trees into {@link OreGlobDfa}s.
+ * <p>
+ * Every character used in a match node gets its own character class, and each node is compiled into a complete
+ * automaton over these classes. Node chains are joined with subset construction, branches with product
+ * construction, and negations flip the accepting states.
+ * <p>
+ * {@link NodeInterpreter} evaluates each node over the set of all positions reached by the nodes before it. This
+ * only behaves like an automaton if negations, AND and XOR branches are reached at a single position, i.e. after
+ * nodes of fixed length only, and if negated groups do not depend on the state left behind by the nodes inside them.
+ * Expressions which don't hold up to this, or whose automaton would get too large, are not compiled, and are left to
+ * the interpreter.
+ */
+final class OreGlobDfaCompiler implements NodeVisitor {
+
+    private static final int MAX_STATES = 2048;
+
+    private static final Map<Character, char[]> caseInsensitiveChars = new ConcurrentHashMap<>();
+
+    private final Char2IntOpenHashMap charClasses = new Char2IntOpenHashMap();
+    private int classCount = 1;
+    private boolean collectingChars;
+
+    // state of the node being visited
+    private boolean singleInput;
+    private boolean trailing;
+    private boolean swapsState;
+    private boolean negatesLast;
+    @Nullable
+    private Automaton result;
+
+    private OreGlobDfaCompiler() {
+    }
+
+    /**
+     * @return the DFA matching the same inputs as the expression, or {@code null} if it can't be compiled
+     */
+    @Nullable
+    static OreGlobDfa compile(@Nonnull OreGlobNode root) {
+        OreGlobDfaCompiler compiler = new OreGlobDfaCompiler();
+        compiler.collectChars(root);
+        compiler.collectingChars = false;
+        Automaton automaton = compiler.compileChain(root, true, true);
+        return automaton == null ? null : compiler.toDfa(automaton);
+    }
+
+    private void collectChars(@Nullable OreGlobNode node) {
+        this.collectingChars = true;
+        while (node != null) {
+            node = node.visit(this);
+        }
+    }
+
+    /**
+     * @param singleInput whether the chain is reached at a single position
+     * @param trailing    whether positions reached by the chain only matter for the final match
+     */
+    @Nullable
+    private Automaton compileChain(@Nullable OreGlobNode node, boolean singleInput, boolean trailing) {
+        Automaton chain = null;
+        boolean swapsState = false;
+        boolean negatesLast = false;
+        while (node != null) {
+            this.singleInput = singleInput;
+            this.trailing = trailing && !node.hasNext();
+            this.swapsState = false;
+            this.negatesLast = false;
+            this.result = null;
+            node = node.visit(this);
+
+            Automaton automaton = this.result;
+            if (automaton == null || automaton.size > MAX_STATES) return null;
+            // the interpreter moves to a new state buffer for every node after the first
+            swapsState |= this.swapsState || chain != null;
+            negatesLast = this.negatesLast;
+            chain = chain == null ? automaton : concat(chain, automaton);
+            if (chain == null) return null;
+            singleInput &= isFixedLength(automaton);
+        }
+        this.swapsState = swapsState;
+        this.negatesLast = negatesLast;
+        return chain == null ? emptyAutomaton() : chain;
+    }
+
+    @Override
+    public void match(String match, boolean ignoreCase, boolean not) {
+        if (this.collectingChars) {
+            for (int i = 0; i < match.length(); i++) {
+                char c = match.charAt(i);
+                if (ignoreCase) {
+                    for (char variant : getCaseInsensitiveChars(c)) {
+                        addCharClass(variant);
+                    }
+                } else {
+                    addCharClass(c);
+                }
+            }
+            return;
+        }
+        Automaton automaton = new Automaton(match.length() + 2, this.classCount);
+        int dead = match.length() + 1;
+        automaton.fill(dead);
+        for (int i = 0; i < match.length(); i++) {
+            char c = match.charAt(i);
+            if (ignoreCase) {
+                for (char variant : getCaseInsensitiveChars(c)) {
+                    automaton.setNext(i, this.charClasses.get(variant), i + 1);
+                }
+            } else {
+                automaton.setNext(i, this.charClasses.get(c), i + 1);
+            }
+        }
+        automaton.accepting[match.length()] = true;
+        if (not) {
+            // the interpreter negates by swapping its state buffers
+            this.swapsState = true;
+            this.negatesLast = true;
+            this.result = this.singleInput ? automaton.complement() : null;
+        } else {
+            this.result = automaton;
+        }
+    }
+
+    @Override
+    public void chars(int amount, boolean not) {
+        Automaton automaton = anyChars(amount, false);
+        this.result = !not ? automaton : this.singleInput ? automaton.complement() : null;
+    }
+
+    @Override
+    public void charsOrMore(int amount, boolean not) {
+        Automaton automaton = anyChars(amount, true);
+        this.result = !not ? automaton : this.singleInput ? automaton.complement() : null;
+    }
+
+    @Override
+    public void group(OreGlobNode node, boolean not) {
+        if (this.collectingChars) {
+            collectChars(node);
+            return;
+        }
+        boolean singleInput = this.singleInput;
+        boolean trailing = this.trailing;
+        Automaton automaton = compileChain(node, singleInput, trailing && !not);
+        if (automaton != null && not) {
+            // the interpreter negates against the positions the last node inside the group was reached at,
+            // which only agrees with the complement if those are the positions the group was reached at, or if
+            // the positions before them can't affect the match anymore
+            boolean complete = !this.swapsState || trailing && !this.negatesLast;
+            automaton = singleInput && complete ? automaton.complement() : null;
+            this.swapsState = true;
+            this.negatesLast = true;
+        }
+        this.result = automaton;
+    }
+
+    @Override
+    public void branch(BranchType type, List<OreGlobNode> nodes, boolean not) {
+        if (this.collectingChars) {
+            for (OreGlobNode node : nodes) {
+                collectChars(node);
+            }
+            return;
+        }
+        boolean singleInput = this.singleInput;
+        boolean trailing = this.trailing && !not;
+        if (!singleInput && (not || type != BranchType.OR)) return;
+
+        Automaton automaton = type == BranchType.XOR ? loop(false) : null;
+        for (OreGlobNode node : nodes) {
+            Automaton branch = compileChain(node, singleInput, trailing);
+            if (branch == null) {
+                this.result = null;
+                return;
+            }
+            automaton = automaton == null ? branch : product(automaton, branch, type);
+            if (automaton == null) {
+                this.result = null;
+                return;
+            }
+        }
+        if (automaton == null) automaton = loop(false);
+        this.swapsState = not;
+        this.negatesLast = not;
+        this.result = not ? automaton.complement() : automaton;
+    }
+
+    @Override
+    public void everything() {
+        this.result = loop(true);
+    }
+
+    @Override
+    public void nothing() {
+        this.result = loop(false);
+    }
+
+    @Override
+    public void nonempty() {
+        Automaton automaton = new Automaton(2, this.classCount);
+        automaton.fill(1);
+        automaton.accepting[1] = true;
+        this.result = automaton;
+    }
+
+    @Override
+    public void empty() {
+        this.result = emptyAutomaton();
+    }
+
+    @Override
+    public void error() {
+        this.result = loop(false);
+    }
+
+    private void addCharClass(char c) {
+        if (!this.charClasses.containsKey(c)) {
+            this.charClasses.put(c, this.classCount++);
+        }
+    }
+
+    /**
+     * @return all characters which {@link String#regionMatches(boolean, int, String, int, int)} considers equal to
+     * the character when ignoring case
+     */
+    @Nonnull
+    private static char[] getCaseInsensitiveChars(char c) {
+        return caseInsensitiveChars.computeIfAbsent(c, key -> {
+            char upper = Character.toUpperCase(c);
+            char lower = Character.toLowerCase(upper);
+            StringBuilder builder = new StringBuilder();
+            for (int i = Character.MIN_VALUE; i <= Character.MAX_VALUE; i++) {
+                char u = Character.toUpperCase((char) i);
+                if (i == c || u == upper || Character.toLowerCase(u) == lower) {
+                    builder.append((char) i);
+                }
+            }
+            return builder.toString().toCharArray();
+        });
+    }
+
+    @Nonnull
+    private Automaton loop(boolean accepting) {
+        Automaton automaton = new Automaton(1, this.classCount);
+        automaton.accepting[0] = accepting;
+        return automaton;
+    }
+
+    @Nonnull
+    private Automaton emptyAutomaton() {
+        Automaton automaton = new Automaton(2, this.classCount);
+        automaton.fill(1);
+        automaton.accepting[0] = true;
+        return automaton;
+    }
+
+    /**
+     * @return automaton matching exactly the amount of characters, or more if {@code orMore} is set
+     */
+    @Nonnull
+    private Automaton anyChars(int amount, boolean orMore) {
+        Automaton automaton = new Automaton(orMore ? amount + 1 : amount + 2, this.classCount);
+        for (int state = 0; state < amount; state++) {
+            automaton.fill(state, state + 1);
+        }
+        automaton.fill(amount, orMore ? amount : amount + 1);
+        if (!orMore) automaton.fill(amount + 1, amount + 1);
+        automaton.accepting[amount] = true;
+        return automaton;
+    }
+
+    @Nullable
+    private Automaton product(@Nonnull Automaton a, @Nonnull Automaton b, @Nonnull BranchType type) {
+        Int2IntOpenHashMap indices = new Int2IntOpenHashMap();
+        indices.defaultReturnValue(-1);
+        IntArrayList pairs = new IntArrayList();
+        IntArrayList transitions = new IntArrayList();
+        BooleanArrayList accepting = new BooleanArrayList();
+
+        indices.put(0, 0);
+        pairs.add(0);
+        for (int state = 0; state < pairs.size(); state++) {
+            int stateA = pairs.getInt(state) / b.size;
+            int stateB = pairs.getInt(state) % b.size;
+            boolean acceptA = a.accepting[stateA];
+            boolean acceptB = b.accepting[stateB];
+            accepting.add(type == BranchType.OR ? acceptA || acceptB :
+                    type == BranchType.AND ? acceptA && acceptB : acceptA != acceptB);
+            for (int c = 0; c < this.classCount; c++) {
+                int pair = a.getNext(stateA, c) * b.size + b.getNext(stateB, c);
+                int next = indices.get(pair);
+                if (next == -1) {
+                    if (pairs.size() >= MAX_STATES) return null;
+                    next = pairs.size();
+                    indices.put(pair, next);
+                    pairs.add(pair);
+                }
+                transitions.add(next);
+            }
+        }
+        return new Automaton(transitions.toIntArray(), accepting.toBooleanArray()).minimize();
+    }
+
+    /**
+     * Joins two automata with subset construction, tracking the state of the first automaton along with the set
+     * of states the second automaton may be in.
+     */
+    @Nullable
+    private Automaton concat(@Nonnull Automaton a, @Nonnull Automaton b) {
+        Object2IntOpenHashMap<IntArrayList> indices = new Object2IntOpenHashMap<>();
+        indices.defaultReturnValue(-1);
+        List<IntArrayList> states = new ArrayList<>();
+        IntArrayList transitions = new IntArrayList();
+        BooleanArrayList accepting = new BooleanArrayList();
+        boolean[] visited = new boolean[b.size];
+
+        IntArrayList start = new IntArrayList();
+        start.add(0);
+        if (a.accepting[0]) start.add(0);
+        indices.put(start, 0);
+        states.add(start);
+        for (int state = 0; state < states.size(); state++) {
+            IntArrayList current = states.get(state);
+            boolean accept = false;
+            for (int i = 1; i < current.size(); i++) {
+                if (b.accepting[current.getInt(i)]) {
+                    accept = true;
+                    break;
+                }
+            }
+            accepting.add(accept);
+
+            for (int c = 0; c < this.classCount; c++) {
+                int nextA = a.getNext(current.getInt(0), c);
+                IntArrayList next = new IntArrayList(current.size() + 1);
+                next.add(nextA);
+                for (int i = 1; i < current.size(); i++) {
+                    int nextB = b.getNext(current.getInt(i), c);
+                    if (!visited[nextB]) {
+                        visited[nextB] = true;
+                        next.add(nextB);
+                    }
+                }
+                if (a.accepting[nextA] && !visited[0]) {
+                    next.add(0);
+                }
+                for (int i = 1; i < next.size(); i++) {
+                    visited[next.getInt(i)] = false;
+                }
+                IntArrays.quickSort(next.elements(), 1, next.size());
+
+                int index = indices.getInt(next);
+                if (index == -1) {
+                    if (states.size() >= MAX_STATES) return null;
+                    index = states.size();
+                    indices.put(next, index);
+                    states.add(next);
+                }
+                transitions.add(index);
+            }
+        }
+        return new Automaton(transitions.toIntArray(), accepting.toBooleanArray()).minimize();
+    }
+
+    /**
+     * @return whether all inputs matched by the automaton have the same length
+     */
+    private boolean isFixedLength(@Nonnull Automaton automaton) {
+        int size = automaton.size;
+        // states which can still reach an accepting state
+        boolean[] live = automaton.accepting.clone();
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int state = 0; state < size; state++) {
+                if (live[state]) continue;
+                for (int c = 0; c < this.classCount; c++) {
+                    if (live[automaton.getNext(state, c)]) {
+                        live[state] = changed = true;
+                        break;
+                    }
+                }
+            }
+        }
+        if (!live[0]) return true;
+
+        // walk the live states breadth first; every state has to be reached at exactly one depth
+        int[] depths = new int[size];
+        Arrays.fill(depths, -1);
+        depths[0] = 0;
+        IntArrayList queue = new IntArrayList();
+        queue.add(0);
+        int acceptDepth = -1;
+        for (int i = 0; i < queue.size(); i++) {
+            int state = queue.getInt(i);
+            if (automaton.accepting[state]) {
+                if (acceptDepth != -1 && acceptDepth != depths[state]) return false;
+                acceptDepth = depths[state];
+            }
+            for (int c = 0; c < this.classCount; c++) {
+                int next = automaton.getNext(state, c);
+                if (!live[next]) continue;
+                if (depths[next] == -1) {
+                    depths[next] = depths[state] + 1;
+                    queue.add(next);
+                } else if (depths[next] != depths[state] + 1) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Nonnull
+    private OreGlobDfa toDfa(@Nonnull Automaton automaton) {
+        int[] asciiClasses = new int[128];
+        Char2IntOpenHashMap charClasses = new Char2IntOpenHashMap();
+        for (Char2IntMap.Entry entry : this.charClasses.char2IntEntrySet()) {
+            if (entry.getCharKey() < 128) {
+                asciiClasses[entry.getCharKey()] = entry.getIntValue();
+            } else {
+                charClasses.put(entry.getCharKey(), entry.getIntValue());
+            }
+        }
+        charClasses.trim();
+
+        int deadState = -1;
+        for (int state = 0; state < automaton.size && deadState == -1; state++) {
+            if (automaton.accepting[state]) continue;
+            deadState = state;
+            for (int c = 0; c < this.classCount; c++) {
+                if (automaton.getNext(state, c) != state) {
+                    deadState = -1;
+                    break;
+                }
+            }
+        }
+        return new OreGlobDfa(asciiClasses, charClasses, this.classCount, automaton.transitions, automaton.accepting, deadState);
+    }
+
+    /**
+     * Complete automaton with state {@code 0} as its start.
+     */
+    private static final class Automaton {
+
+        private final int size;
+        private final int classCount;
+        private final int[] transitions;
+        private final boolean[] accepting;
+
+        private Automaton(int size, int classCount) {
+            this(new int[size * classCount], new boolean[size]);
+        }
+
+        private Automaton(int[] transitions, boolean[] accepting) {
+            this.size = accepting.length;
+            this.classCount = transitions.length / accepting.length;
+            this.transitions = transitions;
+            this.accepting = accepting;
+        }
+
+        private int getNext(int state, int charClass) {
+            return this.transitions[state * this.classCount + charClass];
+        }
+
+        private void setNext(int state, int charClass, int next) {
+            this.transitions[state * this.classCount + charClass] = next;
+        }
+
+        private void fill(int state, int next) {
+            Arrays.fill(this.transitions, state * this.classCount, (state + 1) * this.classCount, next);
+        }
+
+        private void fill(int next) {
+            Arrays.fill(this.transitions, next);
+        }
+
+        @Nonnull
+        private Automaton complement() {
+            boolean[] accepting = new boolean[this.size];
+            for (int state = 0; state < this.size; state++) {
+                accepting[state] = !this.accepting[state];
+            }
+            return new Automaton(this.transitions, accepting);
+        }
+
+        /**
+         * Merges equivalent states with Moore's algorithm. All states are expected to be reachable.
+         */
+        @Nonnull
+        private Automaton minimize() {
+            int[] partition = new int[this.size];
+            int partitions = 0;
+            for (int state = 0; state < this.size; state++) {
+                partition[state] = this.accepting[state] ? 1 : 0;
+            }
+            boolean stable = false;
+            while (!stable) {
+                Object2IntOpenHashMap<IntArrayList> signatures = new Object2IntOpenHashMap<>();
+                signatures.defaultReturnValue(-1);
+                int[] refined = new int[this.size];
+                for (int state = 0; state < this.size; state++) {
+                    IntArrayList signature = new IntArrayList(this.classCount + 1);
+                    signature.add(partition[state]);
+                    for (int c = 0; c < this.classCount; c++) {
+                        signature.add(partition[getNext(state, c)]);
+                    }
+                    int index = signatures.getInt(signature);
+                    if (index == -1) {
+                        index = signatures.size();
+                        signatures.put(signature, index);
+                    }
+                    refined[state] = index;
+                }
+                stable = signatures.size() == partitions;
+                partition = refined;
+                partitions = signatures.size();
+            }
+            if (partitions == this.size) return this;
+
+            // partitions are numbered by their first state, so state 0 stays the start
+            int[] transitions = new int[partitions * this.classCount];
+            boolean[] accepting = new boolean[partitions];
+            boolean[] done = new boolean[partitions];
+            for (int state = 0; state < this.size; state++) {
+                int p = partition[state];
+                if (done[p]) continue;
+                done[p] = true;
+                accepting[p] = this.accepting[state];
+                for (int c = 0; c < this.classCount; c++) {
+                    transitions[p * this.classCount + c] = partition[getNext(state, c)];
+                }
+            }
+            return new Automaton(transitions, accepting);
+        }
+    }
+}
@@ -5,7 +5,7 @@ import gregtech.api.capability.IMultipleTankHandler;
 import gregtech.api.capability.impl.AbstractRecipeLogic;
 import gregtech.api.capability.impl.MultiblockRecipeLogic;
 import gregtech.api.metatileentity.IMachineHatchMultiblock;
-import gregtech.api.metatileentity.ITieredMetaTileEntity;
+import gregtech.api.metatileentity.MachineHatchDescriptor;
 import gregtech.api.metatileentity.MetaTileEntity;
 import gregtech.api.metatileentity.MetaTileEntityHolder;
 import gregtech.api.metatileentity.interfaces.IGregTechTileEntity;
@@ -177,6 +177,8 @@ public class MetaTileEntityProcessingArray extends RecipeMapMultiblockController
         private long machineVoltage;
         //The Recipe Map of the machines the PA is operating upon
         private RecipeMap<?> activeRecipeMap;
+        //The resolved properties of the machines the PA is operating upon
+        private MachineHatchDescriptor machineDescriptor;
 
         public ProcessingArrayWorkable(RecipeMapMultiblockController tileEntity) {
             super(tileEntity);
@@ -192,6 +194,7 @@ public class MetaTileEntityProcessingArray extends RecipeMapMultiblockController
             machineTier = 0;
             machineVoltage = 0L;
             activeRecipeMap = null;
+            machineDescriptor = null;
         }
 
         /**
@@ -203,11 +206,16 @@ public class MetaTileEntityProcessingArray extends RecipeMapMultiblockController
          */
         @Override
         public boolean isRecipeMapValid(@Nonnull RecipeMap<?> recipeMap) {
-            if (GTUtility.findMachineInBlacklist(recipeMap.getUnlocalizedName(), ((IMachineHatchMultiblock) metaTileEntity).getBlacklist())) {
+            String[] blacklist = ((IMachineHatchMultiblock) metaTileEntity).getBlacklist();
+            if (machineDescriptor != null && recipeMap == machineDescriptor.getRecipeMap()) {
+                return machineDescriptor.isValid(blacklist);
+            }
+
+            if (GTUtility.findMachineInBlacklist(recipeMap.getUnlocalizedName(), blacklist)) {
                 return false;
             }
 
-            return GTUtility.isMachineValidForMachineHatch(currentMachineStack, ((IMachineHatchMultiblock) metaTileEntity).getBlacklist());
+            return GTUtility.isMachineValidForMachineHatch(currentMachineStack, blacklist);
         }
 
         @Override
@@ -219,7 +227,9 @@ public class MetaTileEntityProcessingArray extends RecipeMapMultiblockController
             if (machineChanged) {
                 findMachineStack();
                 machineChanged = false;
-                previousRecipe = null;
+                // try the last recipe run by any processing array with the same machine first
+                previousRecipe = machineDescriptor == null ? null : machineDescriptor.getLastRecipe();
+                resetFailedRecipeSearch();
                 if (isDistinct()) {
                     invalidatedInputList.clear();
                 } else {
@@ -229,6 +239,14 @@ public class MetaTileEntityProcessingArray extends RecipeMapMultiblockController
             return (!currentMachineStack.isEmpty() && this.activeRecipeMap != null);
         }
 
+        @Override
+        protected void trySearchNewRecipe() {
+            super.trySearchNewRecipe();
+            if (previousRecipe != null && machineDescriptor != null) {
+                machineDescriptor.setLastRecipe(previousRecipe);
+            }
+        }
+
         @Nullable
         @Override
         public RecipeMap<?> getRecipeMap() {
@@ -242,25 +260,28 @@ public class MetaTileEntityProcessingArray extends RecipeMapMultiblockController
             ItemStack machine = controller.getAbilities(MultiblockAbility.MACHINE_HATCH).get(0).getStackInSlot(0);
 
 
-            mte = GTUtility.getMetaTileEntity(machine);
+            MachineHatchDescriptor descriptor = MachineHatchDescriptor.get(machine);
 
-            if (mte == null) {
+            if (descriptor == null) {
+                mte = null;
                 this.activeRecipeMap = null;
+                this.machineTier = 0;
+                this.machineVoltage = GTValues.V[this.machineTier];
             }
             else {
-                this.activeRecipeMap = mte.getRecipeMap();
-                // Set the world for MTEs, as some need it for checking their recipes
-                MetaTileEntityHolder holder = new MetaTileEntityHolder();
-                mte = holder.setMetaTileEntity(mte);
-                holder.setWorld(this.metaTileEntity.getWorld());
+                // keep the instance if only the amount of machines changed
+                if (mte == null || descriptor != this.machineDescriptor) {
+                    // Set the world for MTEs, as some need it for checking their recipes
+                    MetaTileEntityHolder holder = new MetaTileEntityHolder();
+                    mte = holder.setMetaTileEntity(descriptor.getMetaTileEntity());
+                    holder.setWorld(this.metaTileEntity.getWorld());
+                }
+                this.activeRecipeMap = descriptor.getRecipeMap();
+                this.machineTier = descriptor.getTier();
+                this.machineVoltage = descriptor.getVoltage();
             }
 
-
-            //Find the voltage tier of the machine.
-            this.machineTier = mte instanceof ITieredMetaTileEntity ? ((ITieredMetaTileEntity) mte).getTier() : 0;
-
-            this.machineVoltage = GTValues.V[this.machineTier];
-
+            this.machineDescriptor = descriptor;
             this.currentMachineStack = machine;
         }
 
@@ -79,12 +79,12 @@ public class MetaTileEntityPassthroughHatchFluid extends MetaTileEntityMultibloc
 
     @Override
     protected IItemHandlerModifiable createExportItemHandler() {
-        return new NotifiableItemStackHandler(TANK_SIZE, getController(), true);
+        return new NotifiableItemStackHandler(TANK_SIZE, this, true);
     }
 
     @Override
     protected IItemHandlerModifiable createImportItemHandler() {
-        return new NotifiableItemStackHandler(TANK_SIZE, getController(), false);
+        return new NotifiableItemStackHandler(TANK_SIZE, this, false);
     }
 
     @Override
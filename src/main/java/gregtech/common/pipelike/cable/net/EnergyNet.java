@@ -1,22 +1,54 @@
 package gregtech.common.pipelike.cable.net;
 
+import gregtech.api.GTValues;
+import gregtech.api.capability.GregtechCapabilities;
 import gregtech.api.pipenet.Node;
 import gregtech.api.pipenet.PipeNet;
 import gregtech.api.pipenet.WorldPipeNet;
+import gregtech.api.pipenet.tile.IPipeTile;
 import gregtech.api.unification.material.properties.WireProperties;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
 import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent.Phase;
+import net.minecraftforge.fml.common.gameevent.TickEvent.WorldTickEvent;
 
 import java.util.*;
 
+@EventBusSubscriber(modid = GTValues.MODID)
 public class EnergyNet extends PipeNet<WireProperties> {
 
+    /**
+     * The maximum amount of stale route lists rebuilt per tick. Further stale lists keep being used until a later tick.
+     */
+    private static final int MAX_REBUILDS_PER_TICK = 8;
+
     private long lastEnergyFluxPerSec;
     private long energyFluxPerSec;
     private long lastTime;
 
     private final Map<BlockPos, List<RoutePath>> NET_DATA = new HashMap<>();
+    // sources whose routes are still valid, but may be missing newly reachable destinations
+    private final Set<BlockPos> staleNetData = new ObjectOpenHashSet<>();
+
+    private long lastRebuildTime;
+    private int rebuildsThisTick;
+
+    // nets with pending amperage in each world, flushed at the end of the world tick
+    private static final Map<World, List<EnergyNet>> netsWithPendingAmperage = new HashMap<>();
+
+    // paths which received amperage this tick, applied to their cables at the end of the tick
+    private final List<RoutePath> pendingAmperagePaths = new ArrayList<>();
+
+    private long cacheHits;
+    private long cacheMisses;
+    private long cacheRebuilds;
 
     protected EnergyNet(WorldPipeNet<WireProperties, EnergyNet> world) {
         super(world);
@@ -24,18 +56,129 @@ public class EnergyNet extends PipeNet<WireProperties> {
 
     public List<RoutePath> getNetData(BlockPos pipePos) {
         List<RoutePath> data = NET_DATA.get(pipePos);
-        if (data == null) {
-            data = EnergyNetWalker.createNetData(getWorldData(), pipePos);
-            if (data == null) {
-                // walker failed, don't cache so it tries again on next insertion
-                return Collections.emptyList();
+        if (data != null) {
+            if (staleNetData.isEmpty() || !staleNetData.contains(pipePos) || !canRebuildThisTick()) {
+                cacheHits++;
+                return data;
+            }
+            List<RoutePath> rebuilt = createNetData(pipePos);
+            if (rebuilt == null) {
+                // walker failed, keep using the stale routes
+                return data;
             }
+            cacheRebuilds++;
+            staleNetData.remove(pipePos);
+            NET_DATA.put(pipePos, rebuilt);
+            return rebuilt;
+        }
+
+        cacheMisses++;
+        data = createNetData(pipePos);
+        if (data == null) {
+            // walker failed, don't cache so it tries again on next insertion
+            return Collections.emptyList();
+        }
+        NET_DATA.put(pipePos, data);
+        return data;
+    }
+
+    private List<RoutePath> createNetData(BlockPos pipePos) {
+        List<RoutePath> data = EnergyNetWalker.createNetData(getWorldData(), pipePos);
+        if (data != null) {
             data.sort(Comparator.comparingInt(RoutePath::getDistance));
-            NET_DATA.put(pipePos, data);
         }
         return data;
     }
 
+    private boolean canRebuildThisTick() {
+        long time = getWorldData().getTotalWorldTime();
+        if (time != lastRebuildTime) {
+            lastRebuildTime = time;
+            rebuildsThisTick = 0;
+        }
+        if (rebuildsThisTick >= MAX_REBUILDS_PER_TICK) return false;
+        rebuildsThisTick++;
+        return true;
+    }
+
+    /**
+     * Marks all cached routes as stale, so they are rebuilt over the next ticks
+     */
+    private void markAllStale() {
+        staleNetData.addAll(NET_DATA.keySet());
+    }
+
+    /**
+     * Drops all cached routes passing through or ending at a pipe, and marks the remaining routes as stale
+     *
+     * @param pipePos the position of the pipe
+     */
+    private void invalidateRoutesThrough(BlockPos pipePos) {
+        NET_DATA.remove(pipePos);
+        staleNetData.remove(pipePos);
+        for (List<RoutePath> routes : NET_DATA.values()) {
+            routes.removeIf(path -> path.containsPipe(pipePos));
+        }
+        markAllStale();
+    }
+
+    public void clearNetData() {
+        NET_DATA.clear();
+        staleNetData.clear();
+    }
+
+    /**
+     * Records amperage sent through a path. The cables of all paths are updated in one batch at the end of the
+     * world tick, while the world time is still the one the amperage was sent in.
+     *
+     * @param path     the path the amperage was sent through
+     * @param amperage the amperage sent
+     * @param voltage  the voltage it was sent at
+     */
+    public void addPathAmperage(RoutePath path, long amperage, long voltage) {
+        if (path.addAmperage(amperage, voltage)) {
+            if (pendingAmperagePaths.isEmpty()) {
+                netsWithPendingAmperage.computeIfAbsent(getWorldData(), k -> new ArrayList<>()).add(this);
+            }
+            pendingAmperagePaths.add(path);
+        }
+    }
+
+    private void flushPathAmperage() {
+        for (RoutePath path : pendingAmperagePaths) {
+            path.flushAmperage();
+        }
+        pendingAmperagePaths.clear();
+    }
+
+    @SubscribeEvent
+    public static void onWorldTick(WorldTickEvent event) {
+        if (event.world.isRemote || event.phase != Phase.END) return;
+        List<EnergyNet> nets = netsWithPendingAmperage.get(event.world);
+        if (nets == null || nets.isEmpty()) return;
+        for (EnergyNet net : nets) {
+            net.flushPathAmperage();
+        }
+        nets.clear();
+    }
+
+    @SubscribeEvent
+    public static void onWorldUnload(WorldEvent.Unload event) {
+        netsWithPendingAmperage.remove(event.getWorld());
+    }
+
+    public long getCacheHits() {
+        return cacheHits;
+    }
+
+    public long getCacheMisses() {
+        return cacheMisses;
+    }
+
+    public long getCacheRebuilds() {
+        return cacheRebuilds;
+    }
+
     public long getEnergyFluxPerSec() {
         World world = getWorldData();
         if (world != null && !world.isRemote && (world.getTotalWorldTime() - lastTime) >= 20) {
@@ -56,19 +199,77 @@ public class EnergyNet extends PipeNet<WireProperties> {
 
     @Override
     public void onNeighbourUpdate(BlockPos fromPos) {
-        NET_DATA.clear();
+        // changes to cables themselves are handled through node and connection updates
+        if (NET_DATA.isEmpty() || containsNode(fromPos)) return;
+
+        // determine which sides of the changed block currently accept energy from a connected cable
+        World world = getWorldData();
+        TileEntity tile = world.getTileEntity(fromPos);
+        int handlerSides = 0;
+        if (tile != null) {
+            for (EnumFacing facing : EnumFacing.VALUES) {
+                BlockPos pipePos = fromPos.offset(facing);
+                if (!containsNode(pipePos)) continue;
+                TileEntity pipeTile = world.getTileEntity(pipePos);
+                if (pipeTile instanceof IPipeTile && ((IPipeTile<?, ?>) pipeTile).isConnected(facing.getOpposite()) &&
+                        tile.getCapability(GregtechCapabilities.CAPABILITY_ENERGY_CONTAINER, facing) != null) {
+                    handlerSides |= 1 << facing.getIndex();
+                }
+            }
+        }
+
+        // drop routes ending at handlers which are gone, and collect the sides which are already known
+        int knownSides = 0;
+        for (List<RoutePath> routes : NET_DATA.values()) {
+            for (Iterator<RoutePath> iterator = routes.iterator(); iterator.hasNext(); ) {
+                RoutePath path = iterator.next();
+                if (!fromPos.equals(path.getHandlerPos())) continue;
+
+                int side = 1 << path.getFaceToHandler().getOpposite().getIndex();
+                if ((handlerSides & side) == 0) {
+                    iterator.remove();
+                } else {
+                    knownSides |= side;
+                }
+            }
+        }
+
+        // a new handler appeared, so every source may need a route to it
+        if ((handlerSides & ~knownSides) != 0) {
+            markAllStale();
+        }
     }
 
     @Override
     public void onPipeConnectionsUpdate() {
-        NET_DATA.clear();
+        clearNetData();
+    }
+
+    @Override
+    public void onPipeConnectionsUpdate(BlockPos pipePos) {
+        invalidateRoutesThrough(pipePos);
+    }
+
+    @Override
+    protected void addNode(BlockPos nodePos, Node<WireProperties> node) {
+        super.addNode(nodePos, node);
+        // a new cable never breaks existing routes, but may connect new destinations
+        markAllStale();
+    }
+
+    @Override
+    protected void removeNode(BlockPos nodePos) {
+        if (containsNode(nodePos)) {
+            invalidateRoutesThrough(nodePos);
+        }
+        super.removeNode(nodePos);
     }
 
     @Override
     protected void transferNodeData(Map<BlockPos, Node<WireProperties>> transferredNodes, PipeNet<WireProperties> parentNet) {
         super.transferNodeData(transferredNodes, parentNet);
-        NET_DATA.clear();
-        ((EnergyNet) parentNet).NET_DATA.clear();
+        clearNetData();
+        ((EnergyNet) parentNet).clearNetData();
     }
 
     @Override
@@ -77,19 +77,26 @@ public class EnergyNetHandler implements IEnergyContainer {
 
             long pathVoltage = voltage - path.getMaxLoss();
             boolean cableBroken = false;
-            for (TileEntityCable cable : path.getPath()) {
-                if (cable.getMaxVoltage() < voltage) {
-                    int heat = (int) (Math.log(GTUtility.getTierByVoltage(voltage) - GTUtility.getTierByVoltage(cable.getMaxVoltage())) * 45 + 36.5);
-                    cable.applyHeat(heat);
-
-                    cableBroken = cable.isInvalid();
-                    if (cableBroken) {
-                        // a cable burned away (or insulation melted)
-                        break;
+            // in the common case every cable can handle the voltage, and the path does not need to be checked
+            int firstUnderRated = path.getFirstUnderRatedIndex(voltage);
+            if (firstUnderRated >= 0) {
+                int voltageTier = GTUtility.getTierByVoltage(voltage);
+                TileEntityCable[] cables = path.getPath();
+                for (int i = firstUnderRated; i < cables.length; i++) {
+                    long cableVoltage = path.getCableVoltage(i);
+                    if (cableVoltage < voltage) {
+                        TileEntityCable cable = cables[i];
+                        cable.applyHeat(path.getOvervoltageHeat(i, voltageTier));
+
+                        cableBroken = cable.isInvalid();
+                        if (cableBroken) {
+                            // a cable burned away (or insulation melted)
+                            break;
+                        }
+
+                        // limit transfer to cables max and void rest
+                        pathVoltage = Math.min(cableVoltage, pathVoltage);
                     }
-
-                    // limit transfer to cables max and void rest
-                    pathVoltage = Math.min(cable.getMaxVoltage(), pathVoltage);
                 }
             }
 
@@ -101,15 +108,7 @@ public class EnergyNetHandler implements IEnergyContainer {
             if (amps == 0) continue;
 
             amperesUsed += amps;
-            long voltageTraveled = voltage;
-            for (TileEntityCable cable : path.getPath()) {
-                voltageTraveled -= cable.getNodeData().getLossPerBlock();
-                if (voltageTraveled <= 0) break;
-
-                if (!cable.isInvalid()) {
-                    cable.incrementAmperage(amps, voltageTraveled);
-                }
-            }
+            net.addPathAmperage(path, amps, voltage);
 
             if (amperage == amperesUsed) break;
         }
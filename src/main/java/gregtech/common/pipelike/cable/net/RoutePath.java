@@ -1,7 +1,9 @@
 package gregtech.common.pipelike.cable.net;
 
+import gregtech.api.GTValues;
 import gregtech.api.capability.GregtechCapabilities;
 import gregtech.api.capability.IEnergyContainer;
+import gregtech.api.util.GTUtility;
 import gregtech.common.pipelike.cable.tile.TileEntityCable;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.EnumFacing;
@@ -9,18 +11,56 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 
 public class RoutePath {
+
+    // heat applied to an overvolted cable, by difference between the voltage tier and the cable tier
+    private static final int[] HEAT_BY_TIER_DIFFERENCE = new int[GTValues.MAX + 1];
+
+    static {
+        for (int i = 0; i < HEAT_BY_TIER_DIFFERENCE.length; i++) {
+            HEAT_BY_TIER_DIFFERENCE[i] = (int) (Math.log(i) * 45 + 36.5);
+        }
+    }
+
     private final BlockPos destPipePos;
+    private final BlockPos handlerPos;
     private final EnumFacing destFacing;
     private final int distance;
     private final TileEntityCable[] path;
     private final long maxLoss;
 
+    // precomputed cable data, indexed like the path
+    private final long[] cableVoltages;
+    private final byte[] cableTiers;
+    private final long[] accumulatedLoss;
+    private final long minVoltage;
+
+    // amperage sent through this path in the current tick, which is not yet applied to the cables
+    private long pendingAmperage;
+    private long pendingVoltage;
+    private int pendingPackets;
+
     public RoutePath(BlockPos destPipePos, EnumFacing destFacing, TileEntityCable[] path, int distance, long maxLoss) {
         this.destPipePos = destPipePos;
+        this.handlerPos = destPipePos.offset(destFacing);
         this.destFacing = destFacing;
         this.path = path;
         this.distance = distance;
         this.maxLoss = maxLoss;
+
+        this.cableVoltages = new long[path.length];
+        this.cableTiers = new byte[path.length];
+        this.accumulatedLoss = new long[path.length];
+        long minVoltage = Long.MAX_VALUE;
+        long loss = 0;
+        for (int i = 0; i < path.length; i++) {
+            long voltage = path[i].getMaxVoltage();
+            cableVoltages[i] = voltage;
+            cableTiers[i] = GTUtility.getTierByVoltage(voltage);
+            loss += path[i].getNodeData().getLossPerBlock();
+            accumulatedLoss[i] = loss;
+            minVoltage = Math.min(minVoltage, voltage);
+        }
+        this.minVoltage = minVoltage;
     }
 
     public int getDistance() {
@@ -35,6 +75,82 @@ public class RoutePath {
         return path;
     }
 
+    /**
+     * @return the lowest maximum voltage of all cables in this path
+     */
+    public long getMinVoltage() {
+        return minVoltage;
+    }
+
+    /**
+     * @param voltage the voltage to check
+     * @return the index of the first cable which can not handle the voltage, or -1 if every cable can handle it
+     */
+    public int getFirstUnderRatedIndex(long voltage) {
+        if (voltage <= minVoltage) return -1;
+        for (int i = 0; i < cableVoltages.length; i++) {
+            if (cableVoltages[i] < voltage) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param index the index of the cable in the path
+     * @return the maximum voltage of the cable
+     */
+    public long getCableVoltage(int index) {
+        return cableVoltages[index];
+    }
+
+    /**
+     * @param index       the index of the cable in the path
+     * @param voltageTier the tier of the voltage sent through the cable
+     * @return the heat to apply to the cable for being overvolted
+     */
+    public int getOvervoltageHeat(int index, int voltageTier) {
+        return HEAT_BY_TIER_DIFFERENCE[voltageTier - cableTiers[index]];
+    }
+
+    /**
+     * Records amperage sent through this path. It is applied to the cables in one batch by {@link #flushAmperage()}.
+     *
+     * @param amperage the amperage sent
+     * @param voltage  the voltage it was sent at
+     * @return true if this path had no pending amperage before
+     */
+    boolean addAmperage(long amperage, long voltage) {
+        boolean wasPending = pendingPackets > 0;
+        if (wasPending && pendingVoltage != voltage) {
+            // different voltages travel different distances, so apply what was collected so far
+            flushAmperage();
+        }
+        this.pendingAmperage += amperage;
+        this.pendingVoltage = voltage;
+        this.pendingPackets++;
+        return !wasPending;
+    }
+
+    /**
+     * Applies the pending amperage to every cable the voltage reaches
+     */
+    void flushAmperage() {
+        if (pendingPackets == 0) return;
+        for (int i = 0; i < path.length; i++) {
+            long voltageTraveled = pendingVoltage - accumulatedLoss[i];
+            if (voltageTraveled <= 0) break;
+
+            TileEntityCable cable = path[i];
+            if (!cable.isInvalid()) {
+                cable.incrementAmperage(pendingAmperage, voltageTraveled, pendingPackets);
+            }
+        }
+        this.pendingAmperage = 0;
+        this.pendingVoltage = 0;
+        this.pendingPackets = 0;
+    }
+
     public BlockPos getPipePos() {
         return destPipePos;
     }
@@ -44,7 +160,20 @@ public class RoutePath {
     }
 
     public BlockPos getHandlerPos() {
-        return destPipePos.offset(destFacing);
+        return handlerPos;
+    }
+
+    /**
+     * @param pipePos the position to check
+     * @return if this path passes through or ends at the pipe at the position
+     */
+    public boolean containsPipe(BlockPos pipePos) {
+        for (TileEntityCable cable : path) {
+            if (pipePos.equals(cable.getPos())) {
+                return true;
+            }
+        }
+        return false;
     }
 
     public IEnergyContainer getHandler(World world) {
@@ -100,15 +100,25 @@ public class TileEntityCable extends TileEntityMaterialPipeBase<Insulation, Wire
      * @return if the cable should be destroyed
      */
     public boolean incrementAmperage(long amps, long voltage) {
+        return incrementAmperage(amps, voltage, 1);
+    }
+
+    /**
+     * Should only be called internally
+     *
+     * @param packets the amount of transfers the amperage was collected from, each of which heats an overloaded cable
+     * @return if the cable should be destroyed
+     */
+    public boolean incrementAmperage(long amps, long voltage, int packets) {
         if (voltage > maxVoltageCounter.get(world)) {
             maxVoltageCounter.set(world, voltage);
         }
-        averageVoltageCounter.increment(world, voltage);
+        averageVoltageCounter.increment(world, voltage * packets);
         averageAmperageCounter.increment(world, amps);
 
         int dif = (int) (averageAmperageCounter.getLast(world) - getMaxAmperage());
         if (dif > 0) {
-            applyHeat(dif * 40);
+            applyHeat(dif * 40 * packets);
             return true;
         }
 
@@ -344,6 +354,14 @@ public class TileEntityCable extends TileEntityMaterialPipeBase<Insulation, Wire
         list.add(new TextComponentTranslation("behavior.tricorder.amp_per_sec",
                 new TextComponentTranslation(GTUtility.formatNumbers(this.getAverageAmperage())).setStyle(new Style().setColor(TextFormatting.RED))
         ));
+        EnergyNet net = getEnergyNet();
+        if (net != null) {
+            list.add(new TextComponentTranslation("behavior.tricorder.energy_net_route_cache",
+                    new TextComponentTranslation(GTUtility.formatNumbers(net.getCacheHits())).setStyle(new Style().setColor(TextFormatting.GREEN)),
+                    new TextComponentTranslation(GTUtility.formatNumbers(net.getCacheMisses())).setStyle(new Style().setColor(TextFormatting.YELLOW)),
+                    new TextComponentTranslation(GTUtility.formatNumbers(net.getCacheRebuilds())).setStyle(new Style().setColor(TextFormatting.YELLOW))
+            ));
+        }
         return list;
     }
 }
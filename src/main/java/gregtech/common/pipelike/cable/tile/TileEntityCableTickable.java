@@ -10,6 +10,7 @@ public class TileEntityCableTickable extends TileEntityCable implements ITickabl
     @Override
     public void update() {
         getCoverableImplementation().update();
+        updateSleepState(false);
     }
 
     @Override
@@ -0,0 +1,324 @@
+package gregtech.common.pipelike.fluidpipe.net;
+
+import gregtech.common.pipelike.fluidpipe.tile.TileEntityFluidPipeTickable;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.fluids.FluidStack;
+import net.minecraftforge.fluids.FluidTank;
+
+import javax.annotation.Nonnull;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Distributes the fluid of a {@link FluidPipeNet} for the whole net at once.
+ * <p>
+ * Fluid is routed from the pipes holding it to the pipes next to other blocks, the outputs, along the shortest path
+ * of pipes which have a channel free for it and are not blocked on the side it enters from. Every pipe moves at most
+ * as much fluid per update as it would when distributing on its own, and every path is limited by its pipe with
+ * the least throughput left. Fluid entering the net is routed first. Fluid left in pipes without outputs is
+ * routed afterwards, unless the pipe is carrying fluid along a path.
+ * <p>
+ * The paths are searched once per fluid and update, from all pipes holding the fluid at once, so every output is
+ * fed by its nearest pipe holding the fluid. Fluid in pipes without outputs which cannot reach any pipe next to
+ * another block is skipped until fluid moves in the net or the net changes. The pipes of the net are looked up once, until
+ * the net changes or a chunk it spans is loaded or unloaded.
+ * <p>
+ * Fluid fills the pipes along its path before it reaches the output, so the pipes show what they carry. Filling a
+ * pipe checks whether the fluid burns, leaks or corrodes it, and full pipes the fluid passes through are checked
+ * once per update. The outputs push the fluid into the adjacent blocks with their own per-side logic, so covers and
+ * pumps still apply.
+ */
+final class FluidNetDistributor {
+
+    private final FluidPipeNet net;
+
+    // the loaded pipes of the net and their sides leading to other blocks, looked up again once the net changes
+    private final Map<BlockPos, TileEntityFluidPipeTickable> pipes = new Object2ObjectOpenHashMap<>();
+    private final Object2IntMap<TileEntityFluidPipeTickable> externalSides = new Reference2IntOpenHashMap<>();
+    private boolean pipesValid;
+    // tanks of pipes without outputs whose fluid could not reach any pipe next to another block
+    private final Set<FluidTank> strandedTanks = new ReferenceOpenHashSet<>();
+    private boolean fluidMoved;
+
+    // the sides of each output pipe which lead to blocks other than the one the fluid came from
+    private final Object2IntMap<TileEntityFluidPipeTickable> outputSides = new Reference2IntOpenHashMap<>();
+    // the amount of fluid each pipe can still move in this update
+    private final Object2IntMap<TileEntityFluidPipeTickable> throughput = new Reference2IntOpenHashMap<>();
+    // the tanks fluid is routed from in the current pass, and the pipe of each
+    private final List<TileEntityFluidPipeTickable> sourcePipes = new ObjectArrayList<>();
+    private final List<FluidTank> sourceTanks = new ObjectArrayList<>();
+    private final BitSet routedSources = new BitSet();
+    // the pipes reached by the current search in the order they were reached, the pipe each was reached from
+    // and the source it was reached from
+    private final List<TileEntityFluidPipeTickable> reached = new ObjectArrayList<>();
+    private final Map<TileEntityFluidPipeTickable, TileEntityFluidPipeTickable> parents = new Reference2ObjectOpenHashMap<>();
+    private final Object2IntMap<TileEntityFluidPipeTickable> roots = new Reference2IntOpenHashMap<>();
+    // full pipes fluid passed through, which were not checked by filling them
+    private final Set<TileEntityFluidPipeTickable> passedThrough = new ReferenceLinkedOpenHashSet<>();
+    private final BlockPos.MutableBlockPos mutablePos = new BlockPos.MutableBlockPos();
+
+    FluidNetDistributor(@Nonnull FluidPipeNet net) {
+        this.net = net;
+    }
+
+    /**
+     * Makes the next update look up the pipes of the net again
+     */
+    void invalidate() {
+        this.pipesValid = false;
+    }
+
+    void update() {
+        if (!pipesValid || !arePipesValid()) {
+            collectPipes();
+        }
+        if (fluidMoved) {
+            strandedTanks.clear();
+            this.fluidMoved = false;
+        }
+
+        for (TileEntityFluidPipeTickable pipe : pipes.values()) {
+            int sides = externalSides.getInt(pipe) & ~pipe.lastReceivedFrom;
+            if (sides != 0) {
+                outputSides.put(pipe, sides);
+            }
+            throughput.put(pipe, getMaxThroughput(pipe));
+            // fluid entered the net through this pipe
+            if ((externalSides.getInt(pipe) & pipe.lastReceivedFrom) != 0) {
+                addSources(pipe, false);
+            }
+        }
+        routeSources(false);
+
+        for (TileEntityFluidPipeTickable pipe : pipes.values()) {
+            if ((externalSides.getInt(pipe) & pipe.lastReceivedFrom) != 0 || outputSides.containsKey(pipe)) continue;
+            // pipes carrying fluid along a path stay filled
+            if (throughput.getInt(pipe) < getMaxThroughput(pipe)) continue;
+            addSources(pipe, true);
+        }
+        routeSources(true);
+
+        for (TileEntityFluidPipeTickable pipe : passedThrough) {
+            for (FluidTank tank : pipe.getFluidTanks()) {
+                FluidStack fluid = tank.getFluid();
+                if (fluid != null && fluid.amount > 0) {
+                    pipe.checkAndDestroy(fluid);
+                }
+            }
+        }
+        for (Object2IntMap.Entry<TileEntityFluidPipeTickable> entry : outputSides.object2IntEntrySet()) {
+            entry.getKey().distributeToSides(entry.getIntValue());
+        }
+        for (TileEntityFluidPipeTickable pipe : pipes.values()) {
+            pipe.lastReceivedFrom = 0;
+            pipe.oldLastReceivedFrom = 0;
+        }
+
+        outputSides.clear();
+        throughput.clear();
+        reached.clear();
+        parents.clear();
+        roots.clear();
+        passedThrough.clear();
+    }
+
+    private void collectPipes() {
+        pipes.clear();
+        externalSides.clear();
+        strandedTanks.clear();
+        World world = net.getWorldData();
+        for (BlockPos pos : net.getAllNodes().keySet()) {
+            if (!world.isBlockLoaded(pos)) continue;
+            TileEntity tile = world.getTileEntity(pos);
+            if (tile instanceof TileEntityFluidPipeTickable) {
+                pipes.put(pos, (TileEntityFluidPipeTickable) tile);
+            }
+        }
+        for (TileEntityFluidPipeTickable pipe : pipes.values()) {
+            externalSides.put(pipe, getExternalSides(pipe));
+        }
+        this.pipesValid = true;
+    }
+
+    /**
+     * @return whether none of the looked up pipes were removed or replaced
+     */
+    private boolean arePipesValid() {
+        for (TileEntityFluidPipeTickable pipe : pipes.values()) {
+            if (pipe.isInvalid()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void addSources(@Nonnull TileEntityFluidPipeTickable pipe, boolean storing) {
+        for (FluidTank tank : pipe.getFluidTanks()) {
+            if (tank.getFluidAmount() > 0 && !(storing && strandedTanks.contains(tank))) {
+                sourcePipes.add(pipe);
+                sourceTanks.add(tank);
+            }
+        }
+    }
+
+    /**
+     * Routes the fluid of the sources with one search per fluid
+     *
+     * @param storing whether the sources are pipes without outputs, which are skipped while they reach none
+     */
+    private void routeSources(boolean storing) {
+        for (int i = 0; i < sourceTanks.size(); i++) {
+            if (routedSources.get(i)) continue;
+            FluidStack fluid = sourceTanks.get(i).getFluid();
+            if (fluid == null || fluid.amount <= 0) continue;
+            findPaths(fluid, i);
+            if (storing && !reachesExternalSide()) {
+                for (int j = i; j < sourceTanks.size(); j++) {
+                    if (fluid.isFluidEqual(sourceTanks.get(j).getFluid())) {
+                        strandedTanks.add(sourceTanks.get(j));
+                    }
+                }
+                continue;
+            }
+            for (int j = 0; j < reached.size(); j++) {
+                TileEntityFluidPipeTickable output = reached.get(j);
+                if (parents.get(output) == output || !outputSides.containsKey(output)) continue;
+                int root = roots.getInt(output);
+                FluidTank tank = sourceTanks.get(root);
+                if (tank.getFluidAmount() > 0) {
+                    moveAlongPath(sourcePipes.get(root), tank, output);
+                }
+            }
+        }
+        sourcePipes.clear();
+        sourceTanks.clear();
+        routedSources.clear();
+    }
+
+    /**
+     * Searches the pipes which can carry the fluid from all sources holding it at once, breadth first
+     *
+     * @param first the index of the first source holding the fluid, earlier sources were searched already
+     */
+    private void findPaths(@Nonnull FluidStack fluid, int first) {
+        reached.clear();
+        parents.clear();
+        roots.clear();
+        for (int i = first; i < sourceTanks.size(); i++) {
+            if (routedSources.get(i) || !fluid.isFluidEqual(sourceTanks.get(i).getFluid())) continue;
+            routedSources.set(i);
+            TileEntityFluidPipeTickable source = sourcePipes.get(i);
+            if (parents.containsKey(source)) continue;
+            reached.add(source);
+            parents.put(source, source);
+            roots.put(source, i);
+        }
+        for (int i = 0; i < reached.size(); i++) {
+            TileEntityFluidPipeTickable pipe = reached.get(i);
+            BlockPos pos = pipe.getPipePos();
+            for (EnumFacing facing : EnumFacing.VALUES) {
+                if (!pipe.isConnected(facing)) continue;
+                TileEntityFluidPipeTickable next = pipes.get(mutablePos.setPos(pos).move(facing));
+                if (next == null || parents.containsKey(next)) continue;
+                EnumFacing side = facing.getOpposite();
+                if (!next.isConnected(side) || next.isFaceBlocked(side) || throughput.getInt(next) <= 0 || !canCarry(next, fluid))
+                    continue;
+                parents.put(next, pipe);
+                roots.put(next, roots.getInt(pipe));
+                reached.add(next);
+            }
+        }
+    }
+
+    /**
+     * @return whether the last search reached a pipe next to another block, apart from the sources
+     */
+    private boolean reachesExternalSide() {
+        for (int i = 0; i < reached.size(); i++) {
+            TileEntityFluidPipeTickable pipe = reached.get(i);
+            if (parents.get(pipe) != pipe && externalSides.getInt(pipe) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void moveAlongPath(@Nonnull TileEntityFluidPipeTickable source, @Nonnull FluidTank tank, @Nonnull TileEntityFluidPipeTickable output) {
+        int amount = output.getTankList().fill(tank.getFluid(), false);
+        for (TileEntityFluidPipeTickable pipe = output; amount > 0; pipe = parents.get(pipe)) {
+            amount = Math.min(amount, throughput.getInt(pipe));
+            if (pipe == source) break;
+        }
+        if (amount <= 0) return;
+
+        FluidStack moved = tank.drain(amount, true);
+        if (moved == null) return;
+        this.fluidMoved = true;
+        for (TileEntityFluidPipeTickable pipe = output; ; pipe = parents.get(pipe)) {
+            throughput.put(pipe, throughput.getInt(pipe) - moved.amount);
+            if (pipe == source) break;
+        }
+
+        // fill the pipes between the source and the output first
+        for (TileEntityFluidPipeTickable pipe = parents.get(output); pipe != source && moved.amount > 0; pipe = parents.get(pipe)) {
+            int filled = pipe.getTankList().fill(moved, true);
+            if (filled > 0) {
+                moved.amount -= filled;
+            } else {
+                passedThrough.add(pipe);
+            }
+        }
+        if (moved.amount > 0) {
+            moved.amount -= output.getTankList().fill(moved, true);
+        }
+        if (moved.amount > 0) {
+            tank.fill(moved, true);
+        }
+    }
+
+    /**
+     * @return the connected sides of the pipe which do not lead to another pipe of the net
+     */
+    private int getExternalSides(@Nonnull TileEntityFluidPipeTickable pipe) {
+        int sides = 0;
+        BlockPos pos = pipe.getPipePos();
+        for (EnumFacing facing : EnumFacing.VALUES) {
+            if (pipe.isConnected(facing) && !net.containsNode(mutablePos.setPos(pos).move(facing))) {
+                sides |= 1 << facing.getIndex();
+            }
+        }
+        return sides;
+    }
+
+    /**
+     * @return the amount of fluid the pipe moves per update, which matches a pipe distributing on its own
+     */
+    private static int getMaxThroughput(@Nonnull TileEntityFluidPipeTickable pipe) {
+        return pipe.getCapacityPerTank() / 2 * pipe.getNodeData().getTanks();
+    }
+
+    /**
+     * @return whether the pipe holds the fluid already or has an empty channel for it
+     */
+    private static boolean canCarry(@Nonnull TileEntityFluidPipeTickable pipe, @Nonnull FluidStack fluid) {
+        for (FluidTank tank : pipe.getFluidTanks()) {
+            FluidStack contained = tank.getFluid();
+            if (contained == null || contained.amount <= 0 || contained.isFluidEqual(fluid)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -3,14 +3,48 @@ package gregtech.common.pipelike.fluidpipe.net;
 import gregtech.api.pipenet.PipeNet;
 import gregtech.api.pipenet.WorldPipeNet;
 import gregtech.api.unification.material.properties.FluidPipeProperties;
+import gregtech.common.ConfigHolder;
 import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.ITickable;
 
-public class FluidPipeNet extends PipeNet<FluidPipeProperties> {
+public class FluidPipeNet extends PipeNet<FluidPipeProperties> implements ITickable {
+
+    private final FluidNetDistributor distributor = new FluidNetDistributor(this);
 
     public FluidPipeNet(WorldPipeNet<FluidPipeProperties, FluidPipeNet> world) {
         super(world);
     }
 
+    /**
+     * Distributes fluid for the whole network at once, if enabled in the config
+     *
+     * @see FluidNetDistributor
+     */
+    @Override
+    public void update() {
+        if (ConfigHolder.machines.netLevelFluidPipeDistribution) {
+            distributor.update();
+        }
+    }
+
+    @Override
+    protected void onNodeConnectionsUpdate() {
+        super.onNodeConnectionsUpdate();
+        distributor.invalidate();
+    }
+
+    @Override
+    public void onPipeConnectionsUpdate() {
+        distributor.invalidate();
+    }
+
+    /**
+     * Is called when a chunk containing pipes of this net is loaded or unloaded
+     */
+    void onChunkLoadChanged() {
+        distributor.invalidate();
+    }
+
     @Override
     protected void writeNodeData(FluidPipeProperties nodeData, NBTTagCompound tagCompound) {
         tagCompound.setInteger("max_temperature", nodeData.getMaxFluidTemperature());
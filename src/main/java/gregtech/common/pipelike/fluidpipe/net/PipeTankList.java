@@ -55,7 +55,7 @@ public class PipeTankList implements IFluidHandler, Iterable<FluidTank> {
     @Override
     public int fill(FluidStack resource, boolean doFill) {
         int channel;
-        if (pipe.isFaceBlocked(facing) || resource == null || resource.amount <= 0 || (channel = findChannel(resource)) < 0)
+        if ((facing != null && pipe.isFaceBlocked(facing)) || resource == null || resource.amount <= 0 || (channel = findChannel(resource)) < 0)
             return 0;
 
         return fill(resource, doFill, channel);
@@ -76,6 +76,7 @@ public class PipeTankList implements IFluidHandler, Iterable<FluidTank> {
             if (doFill) {
                 tank.setFluid(newFluid);
                 pipe.receivedFrom(facing);
+                pipe.wakeUp();
                 pipe.checkAndDestroy(newFluid);
             }
             return newFluid.amount;
@@ -86,6 +87,7 @@ public class PipeTankList implements IFluidHandler, Iterable<FluidTank> {
                 if (doFill) {
                     currentFluid.amount += toAdd;
                     pipe.receivedFrom(facing);
+                    pipe.wakeUp();
                     pipe.checkAndDestroy(currentFluid);
                 }
                 return toAdd;
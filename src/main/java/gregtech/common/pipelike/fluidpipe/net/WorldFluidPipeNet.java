@@ -1,10 +1,14 @@
 package gregtech.common.pipelike.fluidpipe.net;
 
-import gregtech.api.pipenet.WorldPipeNet;
+import gregtech.api.pipenet.tickable.TickableWorldPipeNet;
 import gregtech.api.unification.material.properties.FluidPipeProperties;
+import gregtech.common.pipelike.fluidpipe.tile.TileEntityFluidPipe;
 import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
 
-public class WorldFluidPipeNet extends WorldPipeNet<FluidPipeProperties, FluidPipeNet> {
+import java.util.List;
+
+public class WorldFluidPipeNet extends TickableWorldPipeNet<FluidPipeProperties, FluidPipeNet> {
 
     private static final String DATA_ID_BASE = "gregtech.fluid_pipe_net";
 
@@ -23,9 +27,34 @@ public class WorldFluidPipeNet extends WorldPipeNet<FluidPipeProperties, FluidPi
         super(name);
     }
 
+    @Override
+    protected int getUpdateRate() {
+        return TileEntityFluidPipe.FREQUENCY;
+    }
+
     @Override
     protected FluidPipeNet createNetInstance() {
         return new FluidPipeNet(this);
     }
 
+    @Override
+    public void onChunkLoaded(Chunk chunk) {
+        super.onChunkLoaded(chunk);
+        onChunkLoadChanged(chunk);
+    }
+
+    @Override
+    public void onChunkUnloaded(Chunk chunk) {
+        super.onChunkUnloaded(chunk);
+        onChunkLoadChanged(chunk);
+    }
+
+    private void onChunkLoadChanged(Chunk chunk) {
+        List<FluidPipeNet> pipeNetsInThisChunk = this.pipeNetsByChunk.get(chunk.getPos());
+        if (pipeNetsInThisChunk == null) return;
+        for (FluidPipeNet pipeNet : pipeNetsInThisChunk) {
+            pipeNet.onChunkLoadChanged();
+        }
+    }
+
 }
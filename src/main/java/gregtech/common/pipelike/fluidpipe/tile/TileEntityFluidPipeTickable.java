@@ -9,6 +9,7 @@ import gregtech.api.metatileentity.IDataInfoProvider;
 import gregtech.api.metatileentity.MetaTileEntity;
 import gregtech.api.util.EntityDamageUtil;
 import gregtech.api.util.GTUtility;
+import gregtech.common.ConfigHolder;
 import gregtech.common.covers.CoverPump;
 import gregtech.common.covers.ManualImportExportMode;
 import gregtech.common.pipelike.fluidpipe.net.PipeTankList;
@@ -43,6 +44,8 @@ import java.util.List;
 
 public class TileEntityFluidPipeTickable extends TileEntityFluidPipe implements ITickable, IDataInfoProvider {
 
+    private static final int ALL_SIDES = 0b111111;
+
     public byte lastReceivedFrom = 0, oldLastReceivedFrom = 0;
     private PipeTankList pipeTankList;
     private final EnumMap<EnumFacing, PipeTankList> tankLists = new EnumMap<>(EnumFacing.class);
@@ -70,7 +73,7 @@ public class TileEntityFluidPipeTickable extends TileEntityFluidPipe implements
     public void update() {
         timer++;
         getCoverableImplementation().update();
-        if (!world.isRemote && getOffsetTimer() % FREQUENCY == 0) {
+        if (!world.isRemote && !ConfigHolder.machines.netLevelFluidPipeDistribution && getOffsetTimer() % FREQUENCY == 0) {
             lastReceivedFrom &= 63;
             if (lastReceivedFrom == 63) {
                 lastReceivedFrom = 0;
@@ -90,12 +93,22 @@ public class TileEntityFluidPipeTickable extends TileEntityFluidPipe implements
                 }
 
                 if (shouldDistribute) {
-                    distributeFluid(index, tank, fluid);
+                    distributeFluid(index, tank, fluid, ALL_SIDES);
                     lastReceivedFrom = 0;
                 }
             }
             oldLastReceivedFrom = lastReceivedFrom;
         }
+        updateSleepState(!ConfigHolder.machines.netLevelFluidPipeDistribution && containsFluid());
+    }
+
+    private boolean containsFluid() {
+        for (FluidTank tank : getFluidTanks()) {
+            if (tank.getFluidAmount() > 0) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @Override
@@ -103,7 +116,30 @@ public class TileEntityFluidPipeTickable extends TileEntityFluidPipe implements
         return true;
     }
 
-    private void distributeFluid(int channel, FluidTank tank, FluidStack fluid) {
+    /**
+     * Pushes the contents of this pipe out of the given sides.
+     * Used by {@link gregtech.common.pipelike.fluidpipe.net.FluidPipeNet} when it distributes fluid for the whole network,
+     * which resets {@link #lastReceivedFrom} afterwards.
+     *
+     * @param sides bitmask of the sides to push fluid out of
+     */
+    public void distributeToSides(int sides) {
+        int tanks = getNodeData().getTanks();
+        for (int i = 0, j = GTValues.RNG.nextInt(tanks); i < tanks; i++) {
+            int index = (i + j) % tanks;
+            FluidTank tank = getFluidTanks()[index];
+            FluidStack fluid = tank.getFluid();
+            if (fluid == null)
+                continue;
+            if (fluid.amount <= 0) {
+                tank.setFluid(null);
+                continue;
+            }
+            distributeFluid(index, tank, fluid, sides);
+        }
+    }
+
+    private void distributeFluid(int channel, FluidTank tank, FluidStack fluid, int sides) {
         // Tank, From, Amount to receive
         List<MutableTriple<IFluidHandler, IFluidHandler, Integer>> tanks = new ArrayList<>();
         int amount = fluid.amount;
@@ -115,7 +151,7 @@ public class TileEntityFluidPipeTickable extends TileEntityFluidPipe implements
             // Get a list of tanks accepting fluids, and what side they're on
             side = (byte) ((i + j) % 6);
             EnumFacing facing = EnumFacing.VALUES[side];
-            if (!isConnected(facing) || (lastReceivedFrom & (1 << side)) != 0)
+            if ((sides & (1 << side)) == 0 || !isConnected(facing) || (lastReceivedFrom & (1 << side)) != 0)
                 continue;
             EnumFacing oppositeSide = facing.getOpposite();
 
@@ -31,6 +31,7 @@ public class ItemNetHandler implements IItemHandler {
     private final Map<FacingPos, Integer> simulatedTransfersGlobalRoundRobin = new HashMap<>();
     private int simulatedTransfers = 0;
     private final ItemStackHandler testHandler = new ItemStackHandler(1);
+    private final ItemNetRoundRobinPlanner planner = new ItemNetRoundRobinPlanner();
 
     public ItemNetHandler(ItemPipeNet net, TileEntityItemPipe pipe, EnumFacing facing) {
         this.net = net;
@@ -67,6 +68,16 @@ public class ItemNetHandler implements IItemHandler {
             return stack;
         }
 
+        int count = stack.getCount();
+        ItemStack remainder = insertToNet(stack, simulate);
+        // the pipe only needs to tick while it has transferred items to reset
+        if (!simulate && remainder.getCount() < count) {
+            tickingPipe.wakeUp();
+        }
+        return remainder;
+    }
+
+    private ItemStack insertToNet(ItemStack stack, boolean simulate) {
         copyTransferred();
         CoverBehavior pipeCover = getCoverOnPipe(pipe.getPipePos(), facing);
         CoverBehavior tileCover = getCoverOnNeighbour(pipe.getPipePos(), facing);
@@ -103,8 +114,8 @@ public class ItemNetHandler implements IItemHandler {
     }
 
     public ItemStack insertFirst(ItemStack stack, boolean simulate) {
-        for (ItemPipeNet.Inventory inv : net.getNetData(pipe.getPipePos(), facing)) {
-            stack = insert(inv, stack, simulate);
+        for (ItemPipeNet.Inventory inv : net.getNetData(pipe.getPipePos(), facing, stack)) {
+            stack = insertRouted(inv, stack, simulate, false);
             if (stack.isEmpty())
                 return ItemStack.EMPTY;
         }
@@ -112,178 +123,56 @@ public class ItemNetHandler implements IItemHandler {
     }
 
     public ItemStack insertRoundRobin(ItemStack stack, boolean simulate, boolean global) {
-        List<ItemPipeNet.Inventory> handlers = net.getNetData(pipe.getPipePos(), facing);
+        List<ItemPipeNet.Inventory> handlers = net.getNetData(pipe.getPipePos(), facing, stack);
         if (handlers.size() == 0)
             return stack;
         if (handlers.size() == 1)
-            return insert(handlers.get(0), stack, simulate);
-        List<ItemPipeNet.Inventory> handlersCopy = new ArrayList<>(handlers);
-        int original = stack.getCount();
-
-        if (global) {
-            stack = insertToHandlersEnhanced(handlersCopy, stack, handlers.size(), simulate);
-        } else {
-            stack = insertToHandlers(handlersCopy, stack, simulate);
-            if (!stack.isEmpty() && handlersCopy.size() > 0)
-                stack = insertToHandlers(handlersCopy, stack, simulate);
-        }
-
-        return stack;
-    }
-
-    /**
-     * Inserts items equally to all handlers
-     * if it couldn't insert all items, the handler will be removed
-     *
-     * @param copy     to insert to
-     * @param stack    to insert
-     * @param simulate simulate
-     * @return remainder
-     */
-    private ItemStack insertToHandlers(List<ItemPipeNet.Inventory> copy, ItemStack stack, boolean simulate) {
-        Iterator<ItemPipeNet.Inventory> handlerIterator = copy.listIterator();
-        int inserted = 0;
-        int count = stack.getCount();
-        int c = count / copy.size();
-        int m = c == 0 ? count % copy.size() : 0;
-        while (handlerIterator.hasNext()) {
-            ItemPipeNet.Inventory handler = handlerIterator.next();
-
-            int amount = c;
-            if (m > 0) {
-                amount++;
-                m--;
-            }
-            amount = Math.min(amount, stack.getCount() - inserted);
-            if (amount == 0) break;
-            ItemStack toInsert = stack.copy();
-            toInsert.setCount(amount);
-            int r = insert(handler, toInsert, simulate).getCount();
-            if (r < amount) {
-                inserted += (amount - r);
-            }
-            if (r == 1 && c == 0 && amount == 1) {
-                m++;
-            }
+            return insertRouted(handlers.get(0), stack, simulate, false);
 
-            if (r > 0)
-                handlerIterator.remove();
-        }
-
-        ItemStack remainder = stack.copy();
-        remainder.setCount(count - inserted);
-        return remainder;
-    }
-
-    private ItemStack insertToHandlersEnhanced(List<ItemPipeNet.Inventory> copy, ItemStack stack, int dest, boolean simulate) {
-        LinkedList<EnhancedRoundRobinData> transferred = new LinkedList<>();
-        LinkedList<Integer> steps = new LinkedList<>();
+        int size = handlers.size();
+        int[] capacities = planner.getCapacities(this, handlers, stack, world.getTotalWorldTime());
+        int[] levels = planner.getLevels();
         int min = Integer.MAX_VALUE;
-        ItemStack simStack;
-
-        // find inventories that are not full and get the amount that was inserted in total
-        for (ItemPipeNet.Inventory inv : copy) {
-            simStack = stack.copy();
-            int ins = stack.getCount() - insert(inv, simStack, true, true).getCount();
-            if (ins <= 0)
-                continue;
-            int didTransfer = didTransferTo(inv, simulate);
-            EnhancedRoundRobinData data = new EnhancedRoundRobinData(inv, ins, didTransfer);
-            transferred.addLast(data);
-
-            min = Math.min(min, didTransfer);
-
-            if (!steps.contains(didTransfer)) {
-                steps.add(didTransfer);
-            }
+        for (int i = 0; i < size; i++) {
+            // global round robin evens out the total amount each inventory received, otherwise only this stack is split evenly
+            levels[i] = global && capacities[i] > 0 ? didTransferTo(handlers.get(i), simulate) : 0;
+            if (capacities[i] > 0) min = Math.min(min, levels[i]);
         }
-
-        if (transferred.isEmpty() || steps.isEmpty())
+        if (min == Integer.MAX_VALUE)
             return stack;
-
-        if (!simulate && min < Integer.MAX_VALUE) {
+        if (global && !simulate) {
             decrementBy(min);
         }
 
-        transferred.sort(Comparator.comparingInt(data -> data.transferred));
-        steps.sort(Integer::compare);
-
-        if (transferred.get(0).transferred != steps.get(0)) {
-            return stack;
-        }
-
-        int amount = stack.getCount();
-        int c = amount / transferred.size();
-        int m = amount % transferred.size();
-        List<EnhancedRoundRobinData> transferredCopy = new ArrayList<>(transferred);
-        int nextStep = steps.isEmpty() ? -1 : steps.pollFirst();
-
-        // equally distribute items over all inventories
-        // it takes into account how much was inserted in total
-        // f.e. if inv1 has 2 inserted and inv2 has 6 inserted, it will first try to insert 4 into inv1 so that both have 6 and then it will distribute the rest equally
-        outer:
-        while (amount > 0 && !transferredCopy.isEmpty()) {
-            Iterator<EnhancedRoundRobinData> iterator = transferredCopy.iterator();
-            int i = 0;
-            while (iterator.hasNext()) {
-                EnhancedRoundRobinData data = iterator.next();
-                if (nextStep >= 0 && data.transferred >= nextStep)
-                    break;
-
-                int toInsert;
-                if (nextStep <= 0) {
-                    if (amount <= m) {
-                        //break outer;
-                        toInsert = 1;
-                    } else {
-                        toInsert = Math.min(c, amount);
-                    }
-                } else {
-                    toInsert = Math.min(amount, nextStep - data.transferred);
-                }
-                if (data.toTransfer + toInsert >= data.maxInsertable) {
-                    data.toTransfer = data.maxInsertable;
-                    iterator.remove();
-                } else {
-                    data.toTransfer += toInsert;
-                }
-
-                data.transferred += toInsert;
-
-                if ((amount -= toInsert) == 0) {
-                    break outer;
-                }
-                i++;
-            }
-
-            for (EnhancedRoundRobinData data : transferredCopy) {
-                if (data.transferred < nextStep)
-                    continue outer;
-            }
-            if (steps.isEmpty()) {
-                if (nextStep >= 0) {
-                    c = amount / transferredCopy.size();
-                    m = amount % transferredCopy.size();
-                    nextStep = -1;
+        int remaining = stack.getCount();
+        boolean shortfall = true;
+        while (remaining > 0 && shortfall) {
+            shortfall = false;
+            int[] amounts = planner.plan(size, capacities, remaining);
+            for (int i = 0; i < size; i++) {
+                int planned = amounts[i];
+                if (planned <= 0) continue;
+                ItemPipeNet.Inventory handler = handlers.get(i);
+                ItemStack toInsert = stack.copy();
+                toInsert.setCount(planned);
+                int ins = planned - insertRouted(handler, toInsert, simulate, false).getCount();
+                remaining -= ins;
+                levels[i] += ins;
+                capacities[i] -= ins;
+                if (global) transferTo(handler, simulate, ins);
+                if (ins < planned) {
+                    // the cached capacity was stale, so the destination is full for now and its share goes to the others
+                    planner.remeasure(this, i, stack);
+                    capacities[i] = 0;
+                    shortfall = true;
+                } else if (!simulate) {
+                    planner.onInserted(i, ins);
                 }
-            } else {
-                nextStep = steps.pollFirst();
             }
         }
 
-        int inserted = 0;
-
-        // finally actually insert the item
-        for (EnhancedRoundRobinData data : transferred) {
-            ItemStack toInsert = stack.copy();
-            toInsert.setCount(data.toTransfer);
-            int ins = data.toTransfer - insert(data.inventory, toInsert, simulate).getCount();
-            inserted += ins;
-            transferTo(data.inventory, simulate, ins);
-        }
-
         ItemStack remainder = stack.copy();
-        remainder.shrink(inserted);
+        remainder.setCount(remaining);
         return remainder;
     }
 
@@ -292,8 +181,19 @@ public class ItemNetHandler implements IItemHandler {
     }
 
     public ItemStack insert(ItemPipeNet.Inventory handler, ItemStack stack, boolean simulate, boolean ignoreLimit) {
+        if (!handler.matchesFilters(stack)) {
+            return stack;
+        }
+        return insertRouted(handler, stack, simulate, ignoreLimit);
+    }
+
+    /**
+     * Inserts a stack into an inventory of the net. The filters on the way to the inventory are not checked again,
+     * so the inventory must be taken from {@link ItemPipeNet#getNetData(BlockPos, EnumFacing, ItemStack)} for the stack.
+     */
+    ItemStack insertRouted(ItemPipeNet.Inventory handler, ItemStack stack, boolean simulate, boolean ignoreLimit) {
         int allowed = ignoreLimit ? stack.getCount() : checkTransferable(handler.getProperties().getTransferRate(), stack.getCount(), simulate);
-        if (allowed == 0 || !handler.matchesFilters(stack)) {
+        if (allowed == 0) {
             return stack;
         }
         CoverBehavior pipeCover = getCoverOnPipe(handler.getPipePos(), handler.getFaceToHandler());
@@ -470,17 +370,4 @@ public class ItemNetHandler implements IItemHandler {
             entry.setValue(entry.getValue() - amount);
         }
     }
-
-    private static class EnhancedRoundRobinData {
-        private final ItemPipeNet.Inventory inventory;
-        private final int maxInsertable;
-        private int transferred;
-        private int toTransfer = 0;
-
-        private EnhancedRoundRobinData(ItemPipeNet.Inventory inventory, int maxInsertable, int transferred) {
-            this.maxInsertable = maxInsertable;
-            this.transferred = transferred;
-            this.inventory = inventory;
-        }
-    }
 }
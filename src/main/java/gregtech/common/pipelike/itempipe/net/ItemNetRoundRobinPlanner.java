@@ -0,0 +1,171 @@
+package gregtech.common.pipelike.itempipe.net;
+
+import gregtech.api.util.ItemStackHashStrategy;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenCustomHashMap;
+import net.minecraft.item.ItemStack;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+
+/**
+ * Plans round-robin insertions of an {@link ItemNetHandler} over all destinations of its net at once.
+ * <p>
+ * The free capacity of every destination is measured once per item type and tick, and kept up to date with
+ * the committed insertions. A destination accepting less than planned is measured again. The split itself is computed over primitive arrays, filling up the destinations which
+ * received the least so far first, and then distributing the rest equally.
+ */
+class ItemNetRoundRobinPlanner {
+
+    private final Object2ObjectOpenCustomHashMap<ItemStack, Capacities> capacitiesByType = new Object2ObjectOpenCustomHashMap<>(ItemStackHashStrategy.comparingAllButCount());
+
+    private long cachedTick = -1;
+    private Capacities current;
+
+    private int[] available = new int[0];
+    private int[] levels = new int[0];
+    private int[] amounts = new int[0];
+
+    /**
+     * Looks up or measures the free capacity of every destination for the stack
+     *
+     * @return a copy of the capacity of each destination, which may be limited to the size of the stack,
+     * to keep track of the capacity left while inserting the stack
+     */
+    @Nonnull
+    int[] getCapacities(@Nonnull ItemNetHandler handler, @Nonnull List<ItemPipeNet.Inventory> destinations, @Nonnull ItemStack stack, long tick) {
+        if (this.cachedTick != tick) {
+            this.capacitiesByType.clear();
+            this.cachedTick = tick;
+        }
+        int size = destinations.size();
+        if (levels.length < size) {
+            this.available = new int[size];
+            this.levels = new int[size];
+            this.amounts = new int[size];
+        }
+
+        Capacities capacities = capacitiesByType.get(stack);
+        if (capacities == null || capacities.destinations != destinations) {
+            // measure for new item types, and again when the routes were rebuilt within the tick
+            capacities = new Capacities(destinations);
+            capacitiesByType.put(stack.copy(), capacities);
+            for (int i = 0; i < size; i++) {
+                capacities.measure(handler, i, stack);
+            }
+        } else {
+            // capacities limited by the size of an earlier stack may be too small for this one
+            for (int i = 0; i < size; i++) {
+                if (capacities.isLimited[i] && capacities.values[i] < stack.getCount()) {
+                    capacities.measure(handler, i, stack);
+                }
+            }
+        }
+        this.current = capacities;
+        System.arraycopy(capacities.values, 0, available, 0, size);
+        return available;
+    }
+
+    /**
+     * @return the array to put the amount already received by each destination into, for {@link #plan(int, int[], int)}
+     */
+    @Nonnull
+    int[] getLevels() {
+        return levels;
+    }
+
+    /**
+     * Splits the amount over the destinations, so that the amount received in total by each destination becomes as
+     * equal as possible. Leftover items go to the destinations with the lowest index.
+     *
+     * @param size       the amount of destinations
+     * @param capacities the capacity of each destination
+     * @param amount     the amount to split
+     * @return the amount to insert into each destination
+     */
+    @Nonnull
+    int[] plan(int size, @Nonnull int[] capacities, int amount) {
+        int[] levels = this.levels;
+        int[] amounts = this.amounts;
+
+        long totalCapacity = 0;
+        long low = Long.MAX_VALUE;
+        long high = 0;
+        for (int i = 0; i < size; i++) {
+            if (capacities[i] <= 0) continue;
+            totalCapacity += capacities[i];
+            low = Math.min(low, levels[i]);
+            high = Math.max(high, (long) levels[i] + capacities[i]);
+        }
+        if (totalCapacity <= amount) {
+            for (int i = 0; i < size; i++) {
+                amounts[i] = Math.max(0, capacities[i]);
+            }
+            return amounts;
+        }
+
+        // find the highest fill level which does not need more than the amount
+        while (low < high) {
+            long mid = (low + high + 1) >>> 1;
+            if (fillTo(size, capacities, mid) <= amount) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        long remaining = amount - fillTo(size, capacities, low);
+        for (int i = 0; i < size; i++) {
+            if (capacities[i] <= 0) {
+                amounts[i] = 0;
+                continue;
+            }
+            amounts[i] = (int) Math.min(capacities[i], Math.max(0, low - levels[i]));
+            if (remaining > 0 && amounts[i] < capacities[i] && levels[i] <= low) {
+                amounts[i]++;
+                remaining--;
+            }
+        }
+        return amounts;
+    }
+
+    private long fillTo(int size, int[] capacities, long level) {
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            if (capacities[i] <= 0) continue;
+            total += Math.min(capacities[i], Math.max(0, level - levels[i]));
+        }
+        return total;
+    }
+
+    /**
+     * Removes inserted items from the cached capacity of a destination
+     */
+    void onInserted(int destination, int amount) {
+        this.current.values[destination] -= amount;
+    }
+
+    /**
+     * Measures the free capacity of a destination again, after it accepted less than its cached capacity suggested
+     */
+    void remeasure(@Nonnull ItemNetHandler handler, int destination, @Nonnull ItemStack stack) {
+        this.current.measure(handler, destination, stack);
+    }
+
+    private static class Capacities {
+
+        private final List<ItemPipeNet.Inventory> destinations;
+        private final int[] values;
+        private final boolean[] isLimited;
+
+        private Capacities(List<ItemPipeNet.Inventory> destinations) {
+            this.destinations = destinations;
+            this.values = new int[destinations.size()];
+            this.isLimited = new boolean[destinations.size()];
+        }
+
+        private void measure(ItemNetHandler handler, int index, ItemStack stack) {
+            int count = stack.getCount();
+            this.values[index] = count - handler.insertRouted(destinations.get(index), stack, true, true).getCount();
+            this.isLimited[index] = this.values[index] == count;
+        }
+    }
+}
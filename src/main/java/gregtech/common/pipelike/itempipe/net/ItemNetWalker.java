@@ -9,6 +9,7 @@ import gregtech.common.covers.CoverItemFilter;
 import gregtech.common.covers.CoverShutter;
 import gregtech.common.covers.ItemFilterMode;
 import gregtech.common.pipelike.itempipe.tile.TileEntityItemPipe;
+import it.unimi.dsi.fastutil.longs.LongSet;
 import net.minecraft.item.ItemStack;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.EnumFacing;
@@ -25,10 +26,14 @@ import java.util.function.Predicate;
 
 public class ItemNetWalker extends PipeNetWalker {
 
-    public static List<ItemPipeNet.Inventory> createNetData(World world, BlockPos sourcePipe, EnumFacing faceToSourceHandler) {
+    /**
+     * @param walkedPipes the set to add the positions of all walked pipes to
+     */
+    public static List<ItemPipeNet.Inventory> createNetData(World world, BlockPos sourcePipe, EnumFacing faceToSourceHandler, LongSet walkedPipes) {
         ItemNetWalker walker = new ItemNetWalker(world, sourcePipe, 1, new ArrayList<>(), null);
         walker.sourcePipe = sourcePipe;
         walker.facingToHandler = faceToSourceHandler;
+        walker.walkedPipes = walkedPipes;
         walker.traversePipeNet();
         return walker.isFailed() ? null : walker.inventories;
     }
@@ -39,6 +44,7 @@ public class ItemNetWalker extends PipeNetWalker {
     private final EnumMap<EnumFacing, List<Predicate<ItemStack>>> nextFilters = new EnumMap<>(EnumFacing.class);
     private BlockPos sourcePipe;
     private EnumFacing facingToHandler;
+    private LongSet walkedPipes;
 
     protected ItemNetWalker(World world, BlockPos sourcePipe, int distance, List<ItemPipeNet.Inventory> inventories, ItemPipeProperties properties) {
         super(world, sourcePipe, distance);
@@ -51,6 +57,7 @@ public class ItemNetWalker extends PipeNetWalker {
         ItemNetWalker walker = new ItemNetWalker(world, nextPos, walkedBlocks, inventories, minProperties);
         walker.facingToHandler = facingToHandler;
         walker.sourcePipe = sourcePipe;
+        walker.walkedPipes = walkedPipes;
         walker.filters.addAll(filters);
         List<Predicate<ItemStack>> moreFilters = nextFilters.get(facingToNextPos);
         if (moreFilters != null && !moreFilters.isEmpty()) {
@@ -61,6 +68,7 @@ public class ItemNetWalker extends PipeNetWalker {
 
     @Override
     protected void checkPipe(IPipeTile<?, ?> pipeTile, BlockPos pos) {
+        walkedPipes.add(pos.toLong());
         for (List<Predicate<ItemStack>> filters : nextFilters.values()) {
             if (!filters.isEmpty()) {
                 this.filters.addAll(filters);
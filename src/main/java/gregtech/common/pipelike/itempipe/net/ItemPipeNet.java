@@ -5,6 +5,10 @@ import gregtech.api.pipenet.PipeNet;
 import gregtech.api.pipenet.WorldPipeNet;
 import gregtech.api.unification.material.properties.ItemPipeProperties;
 import gregtech.api.util.FacingPos;
+import gregtech.api.util.ItemStackHashStrategy;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenCustomHashMap;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.tileentity.TileEntity;
@@ -19,7 +23,12 @@ import java.util.function.Predicate;
 
 public class ItemPipeNet extends PipeNet<ItemPipeProperties> {
 
+    private static final int MAX_CACHED_ROUTES = 256;
+
     private final Map<BlockPos, List<Inventory>> NET_DATA = new HashMap<>();
+    private final Map<BlockPos, Map<ItemStack, List<Inventory>>> ROUTES = new HashMap<>();
+    // the pipes walked to build each entry of NET_DATA, whose covers decide which stacks pass
+    private final Map<BlockPos, LongSet> WALKED_PIPES = new HashMap<>();
 
     public ItemPipeNet(WorldPipeNet<ItemPipeProperties, ? extends PipeNet<ItemPipeProperties>> world) {
         super(world);
@@ -28,32 +37,91 @@ public class ItemPipeNet extends PipeNet<ItemPipeProperties> {
     public List<Inventory> getNetData(BlockPos pipePos, EnumFacing facing) {
         List<Inventory> data = NET_DATA.get(pipePos);
         if (data == null) {
-            data = ItemNetWalker.createNetData(getWorldData(), pipePos, facing);
+            LongSet walkedPipes = new LongOpenHashSet();
+            data = ItemNetWalker.createNetData(getWorldData(), pipePos, facing, walkedPipes);
             if (data == null) {
                 // walker failed, don't cache so it tries again on next insertion
                 return Collections.emptyList();
             }
             data.sort(Comparator.comparingInt(inv -> inv.properties.getPriority()));
             NET_DATA.put(pipePos, data);
+            WALKED_PIPES.put(pipePos, walkedPipes);
         }
         return data;
     }
 
+    /**
+     * Gets the inventories a stack can be routed to, which are the inventories of {@link #getNetData(BlockPos, EnumFacing)}
+     * whose filters on the way accept the stack. The result is cached per item type until a pipe in the net or a cover on the
+     * way changes.
+     *
+     * @param pipePos the position of the source pipe
+     * @param facing  the side of the source pipe the stack is inserted from
+     * @param stack   the stack to route
+     * @return the inventories accepting the stack, sorted by priority
+     */
+    public List<Inventory> getNetData(BlockPos pipePos, EnumFacing facing, ItemStack stack) {
+        List<Inventory> data = getNetData(pipePos, facing);
+        if (data.isEmpty()) {
+            return data;
+        }
+        Map<ItemStack, List<Inventory>> routes = ROUTES.get(pipePos);
+        if (routes == null) {
+            routes = new Object2ObjectOpenCustomHashMap<>(ItemStackHashStrategy.comparingAllButCount());
+            ROUTES.put(pipePos, routes);
+        }
+        List<Inventory> route = routes.get(stack);
+        if (route == null) {
+            route = new ArrayList<>();
+            for (Inventory inventory : data) {
+                if (inventory.matchesFilters(stack)) {
+                    route.add(inventory);
+                }
+            }
+            if (routes.size() >= MAX_CACHED_ROUTES) {
+                routes.clear();
+            }
+            routes.put(stack.copy(), route);
+        }
+        return route;
+    }
+
+    private void clearNetData() {
+        NET_DATA.clear();
+        ROUTES.clear();
+        WALKED_PIPES.clear();
+    }
+
     @Override
     public void onNeighbourUpdate(BlockPos fromPos) {
-        NET_DATA.clear();
+        clearNetData();
     }
 
     @Override
     public void onPipeConnectionsUpdate() {
-        NET_DATA.clear();
+        clearNetData();
+    }
+
+    @Override
+    public void onPipeCoversUpdate(BlockPos pipePos) {
+        // only the routes walked through the pipe can be filtered by its covers
+        long changedPipe = pipePos.toLong();
+        Iterator<Map.Entry<BlockPos, LongSet>> iterator = WALKED_PIPES.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<BlockPos, LongSet> entry = iterator.next();
+            if (entry.getValue().contains(changedPipe)) {
+                NET_DATA.remove(entry.getKey());
+                ROUTES.remove(entry.getKey());
+                iterator.remove();
+            }
+        }
     }
 
     @Override
     protected void transferNodeData(Map<BlockPos, Node<ItemPipeProperties>> transferredNodes, PipeNet<ItemPipeProperties> parentNet) {
         super.transferNodeData(transferredNodes, parentNet);
-        NET_DATA.clear();
-        ((ItemPipeNet) parentNet).NET_DATA.clear();
+        clearNetData();
+        ((ItemPipeNet) parentNet).clearNetData();
     }
 
     @Override
@@ -13,6 +13,7 @@ public class TileEntityItemPipeTickable extends TileEntityItemPipe implements IT
         if (++timer % 20 == 0) {
             transferredItems = 0;
         }
+        updateSleepState(transferredItems > 0);
     }
 
     @Override
@@ -0,0 +1,71 @@
+package gregtech.core.network.packets;
+
+import gregtech.api.metatileentity.SyncedTileEntityBase;
+import gregtech.api.network.IClientExecutor;
+import gregtech.api.network.IPacket;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import lombok.NoArgsConstructor;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.network.NetHandlerPlayClient;
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.math.BlockPos.MutableBlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Carries the custom data of all {@link SyncedTileEntityBase}s of a single chunk written during one tick.
+ * <p>
+ * The data is a sequence of entries, each made of the local xz of the tile entity as one byte, its y as a VarInt,
+ * the amount of updates as a VarInt, and for each update its discriminator, length and bytes.
+ */
+@NoArgsConstructor
+public class PacketSyncedTileEntityData implements IPacket, IClientExecutor {
+
+    private int chunkX;
+    private int chunkZ;
+    private ByteBuf data;
+
+    public PacketSyncedTileEntityData(int chunkX, int chunkZ, ByteBuf data) {
+        this.chunkX = chunkX;
+        this.chunkZ = chunkZ;
+        this.data = data;
+    }
+
+    @Override
+    public void encode(PacketBuffer buf) {
+        buf.writeVarInt(chunkX);
+        buf.writeVarInt(chunkZ);
+        buf.writeBytes(data, data.readerIndex(), data.readableBytes());
+    }
+
+    @Override
+    public void decode(PacketBuffer buf) {
+        this.chunkX = buf.readVarInt();
+        this.chunkZ = buf.readVarInt();
+        this.data = Unpooled.copiedBuffer(buf);
+    }
+
+    @SideOnly(Side.CLIENT)
+    @Override
+    public void executeClient(NetHandlerPlayClient handler) {
+        World world = Minecraft.getMinecraft().world;
+        PacketBuffer buf = new PacketBuffer(data);
+        MutableBlockPos pos = new MutableBlockPos();
+        while (buf.isReadable()) {
+            int xz = buf.readUnsignedByte();
+            pos.setPos((chunkX << 4) + (xz >> 4), buf.readVarInt(), (chunkZ << 4) + (xz & 15));
+            TileEntity tileEntity = world.getTileEntity(pos);
+            int updateCount = buf.readVarInt();
+            for (int i = 0; i < updateCount; i++) {
+                int discriminator = buf.readVarInt();
+                ByteBuf updateData = buf.readSlice(buf.readVarInt());
+                if (tileEntity instanceof SyncedTileEntityBase && !tileEntity.isInvalid()) {
+                    ((SyncedTileEntityBase) tileEntity).receiveCustomData(discriminator, new PacketBuffer(updateData));
+                }
+            }
+        }
+    }
+}
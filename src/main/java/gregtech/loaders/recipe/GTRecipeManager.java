@@ -1,6 +1,7 @@
 package gregtech.loaders.recipe;
 
 import gregtech.api.event.MaterialInfoEvent;
+import gregtech.api.recipes.RecipeMap;
 import gregtech.loaders.recipe.handlers.DecompositionRecipeHandler;
 import gregtech.loaders.recipe.handlers.RecipeHandlerList;
 import gregtech.loaders.recipe.handlers.ToolRecipeHandler;
@@ -15,6 +16,8 @@ public final class GTRecipeManager {
     }
 
     public static void load() {
+        // recipes are compiled into their maps once all recipes have been registered in loadLatest()
+        RecipeMap.beginStaging();
         MachineRecipeLoader.init();
         CraftingRecipeLoader.init();
         MetaTileEntityLoader.init();
@@ -26,5 +29,6 @@ public final class GTRecipeManager {
         MinecraftForge.EVENT_BUS.post(new MaterialInfoEvent());
         DecompositionRecipeHandler.runRecipeGeneration();
         RecyclingRecipes.init();
+        RecipeMap.finishStaging();
     }
 }
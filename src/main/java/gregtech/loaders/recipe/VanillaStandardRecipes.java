@@ -180,12 +180,17 @@ public class VanillaStandardRecipes {
                 .outputs(new ItemStack(Blocks.GLASS, 1))
                 .buildAndRegister();
 
-        for (int i = 0; i < 16; i++) {
-            // nerf glass panes
-            if (ConfigHolder.recipes.hardGlassRecipes) {
-                ModHandler.removeRecipeByOutput(new ItemStack(Blocks.STAINED_GLASS_PANE, 16, i));
+        // nerf glass panes
+        if (ConfigHolder.recipes.hardGlassRecipes) {
+            ItemStack[] glassPanes = new ItemStack[17];
+            for (int i = 0; i < 16; i++) {
+                glassPanes[i] = new ItemStack(Blocks.STAINED_GLASS_PANE, 16, i);
             }
+            glassPanes[16] = new ItemStack(Blocks.GLASS_PANE, 16);
+            ModHandler.removeRecipesByOutput(glassPanes);
+        }
 
+        for (int i = 0; i < 16; i++) {
             ModHandler.addShapedRecipe("stained_glass_pane_" + i, new ItemStack(Blocks.STAINED_GLASS_PANE, 2, i), "sG", 'G', new ItemStack(Blocks.STAINED_GLASS, 1, i));
 
             CUTTER_RECIPES.recipeBuilder().duration(50).EUt(VA[ULV])
@@ -194,9 +199,6 @@ public class VanillaStandardRecipes {
                     .buildAndRegister();
         }
 
-        if (ConfigHolder.recipes.hardGlassRecipes)
-            ModHandler.removeRecipeByOutput(new ItemStack(Blocks.GLASS_PANE, 16));
-
         ModHandler.addShapedRecipe("glass_pane", new ItemStack(Blocks.GLASS_PANE, 2), "sG", 'G', new ItemStack(Blocks.GLASS));
 
         CUTTER_RECIPES.recipeBuilder().duration(50).EUt(VA[ULV])
@@ -0,0 +1,38 @@
+package gregtech;
+
+import org.junit.jupiter.api.Assumptions;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+public final class Allocations {
+
+    private Allocations() {/**/}
+
+    /**
+     * Measures the memory allocated by the current thread while running an action repeatedly.
+     * The action is run as often beforehand, so class loading and lazy initialization are not counted.
+     * Skips the calling test if the JVM cannot count allocations.
+     *
+     * @param iterations the number of times to run the action
+     * @param action     the action to measure
+     * @return the number of bytes allocated by all iterations
+     */
+    public static long measure(int iterations, Runnable action) {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(threadBean instanceof com.sun.management.ThreadMXBean, "allocation counting is not supported");
+        com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+        Assumptions.assumeTrue(allocationBean.isThreadAllocatedMemorySupported(), "allocation counting is not supported");
+        allocationBean.setThreadAllocatedMemoryEnabled(true);
+
+        for (int i = 0; i < iterations; i++) {
+            action.run();
+        }
+        long threadId = Thread.currentThread().getId();
+        long start = allocationBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < iterations; i++) {
+            action.run();
+        }
+        return allocationBean.getThreadAllocatedBytes(threadId) - start;
+    }
+}
@@ -22,6 +22,7 @@ import net.minecraft.item.ItemStack;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.world.World;
 import net.minecraftforge.items.IItemHandlerModifiable;
+import net.minecraftforge.items.ItemStackHandler;
 import org.hamcrest.MatcherAssert;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -546,4 +547,58 @@ public class MultiblockRecipeLogicTest {
         MatcherAssert.assertThat(AbstractRecipeLogic.areItemStacksEqual(mbl.getOutputInventory().getStackInSlot(0),
                 new ItemStack(Blocks.STONE, 1)), is(true));
     }
+
+    @Test
+    public void findRecipeDistinctSkipsUnchangedFailedBus() {
+        RecipeMaps.BLAST_RECIPES.recipeBuilder()
+                .inputs(new ItemStack(Blocks.COBBLESTONE))
+                .outputs(new ItemStack(Blocks.STONE))
+                .EUt(1).duration(1)
+                .blastFurnaceTemp(1)
+                .buildAndRegister();
+
+        RecipeMapMultiblockController mbt = new MetaTileEntityElectricBlastFurnace(gregtechId("electric_blast_furnace")) {
+            @Override
+            public void reinitializeStructurePattern() {
+
+            }
+        };
+
+        int[] searches = new int[1];
+        MultiblockRecipeLogic mbl = new MultiblockRecipeLogic(mbt) {
+            // count the searches which are not skipped
+            @Override
+            protected Recipe findRecipe(long maxVoltage, IItemHandlerModifiable inputs, IMultipleTankHandler fluidInputs) {
+                searches[0]++;
+                return super.findRecipe(maxVoltage, inputs, fluidInputs);
+            }
+        };
+
+        IItemHandlerModifiable firstBus = new ItemStackHandler(1);
+        firstBus.setStackInSlot(0, new ItemStack(Blocks.DIRT));
+        IItemHandlerModifiable secondBus = new ItemStackHandler(1);
+        secondBus.setStackInSlot(0, new ItemStack(Blocks.COBBLESTONE));
+        IMultipleTankHandler fluids = new FluidTankList(false);
+
+        MatcherAssert.assertThat(mbl.findRecipeDistinct(32, firstBus, fluids), nullValue());
+        MatcherAssert.assertThat(searches[0], is(1));
+
+        // the first bus did not change since it failed, so it is not searched again
+        MatcherAssert.assertThat(mbl.findRecipeDistinct(32, firstBus, fluids), nullValue());
+        MatcherAssert.assertThat(searches[0], is(1));
+
+        // the second bus is searched on its own
+        Recipe recipe = mbl.findRecipeDistinct(32, secondBus, fluids);
+        MatcherAssert.assertThat(recipe, notNullValue());
+        MatcherAssert.assertThat(searches[0], is(2));
+
+        // the last recipe of the second bus still matches it, so it is not searched again
+        MatcherAssert.assertThat(mbl.findRecipeDistinct(32, secondBus, fluids), is(recipe));
+        MatcherAssert.assertThat(searches[0], is(2));
+
+        // the first bus changed, so it is searched again
+        firstBus.setStackInSlot(0, new ItemStack(Blocks.COBBLESTONE));
+        MatcherAssert.assertThat(mbl.findRecipeDistinct(32, firstBus, fluids), is(recipe));
+        MatcherAssert.assertThat(searches[0], is(3));
+    }
 }
@@ -0,0 +1,44 @@
+package gregtech.api.pattern;
+
+import net.minecraft.util.math.BlockPos;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class BlockPatternCacheTest {
+
+    @Test
+    public void unpacksPositionsLikeBlockPos() {
+        BlockPos[] positions = {
+                BlockPos.ORIGIN,
+                new BlockPos(1, 2, 3),
+                new BlockPos(-1, 0, -1),
+                new BlockPos(29_999_999, 255, -29_999_999),
+                new BlockPos(-30_000_000, 0, 30_000_000),
+                new BlockPos(-12_345, 17, 67_890)
+        };
+        for (BlockPos pos : positions) {
+            long packed = pos.toLong();
+            assertThat(BlockPatternCache.unpackX(packed), is(pos.getX()));
+            assertThat(BlockPatternCache.unpackY(packed), is(pos.getY()));
+            assertThat(BlockPatternCache.unpackZ(packed), is(pos.getZ()));
+        }
+    }
+
+    @Test
+    public void replacesEntriesOfTheSamePosition() {
+        BlockPatternCache cache = new BlockPatternCache();
+        for (int i = 0; i < 100; i++) {
+            cache.put(new BlockPos(i, 0, 0).toLong(), null, null, TraceabilityPredicate.ANY);
+        }
+        cache.put(new BlockPos(5, 0, 0).toLong(), null, null, TraceabilityPredicate.AIR);
+
+        assertThat(cache.size(), is(100));
+        assertThat(cache.getBlockPos(5), is(new BlockPos(5, 0, 0)));
+        assertThat(cache.getPredicate(5), is(TraceabilityPredicate.AIR));
+
+        cache.clear();
+        assertThat(cache.isEmpty(), is(true));
+    }
+}
@@ -0,0 +1,100 @@
+package gregtech.api.recipes;
+
+import gregtech.Bootstrap;
+import gregtech.api.GTValues;
+import net.minecraft.init.Items;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.crafting.IRecipe;
+import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.fml.common.registry.ForgeRegistries;
+import net.minecraftforge.oredict.OreDictionary;
+import net.minecraftforge.oredict.ShapelessOreRecipe;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class CraftingRecipeMatcherTest {
+
+    @BeforeAll
+    public static void bootstrap() {
+        Bootstrap.perform();
+    }
+
+    @Test
+    public void bucketedRecipeTest() {
+        IRecipe recipe = register("matcher_bucketed", new ShapelessOreRecipe(null, new ItemStack(Items.IRON_HORSE_ARMOR), Items.TOTEM_OF_UNDYING));
+
+        assertThat(findRecipe(new ItemStack(Items.TOTEM_OF_UNDYING)), sameInstance(recipe));
+        // the cached result is returned for the same grid
+        assertThat(findRecipe(new ItemStack(Items.TOTEM_OF_UNDYING)), sameInstance(recipe));
+        assertThat(findRecipe(new ItemStack(Items.TOTEM_OF_UNDYING), new ItemStack(Items.TOTEM_OF_UNDYING)), nullValue());
+    }
+
+    @Test
+    public void oreDictionaryRecipeTest() {
+        IRecipe recipe = register("matcher_ore", new ShapelessOreRecipe(null, new ItemStack(Items.GOLDEN_HORSE_ARMOR), "gtMatcherTestBreath"));
+
+        // the miss is cached, but registering the ore dictionary entry forgets it
+        assertThat(findRecipe(new ItemStack(Items.DRAGON_BREATH)), nullValue());
+        OreDictionary.registerOre("gtMatcherTestBreath", Items.DRAGON_BREATH);
+        assertThat(findRecipe(new ItemStack(Items.DRAGON_BREATH)), sameInstance(recipe));
+    }
+
+    @Test
+    public void unbucketedRecipeTest() {
+        // recipes of unknown classes may match differently than their ingredients suggest, so they are checked for every grid
+        IRecipe recipe = register("matcher_unbucketed", new ShapelessOreRecipe(null, new ItemStack(Items.DIAMOND_HORSE_ARMOR), Items.SHULKER_SHELL) {
+        });
+
+        assertThat(findRecipe(new ItemStack(Items.SHULKER_SHELL)), sameInstance(recipe));
+    }
+
+    @Test
+    public void firstMatchingRecipeTest() {
+        // the recipe registered first is found, whether it was bucketed or not
+        IRecipe unbucketed = register("matcher_first_unbucketed", new ShapelessOreRecipe(null, new ItemStack(Items.CHAINMAIL_HELMET), Items.ELYTRA) {
+        });
+        register("matcher_second_bucketed", new ShapelessOreRecipe(null, new ItemStack(Items.CHAINMAIL_BOOTS), Items.ELYTRA));
+        assertThat(findRecipe(new ItemStack(Items.ELYTRA)), sameInstance(unbucketed));
+
+        IRecipe bucketed = register("matcher_first_bucketed", new ShapelessOreRecipe(null, new ItemStack(Items.CHAINMAIL_LEGGINGS), Items.PRISMARINE_SHARD));
+        register("matcher_second_unbucketed", new ShapelessOreRecipe(null, new ItemStack(Items.CHAINMAIL_CHESTPLATE), Items.PRISMARINE_SHARD) {
+        });
+        assertThat(findRecipe(new ItemStack(Items.PRISMARINE_SHARD)), sameInstance(bucketed));
+    }
+
+    @Test
+    public void removedRecipeTest() {
+        IRecipe recipe = register("matcher_removed", new ShapelessOreRecipe(null, new ItemStack(Items.KNOWLEDGE_BOOK), Items.ENDER_EYE));
+        assertThat(findRecipe(new ItemStack(Items.ENDER_EYE)), sameInstance(recipe));
+
+        assertThat(ModHandler.removeRecipeByOutput(new ItemStack(Items.KNOWLEDGE_BOOK)), is(1));
+        assertThat(findRecipe(new ItemStack(Items.ENDER_EYE)), nullValue());
+    }
+
+    @Test
+    public void replacedRecipeTest() {
+        register("matcher_replaced", new ShapelessOreRecipe(null, new ItemStack(Items.LEATHER_HELMET), Items.FIRE_CHARGE));
+        assertThat(findRecipe(new ItemStack(Items.FIRE_CHARGE)), notNullValue());
+
+        // replacing a recipe under its name keeps the amount of recipes, the stale candidate rebuilds the buckets
+        IRecipe replacement = register("matcher_replaced", new ShapelessOreRecipe(null, new ItemStack(Items.LEATHER_BOOTS), Items.FIRE_CHARGE, Items.FIRE_CHARGE));
+        assertThat(findRecipe(new ItemStack(Items.FIRE_CHARGE), new ItemStack(Items.FIRE_CHARGE)), sameInstance(replacement));
+    }
+
+    private static IRecipe register(String name, IRecipe recipe) {
+        recipe.setRegistryName(new ResourceLocation(GTValues.MODID, name));
+        ForgeRegistries.RECIPES.register(recipe);
+        return recipe;
+    }
+
+    private static IRecipe findRecipe(ItemStack... grid) {
+        // lookups without a world are cached
+        return ModHandler.getRecipeOutput(null, grid).getLeft();
+    }
+}
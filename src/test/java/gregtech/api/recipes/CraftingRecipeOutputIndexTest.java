@@ -0,0 +1,83 @@
+package gregtech.api.recipes;
+
+import gregtech.Bootstrap;
+import gregtech.api.GTValues;
+import net.minecraft.init.Items;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.crafting.IRecipe;
+import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.fml.common.registry.ForgeRegistries;
+import net.minecraftforge.oredict.ShapelessOreRecipe;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class CraftingRecipeOutputIndexTest {
+
+    @BeforeAll
+    public static void bootstrap() {
+        Bootstrap.perform();
+    }
+
+    @Test
+    public void getRecipesByOutputTest() {
+        IRecipe recipe = register("output_index_lookup", new ItemStack(Items.RECORD_11, 2));
+        CraftingRecipeOutputIndex index = new CraftingRecipeOutputIndex();
+
+        // the count of the output is ignored
+        List<IRecipe> recipes = index.getRecipes(ForgeRegistries.RECIPES, new ItemStack(Items.RECORD_11));
+        assertThat(recipes.size(), is(1));
+        assertThat(recipes, hasItem(recipe));
+
+        assertThat(index.getRecipes(ForgeRegistries.RECIPES, new ItemStack(Items.RECORD_13)).isEmpty(), is(true));
+    }
+
+    @Test
+    public void onRegisteredTest() {
+        CraftingRecipeOutputIndex index = new CraftingRecipeOutputIndex();
+        assertThat(index.getRecipes(ForgeRegistries.RECIPES, new ItemStack(Items.RECORD_CAT)).isEmpty(), is(true));
+
+        IRecipe recipe = register("output_index_registered", new ItemStack(Items.RECORD_CAT));
+        index.onRegistered(ForgeRegistries.RECIPES, recipe);
+        assertThat(index.getRecipes(ForgeRegistries.RECIPES, new ItemStack(Items.RECORD_CAT)), hasItem(recipe));
+
+        // a recipe replaced under its name is added as well
+        IRecipe replacement = register("output_index_registered", new ItemStack(Items.RECORD_CAT));
+        index.onRegistered(ForgeRegistries.RECIPES, replacement);
+        assertThat(index.getRecipes(ForgeRegistries.RECIPES, new ItemStack(Items.RECORD_CAT)), hasItem(replacement));
+    }
+
+    @Test
+    public void reindexReplacedRecipeTest() {
+        IRecipe recipe = register("output_index_replaced", new ItemStack(Items.RECORD_BLOCKS));
+        CraftingRecipeOutputIndex index = new CraftingRecipeOutputIndex();
+        List<IRecipe> recipes = index.getRecipes(ForgeRegistries.RECIPES, new ItemStack(Items.RECORD_BLOCKS));
+        assertThat(recipes, hasItem(recipe));
+
+        // replacing a recipe without going through the index keeps the old recipe indexed
+        IRecipe replacement = register("output_index_replaced", new ItemStack(Items.RECORD_BLOCKS));
+        assertThat(recipes, not(hasItem(replacement)));
+
+        recipes.remove(recipe);
+        index.reindex(ForgeRegistries.RECIPES, recipe.getRegistryName());
+        assertThat(recipes.size(), is(1));
+        assertThat(recipes, hasItem(replacement));
+
+        // indexing a recipe twice does not list it twice
+        index.reindex(ForgeRegistries.RECIPES, recipe.getRegistryName());
+        assertThat(recipes.size(), is(1));
+    }
+
+    private static IRecipe register(String name, ItemStack output) {
+        IRecipe recipe = new ShapelessOreRecipe(null, output, Items.STICK)
+                .setRegistryName(new ResourceLocation(GTValues.MODID, name));
+        ForgeRegistries.RECIPES.register(recipe);
+        return recipe;
+    }
+}
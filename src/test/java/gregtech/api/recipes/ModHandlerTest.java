@@ -0,0 +1,91 @@
+package gregtech.api.recipes;
+
+import gregtech.Bootstrap;
+import gregtech.api.GTValues;
+import gregtech.api.recipes.recipes.DummyRecipe;
+import net.minecraft.init.Items;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.crafting.IRecipe;
+import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.fml.common.registry.ForgeRegistries;
+import net.minecraftforge.oredict.ShapelessOreRecipe;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ModHandlerTest {
+
+    @BeforeAll
+    public static void bootstrap() {
+        Bootstrap.perform();
+    }
+
+    @Test
+    public void removeRecipesByOutputCountsTest() {
+        register("remove_output_chirp_1", new ItemStack(Items.RECORD_CHIRP));
+        register("remove_output_chirp_2", new ItemStack(Items.RECORD_CHIRP));
+        register("remove_output_far", new ItemStack(Items.RECORD_FAR));
+
+        int[] removed = ModHandler.removeRecipesByOutput(new ItemStack(Items.RECORD_CHIRP),
+                new ItemStack(Items.RECORD_FAR), new ItemStack(Items.RECORD_MALL));
+        assertThat(removed.length, is(3));
+        assertThat(removed[0], is(2));
+        assertThat(removed[1], is(1));
+        assertThat(removed[2], is(0));
+
+        // the removed recipes are replaced by dummy recipes, which are not removed again
+        assertThat(ForgeRegistries.RECIPES.getValue(gregtechId("remove_output_far")), instanceOf(DummyRecipe.class));
+        assertThat(ModHandler.removeRecipeByOutput(new ItemStack(Items.RECORD_CHIRP)), is(0));
+    }
+
+    @Test
+    public void removeReplacedRecipeByOutputTest() {
+        register("remove_output_replaced", new ItemStack(Items.RECORD_MELLOHI));
+        // look up the output once, so the index is built before the recipe is replaced
+        assertThat(ModHandler.removeRecipeByOutput(new ItemStack(Items.RECORD_STAL)), is(0));
+
+        IRecipe replacement = register("remove_output_replaced", new ItemStack(Items.RECORD_MELLOHI));
+        assertThat(ModHandler.removeRecipeByOutput(new ItemStack(Items.RECORD_MELLOHI)), is(1));
+        assertThat(ForgeRegistries.RECIPES.getValue(replacement.getRegistryName()), instanceOf(DummyRecipe.class));
+    }
+
+    @Test
+    public void removeRecipesByPredicateCountsTest() {
+        register("remove_predicate_strad_1", new ItemStack(Items.RECORD_STRAD));
+        register("remove_predicate_strad_2", new ItemStack(Items.RECORD_STRAD));
+        register("remove_predicate_ward", new ItemStack(Items.RECORD_WARD));
+
+        Predicate<IRecipe> strad = recipe -> recipe.getRecipeOutput().getItem() == Items.RECORD_STRAD;
+        Predicate<IRecipe> ward = recipe -> recipe.getRecipeOutput().getItem() == Items.RECORD_WARD;
+        Predicate<IRecipe> none = recipe -> recipe.getRecipeOutput().getItem() == Items.RECORD_WAIT;
+        // recipes matching several predicates are counted for each of them
+        Predicate<IRecipe> named = recipe -> recipe.getRegistryName() != null &&
+                recipe.getRegistryName().getPath().startsWith("remove_predicate_") &&
+                !(recipe instanceof DummyRecipe);
+
+        int[] removed = ModHandler.removeRecipesByOutput(Arrays.asList(strad, ward, none, named));
+        assertThat(removed.length, is(4));
+        assertThat(removed[0], is(2));
+        assertThat(removed[1], is(1));
+        assertThat(removed[2], is(0));
+        assertThat(removed[3], is(3));
+
+        assertThat(ModHandler.removeRecipeByOutput(strad), is(0));
+    }
+
+    private static IRecipe register(String name, ItemStack output) {
+        IRecipe recipe = new ShapelessOreRecipe(null, output, Items.STICK).setRegistryName(gregtechId(name));
+        ForgeRegistries.RECIPES.register(recipe);
+        return recipe;
+    }
+
+    private static ResourceLocation gregtechId(String name) {
+        return new ResourceLocation(GTValues.MODID, name);
+    }
+}
@@ -1,5 +1,6 @@
 package gregtech.api.recipes;
 
+import gregtech.Allocations;
 import gregtech.Bootstrap;
 import gregtech.api.recipes.builders.SimpleRecipeBuilder;
 import gregtech.api.recipes.map.AbstractMapIngredient;
@@ -19,11 +20,15 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import static gregtech.api.unification.material.Materials.*;
 import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.Matchers.lessThan;
 
 public class RecipeMapTest {
 
@@ -106,6 +111,99 @@ public class RecipeMapTest {
         MatcherAssert.assertThat(r, notNullValue());
     }
 
+    @Test
+    public void findRecipeReusesSearchBuffer() {
+        // repeated lookups share pooled ingredients, so results must not leak between searches
+        for (int i = 0; i < 16; i++) {
+            Recipe stone = map.findRecipe(1,
+                    Collections.singletonList(new ItemStack(Blocks.STONE)),
+                    Collections.singletonList(new FluidStack(FluidRegistry.WATER, 1)));
+            Recipe expected = map.find(Collections.singletonList(new ItemStack(Blocks.STONE)),
+                    Collections.singletonList(new FluidStack(FluidRegistry.WATER, 1)), recipe -> true);
+            MatcherAssert.assertThat(stone, notNullValue());
+            MatcherAssert.assertThat(stone, sameInstance(expected));
+
+            Recipe none = map.findRecipe(1,
+                    Collections.singletonList(new ItemStack(Blocks.DIRT)),
+                    Collections.singletonList(new FluidStack(FluidRegistry.WATER, 1)));
+            MatcherAssert.assertThat(none, nullValue());
+        }
+    }
+
+    @Test
+    public void findRecipeAllocatesLessThanFind() {
+        List<ItemStack> items = Collections.singletonList(new ItemStack(Blocks.STONE));
+        List<FluidStack> fluids = Collections.singletonList(new FluidStack(FluidRegistry.WATER, 1));
+
+        // the lookup without pooled search buffers, which filters the inputs and builds new ingredients every time
+        long allocating = Allocations.measure(1000, () -> map.find(
+                items.stream().filter(s -> !s.isEmpty()).collect(Collectors.toList()),
+                fluids.stream().filter(f -> f != null && f.amount != 0).collect(Collectors.toList()),
+                recipe -> recipe.getEUt() <= 1 && recipe.matches(false, items, fluids)));
+        long pooled = Allocations.measure(1000, () -> map.findRecipe(1, items, fluids));
+        MatcherAssert.assertThat(pooled, lessThan(allocating));
+    }
+
+    @Test
+    public void stagedRecipes() {
+        RecipeMap<SimpleRecipeBuilder> stagedMap = new RecipeMap<>("staged_recipes", 2, 2, 2, 2, new SimpleRecipeBuilder().EUt(30), false);
+        RecipeMap.beginStaging();
+        try {
+            stagedMap.recipeBuilder()
+                    .inputs(new ItemStack(Blocks.COBBLESTONE))
+                    .outputs(new ItemStack(Blocks.STONE))
+                    .EUt(1).duration(1)
+                    .buildAndRegister();
+            stagedMap.recipeBuilder()
+                    .inputs(new ItemStack(Blocks.COBBLESTONE))
+                    .outputs(new ItemStack(Blocks.GRAVEL))
+                    .EUt(2).duration(1)
+                    .buildAndRegister();
+
+            // searching a map compiles its staged recipes first
+            Recipe cobblestone = stagedMap.findRecipe(30, Collections.singletonList(new ItemStack(Blocks.COBBLESTONE)), Collections.emptyList());
+            MatcherAssert.assertThat(cobblestone, notNullValue());
+            MatcherAssert.assertThat(cobblestone.getEUt(), is(1));
+
+            stagedMap.recipeBuilder()
+                    .inputs(new ItemStack(Blocks.STONE))
+                    .outputs(new ItemStack(Blocks.COBBLESTONE))
+                    .EUt(1).duration(1)
+                    .buildAndRegister();
+            MatcherAssert.assertThat(stagedMap.getModificationCount(), is(1));
+        } finally {
+            RecipeMap.finishStaging();
+        }
+
+        MatcherAssert.assertThat(stagedMap.getModificationCount(), is(2));
+        MatcherAssert.assertThat(stagedMap.getRecipeList().size(), is(2));
+        MatcherAssert.assertThat(stagedMap.findRecipe(30, Collections.singletonList(new ItemStack(Blocks.STONE)), Collections.emptyList()), notNullValue());
+    }
+
+    @Test
+    public void compileRecipes() {
+        RecipeMap<SimpleRecipeBuilder> bulkMap = new RecipeMap<>("bulk_recipes", 2, 2, 2, 2, new SimpleRecipeBuilder().EUt(30), false);
+        List<Recipe> recipes = new ArrayList<>();
+        recipes.add(bulkMap.recipeBuilder()
+                .inputs(new ItemStack(Blocks.COBBLESTONE))
+                .outputs(new ItemStack(Blocks.STONE))
+                .EUt(1).duration(1)
+                .build().getResult());
+        recipes.add(bulkMap.recipeBuilder()
+                .inputs(new ItemStack(Blocks.STONE))
+                .fluidInputs(new FluidStack(FluidRegistry.WATER, 100))
+                .outputs(new ItemStack(Blocks.COBBLESTONE))
+                .EUt(1).duration(1)
+                .build().getResult());
+        bulkMap.compileRecipes(recipes);
+
+        MatcherAssert.assertThat(bulkMap.getRecipeList().size(), is(2));
+        MatcherAssert.assertThat(bulkMap.findRecipe(30, Collections.singletonList(new ItemStack(Blocks.COBBLESTONE)), Collections.emptyList()),
+                sameInstance(recipes.get(0)));
+        MatcherAssert.assertThat(bulkMap.findRecipe(30, Collections.singletonList(new ItemStack(Blocks.STONE)), Collections.singletonList(new FluidStack(FluidRegistry.WATER, 100))),
+                sameInstance(recipes.get(1)));
+    }
+
     @Test
     public void removeRecipe() {
         Recipe r = map.findRecipe(30,
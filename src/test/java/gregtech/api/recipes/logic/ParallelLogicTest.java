@@ -1,5 +1,6 @@
 package gregtech.api.recipes.logic;
 
+import gregtech.Allocations;
 import gregtech.Bootstrap;
 import gregtech.api.GTValues;
 import gregtech.api.capability.IMultipleTankHandler;
@@ -27,6 +28,7 @@ import org.junit.jupiter.api.Test;
 import static gregtech.api.recipes.logic.ParallelLogic.doParallelRecipes;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
 import static org.hamcrest.Matchers.notNullValue;
 
 public class ParallelLogicTest {
@@ -981,4 +983,190 @@ public class ParallelLogicTest {
         assertThat(testMaceratorRecipe.getDuration(), is(150));
 
     }
+
+    @Test
+    public void parallelLogicContext_ReusedAcrossChangesTest() {
+
+        int parallelLimit = 8;
+
+        // Create a recipe Map to be used for testing
+        RecipeMap<BlastRecipeBuilder> map = new RecipeMap<>("electric_blast_furnace",
+                1,
+                3,
+                1,
+                2,
+                0,
+                1,
+                0,
+                1,
+                new BlastRecipeBuilder(),
+                false);
+
+        // Create a simple recipe to be used for testing
+        Recipe recipe = map.recipeBuilder()
+                .inputs(new ItemStack(Blocks.COBBLESTONE))
+                .fluidInputs(Materials.Acetone.getFluid(100))
+                .outputs(new ItemStack(Blocks.STONE, 16))
+                .fluidOutputs(Materials.Acetone.getFluid(1000))
+                .blastFurnaceTemp(1000)
+                .EUt(30).duration(100)
+                .build().getResult();
+
+        ParallelLogicContext context = new ParallelLogicContext();
+
+        importItemBus.getImportItems().insertItem(0, new ItemStack(Blocks.COBBLESTONE, 3), false);
+        importFluidBus.getImportFluids().fill(Materials.Acetone.getFluid(8000), true);
+
+        assertThat(ParallelLogic.getMaxRecipeMultiplier(context, recipe, importItemBus.getImportItems(), importFluidBus.getImportFluids(), parallelLimit), is(3));
+        // 4 slots of 64 fit 16 stone 16 times, while the tank fits 8 buckets
+        assertThat(ParallelLogic.limitByOutputMerging(context, recipe, exportItemBus.getExportItems(), exportFluidBus.getExportFluids(), parallelLimit, false, false), is(8));
+
+        // The context has to pick up changes to the inventories between uses
+        importItemBus.getImportItems().insertItem(1, new ItemStack(Blocks.COBBLESTONE, 3), false);
+        exportItemBus.getExportItems().insertItem(0, new ItemStack(Blocks.BONE_BLOCK), false);
+        exportItemBus.getExportItems().insertItem(1, new ItemStack(Blocks.BONE_BLOCK), false);
+        exportItemBus.getExportItems().insertItem(2, new ItemStack(Blocks.BONE_BLOCK), false);
+        exportFluidBus.getExportFluids().fill(Materials.Acetone.getFluid(4000), true);
+
+        assertThat(ParallelLogic.getMaxRecipeMultiplier(context, recipe, importItemBus.getImportItems(), importFluidBus.getImportFluids(), parallelLimit), is(6));
+        assertThat(ParallelLogic.limitByOutputMerging(context, recipe, exportItemBus.getExportItems(), exportFluidBus.getExportFluids(), parallelLimit, false, false), is(4));
+        assertThat(ParallelLogic.limitByOutputMerging(recipe, exportItemBus.getExportItems(), exportFluidBus.getExportFluids(), parallelLimit, false, false), is(4));
+    }
+
+    @Test
+    public void parallelLogicContext_AllocatesLessThanNewContextsTest() {
+
+        int parallelLimit = 8;
+
+        // Create a recipe Map to be used for testing
+        RecipeMap<BlastRecipeBuilder> map = new RecipeMap<>("electric_blast_furnace",
+                1,
+                3,
+                1,
+                2,
+                0,
+                1,
+                0,
+                1,
+                new BlastRecipeBuilder(),
+                false);
+
+        // Create a simple recipe to be used for testing
+        Recipe recipe = map.recipeBuilder()
+                .inputs(new ItemStack(Blocks.COBBLESTONE))
+                .fluidInputs(Materials.Acetone.getFluid(100))
+                .outputs(new ItemStack(Blocks.STONE, 16))
+                .fluidOutputs(Materials.Acetone.getFluid(1000))
+                .blastFurnaceTemp(1000)
+                .EUt(30).duration(100)
+                .build().getResult();
+
+        importItemBus.getImportItems().insertItem(0, new ItemStack(Blocks.COBBLESTONE, 3), false);
+        importFluidBus.getImportFluids().fill(Materials.Acetone.getFluid(8000), true);
+        exportItemBus.getExportItems().insertItem(0, new ItemStack(Blocks.BONE_BLOCK), false);
+
+        // The stateless entry points allocate the count maps and output overlays for every call
+        long allocating = Allocations.measure(1000, () -> {
+            ParallelLogic.getMaxRecipeMultiplier(recipe, importItemBus.getImportItems(), importFluidBus.getImportFluids(), parallelLimit);
+            ParallelLogic.limitByOutputMerging(recipe, exportItemBus.getExportItems(), exportFluidBus.getExportFluids(), parallelLimit, false, false);
+        });
+
+        ParallelLogicContext context = new ParallelLogicContext();
+        long reused = Allocations.measure(1000, () -> {
+            ParallelLogic.getMaxRecipeMultiplier(context, recipe, importItemBus.getImportItems(), importFluidBus.getImportFluids(), parallelLimit);
+            ParallelLogic.limitByOutputMerging(context, recipe, exportItemBus.getExportItems(), exportFluidBus.getExportFluids(), parallelLimit, false, false);
+        });
+
+        assertThat(reused, lessThan(allocating));
+    }
+
+    @Test
+    public void limitByOutputMerging_RoomPerOutputTypeTest() {
+
+        int parallelLimit = 128;
+
+        // Create a recipe Map to be used for testing
+        RecipeMap<BlastRecipeBuilder> map = new RecipeMap<>("electric_blast_furnace",
+                1,
+                3,
+                1,
+                2,
+                0,
+                1,
+                0,
+                1,
+                new BlastRecipeBuilder(),
+                false);
+
+        Recipe singleOutputRecipe = map.recipeBuilder()
+                .inputs(new ItemStack(Blocks.COBBLESTONE))
+                .outputs(new ItemStack(Blocks.STONE, 3))
+                .blastFurnaceTemp(1000)
+                .EUt(30).duration(100)
+                .build().getResult();
+
+        Recipe doubleOutputRecipe = map.recipeBuilder()
+                .inputs(new ItemStack(Blocks.COBBLESTONE))
+                .outputs(new ItemStack(Blocks.STONE, 16), new ItemStack(Blocks.GRAVEL, 16))
+                .blastFurnaceTemp(1000)
+                .EUt(30).duration(100)
+                .build().getResult();
+
+        exportItemBus.getExportItems().insertItem(0, new ItemStack(Blocks.STONE, 60), false);
+
+        // 4 stone fit into the first slot, and 3 * 64 into the empty ones
+        int singleRatio = ParallelLogic.limitByOutputMerging(singleOutputRecipe, exportItemBus.getExportItems(), exportFluidBus.getExportFluids(), parallelLimit, false, true);
+        assertThat(singleRatio, is(65));
+        assertThat(singleRatio, is(ParallelLogic.limitParallelByItems(singleOutputRecipe, new OverlayedItemHandler(exportItemBus.getExportItems()), parallelLimit)));
+
+        // The empty slots are shared between both outputs, so only one empty slot is left for each
+        int doubleRatio = ParallelLogic.limitByOutputMerging(doubleOutputRecipe, exportItemBus.getExportItems(), exportFluidBus.getExportFluids(), parallelLimit, false, true);
+        assertThat(doubleRatio, is(4));
+        assertThat(doubleRatio, is(ParallelLogic.limitParallelByItems(doubleOutputRecipe, new OverlayedItemHandler(exportItemBus.getExportItems()), parallelLimit)));
+    }
+
+    @Test
+    public void limitByOutputMerging_SmallMaxStackSizeTest() {
+
+        int parallelLimit = 128;
+
+        // Create a recipe Map to be used for testing
+        RecipeMap<BlastRecipeBuilder> map = new RecipeMap<>("electric_blast_furnace",
+                1,
+                3,
+                1,
+                2,
+                0,
+                1,
+                0,
+                1,
+                new BlastRecipeBuilder(),
+                false);
+
+        Recipe pearlRecipe = map.recipeBuilder()
+                .inputs(new ItemStack(Blocks.COBBLESTONE))
+                .outputs(new ItemStack(Items.ENDER_PEARL))
+                .blastFurnaceTemp(1000)
+                .EUt(30).duration(100)
+                .build().getResult();
+
+        Recipe saddleRecipe = map.recipeBuilder()
+                .inputs(new ItemStack(Blocks.COBBLESTONE))
+                .outputs(new ItemStack(Items.SADDLE))
+                .blastFurnaceTemp(1000)
+                .EUt(30).duration(100)
+                .build().getResult();
+
+        exportItemBus.getExportItems().insertItem(0, new ItemStack(Items.ENDER_PEARL, 10), false);
+
+        // 6 pearls fit into the first slot, and 16 into each of the 3 empty ones
+        int pearlRatio = ParallelLogic.limitByOutputMerging(pearlRecipe, exportItemBus.getExportItems(), exportFluidBus.getExportFluids(), parallelLimit, false, true);
+        assertThat(pearlRatio, is(54));
+        assertThat(pearlRatio, is(ParallelLogic.limitParallelByItems(pearlRecipe, new OverlayedItemHandler(exportItemBus.getExportItems()), parallelLimit)));
+
+        // Saddles do not stack, so only one fits into each empty slot
+        int saddleRatio = ParallelLogic.limitByOutputMerging(saddleRecipe, exportItemBus.getExportItems(), exportFluidBus.getExportFluids(), parallelLimit, false, true);
+        assertThat(saddleRatio, is(3));
+        assertThat(saddleRatio, is(ParallelLogic.limitParallelByItems(saddleRecipe, new OverlayedItemHandler(exportItemBus.getExportItems()), parallelLimit)));
+    }
 }
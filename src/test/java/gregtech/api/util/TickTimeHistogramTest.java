@@ -0,0 +1,37 @@
+package gregtech.api.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class TickTimeHistogramTest {
+
+    @Test
+    public void bucketsContainTheirValues() {
+        long[] values = {0, 1, 3, 4, 7, 8, 9, 10, 15, 16, 1_000, 123_456, 100_000_000L, Long.MAX_VALUE / 3};
+        for (long value : values) {
+            int bucket = TickTimeHistogram.bucketOf(value);
+            assertThat(value <= TickTimeHistogram.bucketUpperBound(bucket), is(true));
+            if (bucket > 0) {
+                assertThat(value > TickTimeHistogram.bucketUpperBound(bucket - 1), is(true));
+            }
+        }
+    }
+
+    @Test
+    public void percentilesAreWithinBucketPrecision() {
+        TickTimeHistogram histogram = new TickTimeHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 1000L);
+        }
+        assertThat(histogram.getCount(), is(100L));
+        assertThat(histogram.getMaxNanos(), is(100_000L));
+        assertThat(histogram.getTotalNanos(), is(5_050_000L));
+
+        long p50 = histogram.getPercentile(0.5);
+        assertThat(p50 >= 50_000 && p50 <= 50_000 * 5 / 4, is(true));
+        assertThat(histogram.getPercentile(0.99) >= 99_000, is(true));
+        assertThat(histogram.getPercentile(1), is(100_000L));
+    }
+}
@@ -0,0 +1,178 @@
+package gregtech.common.covers;
+
+import gregtech.Bootstrap;
+import gregtech.api.cover.CoverBehavior;
+import gregtech.api.cover.CoverDefinition;
+import gregtech.api.cover.ICoverable;
+import gregtech.common.covers.CoverConveyor.ConveyorMode;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.init.Items;
+import net.minecraft.item.ItemStack;
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.items.ItemStackHandler;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Consumer;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class CoverRoboticArmTest {
+
+    @BeforeAll
+    public static void bootstrap() {
+        Bootstrap.perform();
+    }
+
+    @Test
+    public void keep_exact_exports_from_machine_inventory() {
+        CoverRoboticArm arm = createKeepExactArm(10);
+        arm.conveyorMode = ConveyorMode.EXPORT;
+
+        // a machine holder hands out its raw inventory, not the cover's wrapper
+        ItemStackHandler machine = new ItemStackHandler(4);
+        machine.setStackInSlot(0, new ItemStack(Items.IRON_INGOT, 64));
+        ItemStackHandler neighbor = new ItemStackHandler(4);
+        neighbor.setStackInSlot(2, new ItemStack(Items.IRON_INGOT, 3));
+
+        assertThat(arm.doTransferItems(neighbor, machine, 64), is(7));
+        assertThat(machine.getStackInSlot(0).getCount(), is(57));
+        assertThat(countItems(neighbor), is(10));
+
+        // the neighbour is already at the amount to keep
+        assertThat(arm.doTransferItems(neighbor, machine, 64), is(0));
+
+        neighbor.extractItem(2, 4, false);
+        assertThat(arm.doTransferItems(neighbor, machine, 64), is(4));
+        assertThat(countItems(neighbor), is(10));
+    }
+
+    @Test
+    public void keep_exact_imports_into_machine_inventory() {
+        CoverRoboticArm arm = createKeepExactArm(16);
+        arm.conveyorMode = ConveyorMode.IMPORT;
+
+        ItemStackHandler machine = new ItemStackHandler(4);
+        machine.setStackInSlot(1, new ItemStack(Items.IRON_INGOT, 12));
+        ItemStackHandler neighbor = new ItemStackHandler(4);
+        neighbor.setStackInSlot(0, new ItemStack(Items.IRON_INGOT, 32));
+
+        assertThat(arm.doTransferItems(neighbor, machine, 64), is(4));
+        assertThat(countItems(machine), is(16));
+        assertThat(countItems(neighbor), is(28));
+        assertThat(arm.doTransferItems(neighbor, machine, 64), is(0));
+    }
+
+    private static CoverRoboticArm createKeepExactArm(int keepAmount) {
+        CoverRoboticArm arm = new CoverRoboticArm(new TestCoverable(), EnumFacing.UP, 1, 64);
+        arm.transferMode = TransferMode.KEEP_EXACT;
+        arm.itemFilterContainer.setMaxStackSize(TransferMode.KEEP_EXACT.maxStackSize);
+        arm.itemFilterContainer.setTransferStackSize(keepAmount);
+        return arm;
+    }
+
+    private static int countItems(ItemStackHandler inventory) {
+        int count = 0;
+        for (int slot = 0; slot < inventory.getSlots(); slot++) {
+            count += inventory.getStackInSlot(slot).getCount();
+        }
+        return count;
+    }
+
+    /**
+     * Cover holder which does not exist in a world, as the transfer logic is called directly
+     */
+    private static class TestCoverable implements ICoverable {
+
+        @Override
+        public World getWorld() {
+            return null;
+        }
+
+        @Override
+        public BlockPos getPos() {
+            return BlockPos.ORIGIN;
+        }
+
+        @Override
+        public long getOffsetTimer() {
+            return 0;
+        }
+
+        @Override
+        public void markDirty() {
+        }
+
+        @Override
+        public boolean isValid() {
+            return true;
+        }
+
+        @Override
+        public <T> T getCapability(Capability<T> capability, EnumFacing side) {
+            return null;
+        }
+
+        @Override
+        public boolean placeCoverOnSide(EnumFacing side, ItemStack itemStack, CoverDefinition definition, EntityPlayer player) {
+            return false;
+        }
+
+        @Override
+        public boolean removeCover(EnumFacing side) {
+            return false;
+        }
+
+        @Override
+        public boolean canPlaceCoverOnSide(EnumFacing side) {
+            return false;
+        }
+
+        @Override
+        public CoverBehavior getCoverAtSide(EnumFacing side) {
+            return null;
+        }
+
+        @Override
+        public void writeCoverData(CoverBehavior behavior, int id, Consumer<PacketBuffer> writer) {
+        }
+
+        @Override
+        public int getInputRedstoneSignal(EnumFacing side, boolean ignoreCover) {
+            return 0;
+        }
+
+        @Override
+        public ItemStack getStackForm() {
+            return ItemStack.EMPTY;
+        }
+
+        @Override
+        public double getCoverPlateThickness() {
+            return 0;
+        }
+
+        @Override
+        public int getPaintingColorForRendering() {
+            return 0;
+        }
+
+        @Override
+        public boolean shouldRenderBackSide() {
+            return false;
+        }
+
+        @Override
+        public void notifyBlockUpdate() {
+        }
+
+        @Override
+        public void scheduleRenderUpdate() {
+        }
+    }
+}
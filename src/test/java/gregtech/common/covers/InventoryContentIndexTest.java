@@ -0,0 +1,106 @@
+package gregtech.common.covers;
+
+import gregtech.Bootstrap;
+import gregtech.common.covers.CoverConveyor.GroupItemInfo;
+import gregtech.common.covers.CoverConveyor.TypeItemInfo;
+import gregtech.common.covers.filter.ItemFilterContainer;
+import net.minecraft.init.Items;
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.items.ItemStackHandler;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class InventoryContentIndexTest {
+
+    @BeforeAll
+    public static void bootstrap() {
+        Bootstrap.perform();
+    }
+
+    @Test
+    public void index_follows_inventory_changes() {
+        ItemStackHandler inventory = new ItemStackHandler(27);
+        ItemFilterContainer filter = new ItemFilterContainer(() -> {
+        });
+        InventoryContentIndex index = new InventoryContentIndex();
+        ItemStack[] types = {new ItemStack(Items.IRON_INGOT), new ItemStack(Items.GOLD_INGOT), new ItemStack(Items.DYE, 1, 4)};
+
+        Random random = new Random(42);
+        for (int i = 0; i < 500; i++) {
+            int slot = random.nextInt(inventory.getSlots());
+            if (random.nextInt(4) == 0) {
+                inventory.setStackInSlot(slot, ItemStack.EMPTY);
+            } else if (random.nextBoolean() && !inventory.getStackInSlot(slot).isEmpty()) {
+                inventory.getStackInSlot(slot).setCount(1 + random.nextInt(64));
+            } else {
+                ItemStack stack = types[random.nextInt(types.length)].copy();
+                stack.setCount(1 + random.nextInt(64));
+                inventory.setStackInSlot(slot, stack);
+            }
+            index.update(inventory, filter);
+            assertIndexed(index, inventory, types);
+        }
+    }
+
+    @Test
+    public void index_is_rebuilt_when_invalidated() {
+        ItemStackHandler inventory = new ItemStackHandler(4);
+        ItemFilterContainer filter = new ItemFilterContainer(() -> {
+        });
+        InventoryContentIndex index = new InventoryContentIndex();
+        inventory.setStackInSlot(1, new ItemStack(Items.IRON_INGOT, 16));
+
+        index.update(inventory, filter);
+        assertThat(index.getTypes().size(), is(1));
+
+        filter.getFilterWrapper().setBlacklistFilter(true);
+        index.invalidate();
+        index.update(inventory, filter);
+        assertThat(index.getTypes().size(), is(0));
+        assertThat(index.getGroups().size(), is(0));
+        assertThat(index.getMatch(1), nullValue());
+    }
+
+    private static void assertIndexed(InventoryContentIndex index, ItemStackHandler inventory, ItemStack[] types) {
+        int totalCount = 0;
+        int typeCount = 0;
+        for (ItemStack type : types) {
+            int count = 0;
+            int slots = 0;
+            for (int slot = 0; slot < inventory.getSlots(); slot++) {
+                ItemStack stack = inventory.getStackInSlot(slot);
+                if (!stack.isEmpty() && stack.isItemEqual(type)) {
+                    count += stack.getCount();
+                    slots++;
+                }
+            }
+            TypeItemInfo typeInfo = index.getTypes().get(type);
+            if (slots == 0) {
+                assertThat(typeInfo, nullValue());
+                continue;
+            }
+            assertThat(typeInfo.totalCount, is(count));
+            assertThat(typeInfo.slots.size(), is(slots));
+            for (int i = 1; i < typeInfo.slots.size(); i++) {
+                assertThat(typeInfo.slots.get(i - 1) < typeInfo.slots.get(i), is(true));
+            }
+            totalCount += count;
+            typeCount++;
+        }
+        assertThat(index.getTypes().size(), is(typeCount));
+        if (typeCount == 0) {
+            assertThat(index.getGroups().isEmpty(), is(true));
+        } else {
+            GroupItemInfo groupInfo = index.getGroups().values().iterator().next();
+            assertThat(index.getGroups().size(), is(1));
+            assertThat(groupInfo.totalCount, is(totalCount));
+            assertThat(groupInfo.itemStackTypes.size(), is(typeCount));
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package gregtech.common.covers.filter.oreglob.impl;
+
+import gregtech.api.util.oreglob.OreGlobCompileResult;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class OreGlobDfaTest {
+
+    private static final String[] EXPRESSIONS = {
+            "ingotIron",
+            "ingot*",
+            "*Iron",
+            "ingot* & *gold",
+            "ingot* | dust*",
+            "ingot* ^ ()",
+            "ingot* ^ *Iron ^ *on",
+            "dust*Gold | (plate* & !*Double*)",
+            "$c caseSensitiveMatch",
+            "!*",
+            "a???e",
+            "a!(???)e",
+            "???*",
+            "!???*",
+            "!() iron",
+            "!()",
+            "!(ingot*)",
+            "!ingot*",
+            "!(ingot* | dust*)",
+            "*(Iron | Gold)*",
+            "(ingot | dust) (Iron | Gold)",
+            "!(dust*) dustTiny",
+            "(a*b) & (*b)",
+            "* !(a?) *",
+            "ore(!(Iron))",
+            "$c ingot(IRON | iron)",
+            "?*? & !(*??*)",
+            "\u017F* | \u212A*",
+    };
+
+    private static final String[] INPUTS = {
+            "", "a", "ab", "b", "ba", "aab", "abcde", "a123e", "ae", "a1234e", "123", "12",
+            "ingotIron", "ingotiron", "INGOTIRON", "ingotGold", "dustIron", "dustGold", "dustTiny", "dustTinyIron",
+            "dustSomeGold", "plateSomething", "plateDoubleSomething", "anyDoubleSomething", "oreIron", "oreGold",
+            "iron", "ingot", "ingotIRON", "caseSensitiveMatch", "casesensitivematch", "s", "S", "\u017F", "k", "\u212A"
+    };
+
+    @Test
+    public void dfaMatchesInterpreter() {
+        for (String expression : EXPRESSIONS) {
+            NodeOreGlob glob = compile(expression);
+            for (String input : INPUTS) {
+                boolean expected = new NodeInterpreter(input).evaluate(glob.getRoot()).isMatch();
+                assertThat(expression + " on \"" + input + '"', glob.matches(input), is(expected));
+            }
+        }
+    }
+
+    @Test
+    public void commonExpressionsAreCompiled() {
+        String[] expressions = {"ingot*", "*Iron", "ingot* & *gold", "dust*Gold | (plate* & !*Double*)", "!(ingot*)",
+                "ingot* ^ ()", "a!(???)e"};
+        for (String expression : expressions) {
+            assertThat(expression, compile(expression).getDfa(), notNullValue());
+        }
+    }
+
+    private static NodeOreGlob compile(String expression) {
+        OreGlobCompileResult result = new OreGlobParser(expression).compile();
+        assertThat(result.hasError(), is(false));
+        return (NodeOreGlob) result.getInstance();
+    }
+}
@@ -0,0 +1,123 @@
+package gregtech.common.pipelike.itempipe.net;
+
+import gregtech.Bootstrap;
+import gregtech.api.unification.material.properties.ItemPipeProperties;
+import gregtech.common.pipelike.itempipe.tile.TileEntityItemPipe;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.init.Blocks;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ItemNetRoundRobinPlannerTest {
+
+    private final ItemNetRoundRobinPlanner planner = new ItemNetRoundRobinPlanner();
+    private final List<ItemPipeNet.Inventory> destinations = new ArrayList<>();
+    // the free space of each destination, which the handler inserts into instead of real inventories
+    private final Object2IntOpenHashMap<ItemPipeNet.Inventory> freeSpace = new Object2IntOpenHashMap<>();
+    private ItemNetHandler handler;
+
+    @BeforeAll
+    public static void bootstrap() {
+        Bootstrap.perform();
+    }
+
+    @Test
+    public void unevenCapacitiesTest() {
+        ItemStack stack = new ItemStack(Blocks.COBBLESTONE, 12);
+        int[] capacities = planner.getCapacities(createHandler(2, 10, 10), destinations, stack, 0);
+        assertCapacities(capacities, 2, 10, 10);
+
+        // the smallest destination is filled, the rest is split evenly over the others
+        assertAmounts(planner.plan(3, capacities, 12), 2, 5, 5);
+    }
+
+    @Test
+    public void skipFullDestinationsTest() {
+        ItemStack stack = new ItemStack(Blocks.COBBLESTONE, 6);
+        int[] capacities = planner.getCapacities(createHandler(0, 4, 4), destinations, stack, 0);
+        assertCapacities(capacities, 0, 4, 4);
+        assertAmounts(planner.plan(3, capacities, 6), 0, 3, 3);
+
+        // committed insertions are removed from the capacities cached for the tick
+        planner.onInserted(1, 3);
+        planner.onInserted(2, 3);
+        capacities = planner.getCapacities(handler, destinations, stack, 0);
+        assertCapacities(capacities, 0, 1, 1);
+        // all destinations are filled up, if they cannot take the whole amount
+        assertAmounts(planner.plan(3, capacities, 6), 0, 1, 1);
+
+        // destinations are measured again in the next tick
+        freeSpace.put(destinations.get(0), 6);
+        capacities = planner.getCapacities(handler, destinations, stack, 1);
+        assertCapacities(capacities, 6, 4, 4);
+    }
+
+    @Test
+    public void leftoverRotationTest() {
+        ItemStack stack = new ItemStack(Blocks.COBBLESTONE, 4);
+        int[] capacities = planner.getCapacities(createHandler(64, 64, 64), destinations, stack, 0);
+        int[] levels = planner.getLevels();
+
+        // leftover items go to the first destinations, which received the least so far
+        assertAmounts(planner.plan(3, capacities, 4), 2, 1, 1);
+
+        // with the amounts received so far as levels, the leftover moves on to the destinations behind them
+        levels[0] = 2;
+        levels[1] = 1;
+        levels[2] = 1;
+        assertAmounts(planner.plan(3, capacities, 4), 1, 2, 1);
+
+        levels[0] = 3;
+        levels[1] = 3;
+        levels[2] = 2;
+        assertAmounts(planner.plan(3, capacities, 1), 0, 0, 1);
+        // and wraps around to the first destination once all received the same
+        levels[2] = 3;
+        assertAmounts(planner.plan(3, capacities, 1), 1, 0, 0);
+    }
+
+    private ItemNetHandler createHandler(int... freeSpaces) {
+        for (int i = 0; i < freeSpaces.length; i++) {
+            ItemPipeNet.Inventory inventory = new ItemPipeNet.Inventory(new BlockPos(i, 0, 0), EnumFacing.NORTH, 1,
+                    new ItemPipeProperties(1, 1), Collections.emptyList());
+            destinations.add(inventory);
+            freeSpace.put(inventory, freeSpaces[i]);
+        }
+        this.handler = new ItemNetHandler(null, new TileEntityItemPipe(), EnumFacing.UP) {
+
+            @Override
+            ItemStack insertRouted(ItemPipeNet.Inventory inventory, ItemStack stack, boolean simulate, boolean ignoreLimit) {
+                int inserted = Math.min(stack.getCount(), freeSpace.getInt(inventory));
+                if (!simulate) {
+                    freeSpace.addTo(inventory, -inserted);
+                }
+                ItemStack remainder = stack.copy();
+                remainder.shrink(inserted);
+                return remainder;
+            }
+        };
+        return handler;
+    }
+
+    private static void assertCapacities(int[] capacities, int... expected) {
+        for (int i = 0; i < expected.length; i++) {
+            assertThat(capacities[i], is(expected[i]));
+        }
+    }
+
+    private static void assertAmounts(int[] amounts, int... expected) {
+        for (int i = 0; i < expected.length; i++) {
+            assertThat(amounts[i], is(expected[i]));
+        }
+    }
+}